@@ -30,11 +30,14 @@
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.game.state.GameStartingServerEvent;
+import org.spongepowered.api.event.game.state.GameStoppedServerEvent;
 import org.spongepowered.api.event.service.ChangeServiceProviderEvent;
 import org.spongepowered.api.event.world.SaveWorldEvent;
 import org.spongepowered.common.bridge.server.management.PlayerProfileCacheBridge;
 import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.item.inventory.SpongeItemStackSnapshot;
 import org.spongepowered.common.service.user.SpongeUserStorageService;
+import org.spongepowered.common.service.user.UserDiscoverer;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
 import java.util.Iterator;
@@ -69,6 +72,14 @@ public void onServerStarting(GameStartingServerEvent event) {
                 .ifPresent(x -> ((SpongeUserStorageService) x).init());
     }
 
+    @Listener
+    public void onServerStopped(GameStoppedServerEvent event) {
+        // The username cache is written in the background, make sure the
+        // last changes are on disk before the process exits.
+        SpongeUsernameCache.close();
+        SpongeItemStackSnapshot.clearPool();
+    }
+
     @Listener
     public void onServiceChange(ChangeServiceProviderEvent event) {
         Iterator<Predicate<Object>> it = this.serviceCallbacks.get(event.getService()).iterator();
@@ -84,6 +95,7 @@ public void onWorldSave(SaveWorldEvent event) {
         if (Sponge.getServer().getDefaultWorld().isPresent()) {
             if (event.getTargetWorld().getUniqueId().equals(Sponge.getServer().getDefaultWorld().get().getUniqueId())) {
                 SpongeUsernameCache.save();
+                UserDiscoverer.saveIndex();
                 final MinecraftServer server = SpongeImpl.getServer();
                 ((PlayerProfileCacheBridge) server.getPlayerProfileCache()).bridge$setCanSave(true);
                 server.getPlayerProfileCache().save();
@@ -45,6 +45,7 @@
 import org.spongepowered.common.event.tracking.context.MultiBlockCaptureSupplier;
 import org.spongepowered.common.event.tracking.context.SpongeProxyBlockAccess;
 import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
+import org.spongepowered.common.world.ExplosionCache;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
@@ -150,6 +151,25 @@ public interface WorldServerBridge {
 
     long bridge$getWeatherStartTime();
 
+    /**
+     * Gets the number of chunk sections that had random ticks performed in
+     * them since the world was loaded.
+     *
+     * @return The number of sections visited by random ticks
+     */
+    long bridge$getRandomTickSectionsVisited();
+
+    /**
+     * Gets the number of chunk sections whose random ticks were skipped
+     * since the world was loaded, because none of their blocks tick
+     * randomly.
+     *
+     * @return The number of sections skipped by random ticks
+     */
+    long bridge$getRandomTickSectionsSkipped();
+
+    ExplosionCache bridge$getExplosionCache();
+
     void bridge$setWeatherStartTime(long start);
 
     void bridge$setProviderGenerator(SpongeChunkGenerator newGenerator);
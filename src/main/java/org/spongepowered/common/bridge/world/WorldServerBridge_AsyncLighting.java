@@ -29,7 +29,6 @@
 import net.minecraft.world.chunk.Chunk;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public interface WorldServerBridge_AsyncLighting {
 
@@ -37,5 +36,7 @@ public interface WorldServerBridge_AsyncLighting {
 
     boolean asyncLightingBridge$checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService asyncLightingBridge$getLightingExecutor();
+    void asyncLightingBridge$shutdownLighting();
+
+    boolean asyncLightingBridge$isLightingShutdown();
 }
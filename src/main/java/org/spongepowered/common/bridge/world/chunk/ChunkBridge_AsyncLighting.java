@@ -26,7 +26,9 @@
 
 import net.minecraft.world.EnumSkyBlock;
 
-import java.util.Set;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public interface ChunkBridge_AsyncLighting extends ChunkBridge {
@@ -37,5 +39,7 @@ public interface ChunkBridge_AsyncLighting extends ChunkBridge {
 
     void asyncLightingBridge$setLightUpdateTime(long time);
 
-    Set<Short> asyncLightingBridge$getQueuedLightingUpdates(EnumSkyBlock type);
+    LightUpdateQueue asyncLightingBridge$getLightUpdateQueue(EnumSkyBlock type);
+
+    AtomicBoolean asyncLightingBridge$getLightBatchScheduled();
 }
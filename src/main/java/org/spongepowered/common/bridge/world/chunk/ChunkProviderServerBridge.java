@@ -33,6 +33,7 @@
 import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.IChunkGenerator;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 
 import java.util.Set;
@@ -58,6 +59,23 @@ public interface ChunkProviderServerBridge {
 
     long bridge$getChunkUnloadDelay();
 
+    /**
+     * Gets the queue of chunks waiting to unload, ordered by
+     * when they are due.
+     *
+     * @return The unload queue
+     */
+    ChunkUnloadQueue bridge$getUnloadQueue();
+
+    /**
+     * Sets chunks whose terrain was generated ahead of time. While set,
+     * generating one of these chunks takes the prepared chunk instead of
+     * calling the chunk generator; population still runs as usual.
+     *
+     * @param chunks The prepared chunks keyed by chunk position, or null to clear
+     */
+    void bridge$setPreparedChunks(@Nullable Long2ObjectMap<Chunk> chunks);
+
     /**
      * Used strictly for implementation, because this method
      * is used in various other places, SpongeForge needs to
@@ -26,6 +26,7 @@
 
 import net.minecraft.world.World;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
 public interface AnvilChunkLoaderBridge {
@@ -34,4 +35,30 @@ public interface AnvilChunkLoaderBridge {
     boolean bridge$chunkExists(World world, int x, int z);
 
     Path bridge$getWorldDir();
+
+    /**
+     * Reads the stored data of the given chunk ahead of the chunk being
+     * loaded. The data is kept until the next {@code loadChunk} call for that
+     * position, which then skips the disk read. Data read while the chunk is
+     * being saved is dropped. Safe to call off the server thread.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return True if the chunk exists in storage
+     * @throws IOException If the chunk data could not be read
+     */
+    boolean bridge$prefetchChunkData(int x, int z) throws IOException;
+
+    /**
+     * Drops the prefetched data of the given chunk, if it was never loaded.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     */
+    void bridge$discardPrefetchedChunkData(int x, int z);
+
+    /**
+     * Drops any prefetched chunk data that was never loaded.
+     */
+    void bridge$clearPrefetchedChunkData();
 }
@@ -28,13 +28,16 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.SPACE_TEXT;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandCallable;
 import org.spongepowered.api.command.CommandException;
@@ -54,15 +57,20 @@
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -100,6 +108,16 @@ final class SpongeCommandDispatcher implements Dispatcher {
 
     private final Disambiguator disambiguatorFunc;
     private final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+    // A read only copy of the commands sorted by alias, which lookups and prefix
+    // searches use without locking. Rebuilt lazily after the commands change.
+    @Nullable private volatile ImmutableSortedMap<String, ImmutableList<CommandMapping>> snapshot;
+    private volatile long version;
+    // The aliases each source may see, kept briefly as the permission checks of commands can depend on more
+    // than Sponge's own permission data, which the entries are additionally invalidated by.
+    private final Cache<CommandSource, VisibleAliases> visibleAliases = CacheBuilder.newBuilder()
+            .weakKeys()
+            .expireAfterWrite(5, TimeUnit.SECONDS)
+            .build();
 
     /**
      * Creates a new dispatcher with a specific disambiguator.
@@ -191,6 +209,7 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
         for (String alias : aliases) {
             this.commands.put(alias.toLowerCase(), mapping);
         }
+        invalidateSnapshot();
 
         return Optional.of(mapping);
     }
@@ -202,7 +221,9 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
      * @return The previous mapping associated with the alias, if one was found
      */
     public synchronized Collection<CommandMapping> remove(String alias) {
-        return this.commands.removeAll(alias.toLowerCase());
+        final List<CommandMapping> removed = this.commands.removeAll(alias.toLowerCase());
+        invalidateSnapshot();
+        return removed;
     }
 
     /**
@@ -221,6 +242,7 @@ public synchronized boolean removeAll(Collection<?> aliases) {
                 found = true;
             }
         }
+        invalidateSnapshot();
 
         return found;
     }
@@ -244,6 +266,7 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
                 found = current;
             }
         }
+        invalidateSnapshot();
 
         return Optional.ofNullable(found);
     }
@@ -266,20 +289,48 @@ public synchronized boolean removeMappings(Collection<?> mappings) {
                 found = true;
             }
         }
+        invalidateSnapshot();
 
         return found;
     }
 
+    private synchronized void invalidateSnapshot() {
+        this.snapshot = null;
+        this.version++;
+    }
+
+    private ImmutableSortedMap<String, ImmutableList<CommandMapping>> getSnapshot() {
+        ImmutableSortedMap<String, ImmutableList<CommandMapping>> snapshot = this.snapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.snapshot;
+                if (snapshot == null) {
+                    final ImmutableSortedMap.Builder<String, ImmutableList<CommandMapping>> builder = ImmutableSortedMap.naturalOrder();
+                    for (Map.Entry<String, Collection<CommandMapping>> entry : this.commands.asMap().entrySet()) {
+                        builder.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+                    }
+                    snapshot = builder.build();
+                    this.snapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
     @Override
-    public synchronized Set<CommandMapping> getCommands() {
-        return ImmutableSet.copyOf(this.commands.values());
+    public Set<CommandMapping> getCommands() {
+        final ImmutableSet.Builder<CommandMapping> commands = ImmutableSet.builder();
+        for (List<CommandMapping> mappings : getSnapshot().values()) {
+            commands.addAll(mappings);
+        }
+        return commands.build();
     }
 
     @Override
-    public synchronized Set<String> getPrimaryAliases() {
+    public Set<String> getPrimaryAliases() {
         Set<String> aliases = new HashSet<>();
 
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : getCommands()) {
             aliases.add(mapping.getPrimaryAlias());
         }
 
@@ -287,10 +338,10 @@ public synchronized Set<String> getPrimaryAliases() {
     }
 
     @Override
-    public synchronized Set<String> getAliases() {
+    public Set<String> getAliases() {
         Set<String> aliases = new HashSet<>();
 
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : getCommands()) {
             aliases.addAll(mapping.getAllAliases());
         }
 
@@ -303,15 +354,18 @@ public Optional<CommandMapping> get(String alias) {
     }
 
     @Override
-    public synchronized Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
+    public Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
         return get(alias, source, (src, mapping) -> mapping.getCallable().testPermission(src));
     }
 
-    public synchronized Optional<CommandMapping> get(String alias,
+    public Optional<CommandMapping> get(String alias,
             @Nullable CommandSource source,
             BiPredicate<CommandSource, CommandMapping> filter) {
-        List<CommandMapping> results = this.commands.get(alias.toLowerCase());
+        List<CommandMapping> results = getSnapshot().get(alias.toLowerCase());
         Optional<CommandMapping> result = Optional.empty();
+        if (results == null) {
+            return result;
+        }
         if (results.size() == 1) {
             result = Optional.of(results.get(0));
         } else if (results.size() > 1) {
@@ -321,21 +375,15 @@ public synchronized Optional<CommandMapping> get(String alias,
     }
 
     @Override
-    public synchronized boolean containsAlias(String alias) {
-        return this.commands.containsKey(alias.toLowerCase());
+    public boolean containsAlias(String alias) {
+        return getSnapshot().containsKey(alias.toLowerCase());
     }
 
     @Override
     public boolean containsMapping(CommandMapping mapping) {
         checkNotNull(mapping, "mapping");
 
-        for (CommandMapping test : this.commands.values()) {
-            if (mapping.equals(test)) {
-                return true;
-            }
-        }
-
-        return false;
+        return getCommands().contains(mapping);
     }
 
     @Override
@@ -367,10 +415,11 @@ public CommandResult process(CommandSource source, String commandLine) throws Co
     @Override
     public List<String> getSuggestions(CommandSource src, final String arguments, @Nullable Location<World> targetPosition) throws CommandException {
         final String[] argSplit = arguments.split(" ", 2);
-        Optional<CommandMapping> cmdOptional = get(argSplit[0], src, ON_DISCOVERY);
         if (argSplit.length == 1) {
             return filterCommands(src, argSplit[0]).stream().collect(ImmutableList.toImmutableList());
-        } else if (!cmdOptional.isPresent()) {
+        }
+        Optional<CommandMapping> cmdOptional = get(argSplit[0], src, ON_DISCOVERY);
+        if (!cmdOptional.isPresent()) {
             return ImmutableList.of();
         }
         return cmdOptional.get().getCallable().getSuggestions(src, argSplit[1], targetPosition);
@@ -378,7 +427,7 @@ public List<String> getSuggestions(CommandSource src, final String arguments, @N
 
     @Override
     public boolean testPermission(CommandSource source) {
-        for (CommandMapping mapping : this.commands.values()) {
+        for (CommandMapping mapping : getCommands()) {
             if (mapping.getCallable().testPermission(source)) {
                 return true;
             }
@@ -393,7 +442,7 @@ public Optional<Text> getShortDescription(CommandSource source) {
 
     @Override
     public Optional<Text> getHelp(CommandSource source) {
-        if (this.commands.isEmpty()) {
+        if (getSnapshot().isEmpty()) {
             return Optional.empty();
         }
         Text.Builder build = t("Available commands:\n").toBuilder();
@@ -417,14 +466,36 @@ public Optional<Text> getHelp(CommandSource source) {
     }
 
     private Set<String> filterCommands(final CommandSource src) {
-        return Multimaps.filterValues(this.commands, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        return getVisibleAliases(src);
     }
 
-    // Filter out commands by String first
+    // Aliases are stored lower case and sorted, so the ones starting with the given string form a range
     private Set<String> filterCommands(final CommandSource src, String start) {
-        ListMultimap<String, CommandMapping> map = Multimaps.filterKeys(this.commands,
-                input -> input != null && input.toLowerCase().startsWith(start.toLowerCase()));
-        return Multimaps.filterValues(map, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        final String prefix = start.toLowerCase();
+        return getVisibleAliases(src).subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private NavigableSet<String> getVisibleAliases(final CommandSource src) {
+        final long version = this.version;
+        final long permissionGeneration = SpongeBaseSubject.getPermissionGeneration();
+        final VisibleAliases cached = this.visibleAliases.getIfPresent(src);
+        if (cached != null && cached.version == version && cached.permissionGeneration == permissionGeneration) {
+            return cached.aliases;
+        }
+        // Test each command once, even if it is registered under several aliases
+        final Map<CommandMapping, Boolean> permitted = new IdentityHashMap<>();
+        final ImmutableSortedSet.Builder<String> aliases = ImmutableSortedSet.naturalOrder();
+        for (Map.Entry<String, ImmutableList<CommandMapping>> entry : getSnapshot().entrySet()) {
+            for (CommandMapping mapping : entry.getValue()) {
+                if (permitted.computeIfAbsent(mapping, m -> m.getCallable().testPermission(src))) {
+                    aliases.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        final VisibleAliases visible = new VisibleAliases(version, permissionGeneration, aliases.build());
+        this.visibleAliases.put(src, visible);
+        return visible.aliases;
     }
 
     /**
@@ -459,13 +530,31 @@ public Text getUsage(final CommandSource source) {
     }
 
     @Override
-    public synchronized Set<CommandMapping> getAll(String alias) {
-        return ImmutableSet.copyOf(this.commands.get(alias));
+    public Set<CommandMapping> getAll(String alias) {
+        final List<CommandMapping> mappings = getSnapshot().get(alias);
+        return mappings == null ? ImmutableSet.of() : ImmutableSet.copyOf(mappings);
     }
 
     @Override
     public Multimap<String, CommandMapping> getAll() {
-        return ImmutableMultimap.copyOf(this.commands);
+        final ImmutableMultimap.Builder<String, CommandMapping> builder = ImmutableMultimap.builder();
+        for (Map.Entry<String, ImmutableList<CommandMapping>> entry : getSnapshot().entrySet()) {
+            builder.putAll(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    private static final class VisibleAliases {
+
+        final long version;
+        final long permissionGeneration;
+        final ImmutableSortedSet<String> aliases;
+
+        VisibleAliases(long version, long permissionGeneration, ImmutableSortedSet<String> aliases) {
+            this.version = version;
+            this.permissionGeneration = permissionGeneration;
+            this.aliases = aliases;
+        }
     }
 
 }
@@ -43,6 +43,7 @@
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.text.format.TextColor;
 import org.spongepowered.common.command.args.FilteredPluginsCommandElement;
+import org.spongepowered.common.network.ChunkPacketCache;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timings;
 import com.google.common.collect.ImmutableList;
@@ -57,6 +58,7 @@
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntityType;
 import org.spongepowered.api.command.CommandCallable;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandMapping;
@@ -97,6 +99,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.MetricsCategory;
 import org.spongepowered.common.config.type.ConfigBase;
@@ -104,10 +107,17 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.item.inventory.util.ContainerUtil;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.scheduler.PluginTaskMetrics;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.ChunkUnloadQueue;
+import org.spongepowered.common.world.lighting.AsyncLightingScheduler;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -224,6 +234,10 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
+        nonFlagChildren.register(createSpongeSchedulerCommand(), "scheduler");
+        nonFlagChildren.register(createSpongeTileActivationCommand(), "tileactivation");
+        nonFlagChildren.register(createSpongePermissionCacheCommand(), "permissioncache");
+        nonFlagChildren.register(createSpongeContainersCommand(), "containers");
         flagChildren.register(createSpongeChunksCommand(), "chunks");
         flagChildren.register(createSpongeTPSCommand(), "tps");
         trackerFlagChildren.register(createSpongeConfigCommand(), "config");
@@ -372,6 +386,12 @@ protected Text processGlobal(final SpongeConfig<GlobalConfig> config, final Comm
                         source.sendMessage(Text.of("World ", Text.of(TextStyles.BOLD, world.getName()),
                             getChunksInfo(((WorldServer) world))));
                     }
+                    if (config.getConfig().getModules().useOptimizations() && config.getConfig().getOptimizations().useAsyncLighting()) {
+                        source.sendMessage(Text.of("Async lighting", getAsyncLightingInfo()));
+                    }
+                    if (config.getConfig().getModules().useOptimizations() && config.getConfig().getOptimizations().useChunkPacketCache()) {
+                        source.sendMessage(Text.of("Chunk packet cache", getChunkPacketCacheInfo()));
+                    }
                     return Text.of("Printed chunk info for all worlds ");
                 }
 
@@ -404,13 +424,39 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                     if (((WorldBridge) worldserver).bridge$isFake() || worldserver.getWorldInfo() == null) {
                         return Text.of(NEWLINE_TEXT, "Fake world");
                     }
+                    final ChunkUnloadQueue unloadQueue = ((ChunkProviderServerBridge) worldserver.getChunkProvider()).bridge$getUnloadQueue();
                     return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), NEWLINE_TEXT,
                         key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                         key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
+                        key("Queued chunk unloads: "), value(unloadQueue.size()), NEWLINE_TEXT,
+                        key("Chunks unloaded in the last minute: "), value(unloadQueue.getUnloadsLastMinute(System.currentTimeMillis())), NEWLINE_TEXT,
                         key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                         key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                         key("Removed Entities:"), value(((WorldAccessor) worldserver).accessor$getUnloadedEntityList().size()), NEWLINE_TEXT,
-                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT
+                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT,
+                        key("Random tick sections visited: "), value(((WorldServerBridge) worldserver).bridge$getRandomTickSectionsVisited()), NEWLINE_TEXT,
+                        key("Random tick sections skipped: "), value(((WorldServerBridge) worldserver).bridge$getRandomTickSectionsSkipped()), NEWLINE_TEXT
+                    );
+                }
+
+                protected Text getChunkPacketCacheInfo() {
+                    final long hits = ChunkPacketCache.getHits();
+                    final long total = hits + ChunkPacketCache.getMisses();
+                    return Text.of(NEWLINE_TEXT, key("Cached packets: "), value(ChunkPacketCache.getCachedPackets()), NEWLINE_TEXT,
+                        key("Hits: "), value(hits), NEWLINE_TEXT,
+                        key("Misses: "), value(ChunkPacketCache.getMisses()), NEWLINE_TEXT,
+                        key("Hit rate: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(total == 0 ? 0 : hits * 100.0 / total) + "%"), NEWLINE_TEXT
+                    );
+                }
+
+                protected Text getAsyncLightingInfo() {
+                    final AsyncLightingScheduler scheduler = AsyncLightingScheduler.getInstance();
+                    return Text.of(NEWLINE_TEXT, key("Queued chunks: "), value(scheduler.getQueueDepth()), NEWLINE_TEXT,
+                        key("Active threads: "), value(scheduler.getActiveThreads()), NEWLINE_TEXT,
+                        key("Completed batches: "), value(scheduler.getCompletedTasks()), NEWLINE_TEXT,
+                        key("Batches run on server thread: "), value(scheduler.getInlineTasks()), NEWLINE_TEXT,
+                        key("Average latency: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(scheduler.getAverageLatencyMillis()) + "ms"), NEWLINE_TEXT,
+                        key("Max latency: "), value(THREE_DECIMAL_DIGITS_FORMATTER.format(scheduler.getMaxLatencyMillis()) + "ms"), NEWLINE_TEXT
                     );
                 }
             })
@@ -497,6 +543,89 @@ private static CommandSpec createSpongeHeapCommand() {
 
     }
 
+    private static CommandSpec createSpongeSchedulerCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Print per plugin task queue metrics of the scheduler"))
+            .permission("sponge.command.scheduler")
+            .executor((src, args) -> {
+                final SpongeScheduler scheduler = SpongeImpl.getScheduler();
+                src.sendMessage(Text.of(TextStyles.BOLD, "Synchronous tasks", getSchedulerMetrics(scheduler.getSyncMetrics())));
+                src.sendMessage(Text.of(TextStyles.BOLD, "Asynchronous tasks", getSchedulerMetrics(scheduler.getAsyncMetrics())));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeTileActivationCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Print how many ticks of each tileentity type were executed, skipped and deferred by tileentity activation"))
+            .permission("sponge.command.tileactivation")
+            .executor((src, args) -> {
+                final List<Text> contents = Sponge.getRegistry().getAllOf(TileEntityType.class).stream()
+                    .map(type -> (SpongeTileEntityType) type)
+                    .filter(type -> type.activationTicksExecuted > 0 || type.activationTicksSkipped > 0)
+                    .sorted(Comparator.comparingLong((SpongeTileEntityType type) -> type.activationTicksSkipped).reversed())
+                    .map(type -> Text.of(TextColors.GOLD, type.getId(), ": ",
+                        TextColors.GRAY, "executed ", type.activationTicksExecuted,
+                        ", skipped ", type.activationTicksSkipped,
+                        " (deferred by budget ", type.activationTicksDeferred, ")"))
+                    .collect(Collectors.toList());
+                PaginationList.builder()
+                    .title(Text.of(TextColors.DARK_GREEN, "Tileentity activation"))
+                    .padding(Text.of(TextColors.DARK_GREEN, "="))
+                    .contents(contents)
+                    .build().sendTo(src);
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongePermissionCacheCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Print the hit rate of the permission resolution cache"))
+            .permission("sponge.command.permissioncache")
+            .executor((src, args) -> {
+                final long hits = SpongeBaseSubject.getPermissionCacheHits();
+                final long misses = SpongeBaseSubject.getPermissionCacheMisses();
+                final double hitRate = hits + misses == 0 ? 0 : hits * 100.0 / (hits + misses);
+                src.sendMessage(Text.of(TextStyles.BOLD, "Permission cache", NEWLINE_TEXT,
+                    Text.of(TextColors.GRAY, "hits ", hits, ", misses ", misses,
+                        ", hit rate ", THREE_DECIMAL_DIGITS_FORMATTER.format(hitRate), "%")));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeContainersCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Print how many container slots were compared when detecting changes"))
+            .permission("sponge.command.containers")
+            .executor((src, args) -> {
+                final long compared = ContainerUtil.getSlotsCompared();
+                final long skipped = ContainerUtil.getSlotsSkipped();
+                final int ticks = Math.max(1, SpongeImpl.getServer().getTickCounter());
+                src.sendMessage(Text.of(TextStyles.BOLD, "Container slots", NEWLINE_TEXT,
+                    Text.of(TextColors.GRAY, "compared ", compared, ", skipped ", skipped,
+                        ", compared per tick ", THREE_DECIMAL_DIGITS_FORMATTER.format((double) compared / ticks))));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static Text getSchedulerMetrics(final Collection<PluginTaskMetrics> metrics) {
+        final Text.Builder builder = Text.builder();
+        metrics.stream()
+            .sorted(Comparator.comparing(PluginTaskMetrics::getPluginId))
+            .forEach(plugin -> builder.append(NEWLINE_TEXT, Text.of(TextColors.GOLD, plugin.getPluginId(), ": "),
+                Text.of(TextColors.GRAY, "scheduled ", plugin.getScheduledTasks(),
+                    ", queued ", plugin.getQueuedTasks(),
+                    ", executing ", plugin.getExecutingTasks(),
+                    ", completed ", plugin.getCompletedTasks(),
+                    ", average wait ", THREE_DECIMAL_DIGITS_FORMATTER.format(plugin.getAverageWaitMillis()), "ms",
+                    ", max wait ", THREE_DECIMAL_DIGITS_FORMATTER.format(plugin.getMaxWaitMillis()), "ms")));
+        return builder.build();
+    }
+
     private static final Text IMPLEMENTATION_NAME = Text.of(TextColors.YELLOW, TextStyles.BOLD,
         Sponge.getPlatform().getContainer(IMPLEMENTATION).getName());
 
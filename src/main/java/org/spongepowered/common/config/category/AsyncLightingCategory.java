@@ -36,6 +36,12 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "max-queued-chunks", comment = ""
+            + "The maximum amount of chunks that may be waiting for a lighting batch across all worlds.\n"
+            + "Once reached, the server thread runs further lighting batches itself instead of queueing\n"
+            + "them, which slows the tick down rather than letting the queue grow without bound. (Default: 4096)")
+    private int maxQueuedChunks = 4096;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +49,8 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public int getMaxQueuedChunks() {
+        return this.maxQueuedChunks;
+    }
 }
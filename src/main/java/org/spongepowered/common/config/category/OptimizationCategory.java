@@ -57,6 +57,9 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates asynchronously.")
     private AsyncLightingCategory asyncLightingCategory = new AsyncLightingCategory();
 
+    @Setting(value = "spawn-preparation", comment = "Controls how spawn areas are prepared when the server starts.")
+    private SpawnPreparationCategory spawnPreparationCategory = new SpawnPreparationCategory();
+
     @Setting(value = "eigen-redstone",
             comment = "Uses theosib's redstone algorithms to completely overhaul the way redstone works.")
     private EigenRedstoneCategory eigenRedstonCategory = new EigenRedstoneCategory();
@@ -136,6 +139,31 @@ public class OptimizationCategory extends ConfigCategory {
     )
     private boolean disableRayTracingChunkLoads = false;
 
+    @Setting(value = "chunk-packet-cache", comment = ""
+            + "If 'true', chunk data packets are cached per chunk and the same encoded packet is sent\n"
+            + "to every player receiving that chunk, until a block, light, biome or tile entity in it changes.\n"
+            + "This mostly helps when many players load the same chunks at once, such as joining at spawn.")
+    private boolean chunkPacketCache = false;
+
+    @Setting(value = "container-slot-tracking", comment = ""
+            + "If 'true', containers only fully compare the slots that may have changed when looking for\n"
+            + "changes to send to players, instead of comparing every slot every tick. Slots whose item, quantity,\n"
+            + "damage and item stack are unchanged are skipped, so changes made directly to the data of an item\n"
+            + "stack may only be sent on the next full comparison, see 'container-full-diff-interval'.\n"
+            + "Containers added by mods always compare every slot.")
+    private boolean containerSlotTracking = false;
+
+    @Setting(value = "container-full-diff-interval", comment = ""
+            + "The number of change detections between full comparisons of every slot of a container,\n"
+            + "if 'container-slot-tracking' is enabled.")
+    private int containerFullDiffInterval = 20;
+
+    @Setting(value = "explosion-cache", comment = ""
+            + "If 'true', explosions in the same tick share the blocks looked up along their rays and the\n"
+            + "exposure of entities to them, as long as the chunks around them have not changed in between.\n"
+            + "This mostly helps when many explosions happen at the same spot, such as with TNT cannons.")
+    private boolean explosionCache = true;
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -186,6 +214,10 @@ public boolean useAsyncLighting() {
         return this.asyncLightingCategory.isEnabled();
     }
 
+    public SpawnPreparationCategory getSpawnPreparationCategory() {
+        return this.spawnPreparationCategory;
+    }
+
     public EigenRedstoneCategory getEigenRedstoneCategory() {
         return this.eigenRedstonCategory;
     }
@@ -230,4 +262,20 @@ public boolean isDisableRayTracingChunkLoads() {
         return this.disableRayTracingChunkLoads;
     }
 
+    public boolean useChunkPacketCache() {
+        return this.chunkPacketCache;
+    }
+
+    public boolean useContainerSlotTracking() {
+        return this.containerSlotTracking;
+    }
+
+    public int getContainerFullDiffInterval() {
+        return this.containerFullDiffInterval;
+    }
+
+    public boolean useExplosionCache() {
+        return this.explosionCache;
+    }
+
 }
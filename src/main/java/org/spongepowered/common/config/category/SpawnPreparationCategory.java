@@ -0,0 +1,57 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SpawnPreparationCategory extends ConfigCategory {
+
+    @Setting(value = "parallel", comment = ""
+            + "If 'true', the spawn areas of the worlds loaded at server start are prepared together\n"
+            + "instead of one world after another. Chunk data is read from disk and new terrain is\n"
+            + "generated on worker threads, while population and entity/tile entity registration\n"
+            + "still happen on the server thread. Terrain generation of a single world always stays\n"
+            + "on one worker, so only worlds using Sponge's chunk generator take part.\n"
+            + "Disable this if a mod's terrain generator expects to be called from the server thread.")
+    private boolean parallel = false;
+
+    @Setting(value = "num-threads", comment = ""
+            + "The amount of threads used to prepare spawn areas in parallel.\n"
+            + "If '0', one less than the amount of available processors is used. (Default: 0)")
+    private int numThreads = 0;
+
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    public int getNumThreads() {
+        if (this.numThreads <= 0) {
+            return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+        return this.numThreads;
+    }
+}
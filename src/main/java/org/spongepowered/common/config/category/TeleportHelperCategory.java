@@ -50,6 +50,11 @@ public class TeleportHelperCategory extends ConfigCategory {
             + "movement are automatically excluded.")
     private List<String> unsafeBlockBlockIds = new ArrayList<>();
 
+    @Setting(value = "only-loaded-chunks", comment = ""
+            + "If 'true', Sponge's safe teleport routine will only consider locations in chunks that\n"
+            + "are already loaded, instead of loading every chunk of the area it searches.")
+    private boolean onlyLoadedChunks = false;
+
     public boolean isForceBlacklistOn() {
         return forceBlacklistOn;
     }
@@ -62,4 +67,8 @@ public List<String> getUnsafeBodyBlockIds() {
         return this.unsafeBlockBlockIds;
     }
 
+    public boolean isOnlyLoadedChunks() {
+        return this.onlyLoadedChunks;
+    }
+
 }
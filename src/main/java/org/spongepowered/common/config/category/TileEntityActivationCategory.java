@@ -27,9 +27,13 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 @ConfigSerializable
 public class TileEntityActivationCategory extends ConfigCategory {
 
@@ -43,6 +47,23 @@ public class TileEntityActivationCategory extends ConfigCategory {
     private int defaultTickRate = 1;
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, TileEntityActivationModCategory> modList = new HashMap<>();
+    @Setting(value = "tick-rate-tiers", comment = ""
+            + "Ascending block distances splitting the activation range into speed bands. A tileentity closer\n"
+            + "to a player than the first distance ticks at its normal rate, one between the first and second\n"
+            + "distance ticks at half of that rate, the next band at a quarter and so on. Tileentities past the\n"
+            + "last distance but still in their activation range use the slowest band.\n"
+            + "Leave empty to tick every active tileentity at its normal rate.")
+    private List<Integer> tickRateTiers = new ArrayList<>();
+    @Setting(value = "tick-budget", comment = ""
+            + "The time in microseconds a world may spend ticking tileentities each tick before lower priority\n"
+            + "tileentities, those in a slower speed band or in persisted (spawn) chunks without a player in\n"
+            + "range, are deferred. A deferred tileentity is never deferred twice in a row.\n"
+            + "Set to 0 to disable. (Default: 0)")
+    private int tickBudget = 0;
+
+    // The tiers the squared distances were computed from, as a reload replaces the list
+    @Nullable private List<Integer> tickRateTierDistancesSource;
+    @Nullable private int[] tickRateTierDistancesSquared;
 
     public TileEntityActivationCategory() {
     }
@@ -63,4 +84,29 @@ public Map<String, TileEntityActivationModCategory> getModList() {
         return this.modList;
     }
 
+    public List<Integer> getTickRateTiers() {
+        return this.tickRateTiers;
+    }
+
+    /**
+     * Gets the squared distances of the {@link #tickRateTiers speed bands},
+     * sorted ascending.
+     *
+     * @return The squared band distances
+     */
+    public int[] getTickRateTierDistancesSquared() {
+        if (this.tickRateTierDistancesSquared == null || !this.tickRateTiers.equals(this.tickRateTierDistancesSource)) {
+            this.tickRateTierDistancesSource = new ArrayList<>(this.tickRateTiers);
+            this.tickRateTierDistancesSquared = this.tickRateTiers.stream()
+                .mapToInt(distance -> distance * distance)
+                .sorted()
+                .toArray();
+        }
+        return this.tickRateTierDistancesSquared;
+    }
+
+    public int getTickBudget() {
+        return this.tickBudget;
+    }
+
 }
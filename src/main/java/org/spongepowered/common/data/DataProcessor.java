@@ -55,6 +55,19 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Checks if instances of the given {@link DataHolder} class may be
+     * supported by this processor. Returning {@code false} guarantees that
+     * {@link #supports(DataHolder)} is {@code false} for every instance of
+     * the class, which allows the processor to be skipped entirely for it.
+     *
+     * @param holderClass The concrete class of the data holder
+     * @return False if no instance of the class can be supported
+     */
+    default boolean canSupport(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
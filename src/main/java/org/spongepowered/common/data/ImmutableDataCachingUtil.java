@@ -26,6 +26,7 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import org.spongepowered.api.CatalogType;
@@ -37,9 +38,14 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
+import javax.annotation.Nullable;
+
 public final class ImmutableDataCachingUtil {
 
     private ImmutableDataCachingUtil() {}
@@ -48,16 +54,22 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<CacheKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
         .build();
 
+    // Manipulators and values that only vary by a single enum-like argument are pooled per type,
+    // these lookups don't need to allocate a key. Each pool is bounded by CACHE_LIMIT_FOR_INDIVIDUAL_TYPE,
+    // lookups that don't fit into the pool anymore fall back to the caches above.
+    private static final Map<Class<?>, Map<Object, ImmutableDataManipulator<?, ?>>> manipulatorPools = new ConcurrentHashMap<>();
+    private static final Map<Key<?>, ValuePool> valuePools = new ConcurrentHashMap<>();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,20 +87,27 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
+        if (args.length == 1 && isPoolable(args[0])) {
+            Map<Object, ImmutableDataManipulator<?, ?>> pool = ImmutableDataCachingUtil.manipulatorPools.get(immutableClass);
+            if (pool == null) {
+                pool = ImmutableDataCachingUtil.manipulatorPools.computeIfAbsent(immutableClass, k -> new ConcurrentHashMap<>());
+            }
+            final ImmutableDataManipulator<?, ?> pooled = pool.get(args[0]);
+            if (pooled != null) {
+                return (T) pooled;
+            }
+            if (pool.size() < CACHE_LIMIT_FOR_INDIVIDUAL_TYPE) {
+                final ImmutableDataManipulator<?, ?> manipulator = createManipulator(immutableClass, args);
+                final ImmutableDataManipulator<?, ?> previous = pool.putIfAbsent(args[0], manipulator);
+                return (T) (previous == null ? manipulator : previous);
+            }
+        }
+        final CacheKey key = new CacheKey(immutableClass, args);
         // We can't really use the generic typing here because it's complicated...
         try {
             // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key,
+                (Callable<ImmutableDataManipulator<?, ?>>) () -> createManipulator(immutableClass, args));
         } catch (Throwable e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
@@ -97,33 +116,122 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final boolean noExtraArgs = extraArgs == null || extraArgs.length == 0;
+        if (noExtraArgs && isPoolable(arg)) {
+            ValuePool pool = ImmutableDataCachingUtil.valuePools.get(usedKey);
+            if (pool == null) {
+                pool = ImmutableDataCachingUtil.valuePools.computeIfAbsent(usedKey, k -> new ValuePool(valueClass, defaultArg));
+            }
+            // The pool belongs to whichever value class and default value first used the key
+            if (pool.valueClass == valueClass && Objects.equals(pool.defaultArg, defaultArg)) {
+                final ImmutableValue<?> pooled = pool.values.get(arg);
+                if (pooled != null) {
+                    return (T) pooled;
+                }
+                if (pool.values.size() < CACHE_LIMIT_FOR_INDIVIDUAL_TYPE) {
+                    final ImmutableValue<?> value = createValue(valueClass, usedKey, defaultArg, arg, extraArgs);
+                    final ImmutableValue<?> previous = pool.values.putIfAbsent(arg, value);
+                    return (T) (previous == null ? value : previous);
+                }
+            }
+        }
+        final CacheKey key = noExtraArgs ? new CacheKey(valueClass, usedKey, defaultArg, arg)
+                                         : new CacheKey(valueClass, usedKey, defaultArg, arg, new CacheKey(null, extraArgs));
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
+            return (T) ImmutableDataCachingUtil.valueCache.get(key,
+                (Callable<ImmutableValue<?>>) () -> createValue(valueClass, usedKey, defaultArg, arg, extraArgs));
         } catch (ExecutionException e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
+    private static ImmutableDataManipulator<?, ?> createManipulator(final Class<?> immutableClass, final Object... args) {
+        try {
+            return (ImmutableDataManipulator<?, ?>) createUnsafeInstance(immutableClass, args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
+        }
+        throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                + Arrays.toString(args));
+    }
+
+    private static <E> ImmutableValue<?> createValue(final Class<?> valueClass, final Key<? extends BaseValue<E>> usedKey, final E defaultArg,
+            final E arg, @Nullable final Object[] extraArgs) {
+        try {
+            if (extraArgs == null || extraArgs.length == 0) {
+                return (ImmutableValue<?>) createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
             }
+            return (ImmutableValue<?>) createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+        }
+        throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
+    }
+
+    /**
+     * Gets whether the given argument belongs to a small, fixed set of
+     * values, which makes it suitable for the per type pools. Numbers are
+     * only pooled within the range of a byte, which covers the block state
+     * properties, so arbitrary amounts don't take up the pools.
+     */
+    private static boolean isPoolable(@Nullable final Object arg) {
+        if (arg instanceof Integer || arg instanceof Short) {
+            final int value = ((Number) arg).intValue();
+            return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE;
+        }
+        return arg instanceof Boolean || arg instanceof Byte || arg instanceof Enum || arg instanceof CatalogType;
+    }
+
+    @VisibleForTesting
+    static int getPooledManipulatorCount(final Class<?> immutableClass) {
+        final Map<Object, ImmutableDataManipulator<?, ?>> pool = ImmutableDataCachingUtil.manipulatorPools.get(immutableClass);
+        return pool == null ? 0 : pool.size();
+    }
+
+    private static final class ValuePool {
+
+        final Class<?> valueClass;
+        @Nullable final Object defaultArg;
+        final Map<Object, ImmutableValue<?>> values = new ConcurrentHashMap<>();
+
+        ValuePool(final Class<?> valueClass, @Nullable final Object defaultArg) {
+            this.valueClass = valueClass;
+            this.defaultArg = defaultArg;
+        }
+    }
+
+    /**
+     * A cache key made of the identity of a class and the constructor
+     * arguments, compared by {@link Object#equals(Object)}.
+     */
+    static final class CacheKey {
+
+        @Nullable private final Class<?> type;
+        private final Object[] args;
+        private final int hash;
+
+        CacheKey(@Nullable final Class<?> type, final Object... args) {
+            this.type = type;
+            this.args = args;
+            this.hash = 31 * System.identityHashCode(type) + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return this.hash == other.hash && this.type == other.type && Arrays.equals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
         }
-        return builder.toString();
     }
 }
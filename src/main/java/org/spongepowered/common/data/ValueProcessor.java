@@ -139,6 +139,19 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if instances of the given {@link ValueContainer} class may be
+     * supported by this processor. Returning {@code false} guarantees that
+     * {@link #supports(ValueContainer)} is {@code false} for every instance
+     * of the class, which allows the processor to be skipped entirely for it.
+     *
+     * @param containerClass The concrete class of the value container
+     * @return False if no instance of the class can be supported
+     */
+    default boolean canSupport(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
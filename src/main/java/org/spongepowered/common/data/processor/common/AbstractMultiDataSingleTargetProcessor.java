@@ -59,6 +59,11 @@ protected boolean supports(Holder dataHolder) {
         return true;
     }
 
+    @Override
+    public boolean canSupport(Class<?> holderClass) {
+        return this.holderClass.isAssignableFrom(holderClass);
+    }
+
     protected abstract boolean doesDataExist(Holder dataHolder);
 
     protected abstract boolean set(Holder dataHolder, Map<Key<?>, Object> keyValues);
@@ -86,6 +86,11 @@ public boolean supports(ValueContainer<?> container) {
         return container instanceof EntityAgeable;
     }
 
+    @Override
+    public boolean canSupport(Class<?> containerClass) {
+        return EntityAgeable.class.isAssignableFrom(containerClass);
+    }
+
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, Integer value) {
         final ImmutableBoundedValue<Integer> proposedValue = constructImmutableValue(value);
@@ -91,6 +91,11 @@ public boolean supports(ValueContainer<?> container) {
         return container instanceof EntityLivingBase;
     }
 
+    @Override
+    public boolean canSupport(Class<?> containerClass) {
+        return EntityLivingBase.class.isAssignableFrom(containerClass);
+    }
+
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, Double value) {
         final ImmutableBoundedValue<Double> proposedValue = constructImmutableValue(value);
@@ -47,6 +47,10 @@ public class SpongeTileEntityType extends SpongeCatalogType implements TileEntit
     public boolean allowsEntityBulkCapture = true;
     public boolean allowsBlockEventCreation = true;
     public boolean allowsEntityEventCreation = true;
+    // Used by tile entity activation
+    public long activationTicksExecuted;
+    public long activationTicksSkipped;
+    public long activationTicksDeferred;
 
     public SpongeTileEntityType(Class<? extends TileEntity> clazz, String name, String id, boolean canTick, String modId) {
         super(id);
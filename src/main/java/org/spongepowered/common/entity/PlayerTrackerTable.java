@@ -0,0 +1,187 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongMap;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+
+/**
+ * A compact table of the owner and notifier indexes tracked for block
+ * positions within a single chunk. Positions are keyed by their serialized
+ * short (y &lt;= 255) or int form, and both indexes are packed into a single
+ * primitive long so that no {@link PlayerTracker} or boxed key is allocated
+ * per tracked position.
+ *
+ * <p>The table is serialized as two flat int arrays of
+ * {@code [position, owner, notifier]} triples.</p>
+ */
+public final class PlayerTrackerTable {
+
+    /**
+     * The packed value for a position with neither an owner nor a notifier.
+     */
+    public static final long NONE = pack(-1, -1);
+
+    private final Short2LongOpenHashMap shortPositions = new Short2LongOpenHashMap();
+    private final Int2LongOpenHashMap intPositions = new Int2LongOpenHashMap();
+
+    public PlayerTrackerTable() {
+        this.shortPositions.defaultReturnValue(NONE);
+        this.intPositions.defaultReturnValue(NONE);
+    }
+
+    public static long pack(final int ownerIndex, final int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    public static int getOwnerIndex(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int getNotifierIndex(final long packed) {
+        return (int) packed;
+    }
+
+    public boolean isEmpty() {
+        return this.shortPositions.isEmpty() && this.intPositions.isEmpty();
+    }
+
+    public int size() {
+        return this.shortPositions.size() + this.intPositions.size();
+    }
+
+    /**
+     * Gets the packed owner and notifier indexes for the given position,
+     * preferring the int keyed entry if one exists.
+     *
+     * @param intKey The int serialized position
+     * @param shortKey The short serialized position
+     * @return The packed indexes, or {@link #NONE} if not tracked
+     */
+    public long get(final int intKey, final short shortKey) {
+        if (!this.intPositions.isEmpty() && this.intPositions.containsKey(intKey)) {
+            return this.intPositions.get(intKey);
+        }
+        return this.shortPositions.get(shortKey);
+    }
+
+    public boolean contains(final int intKey, final short shortKey) {
+        return this.intPositions.containsKey(intKey) || this.shortPositions.containsKey(shortKey);
+    }
+
+    public void remove(final int intKey, final short shortKey) {
+        if (this.intPositions.containsKey(intKey)) {
+            this.intPositions.remove(intKey);
+        } else {
+            this.shortPositions.remove(shortKey);
+        }
+    }
+
+    public void setOwner(final short key, final int ownerIndex) {
+        this.shortPositions.put(key, pack(ownerIndex, getNotifierIndex(this.shortPositions.get(key))));
+    }
+
+    public void setOwner(final int key, final int ownerIndex) {
+        this.intPositions.put(key, pack(ownerIndex, getNotifierIndex(this.intPositions.get(key))));
+    }
+
+    public void setNotifier(final short key, final int notifierIndex) {
+        this.shortPositions.put(key, pack(getOwnerIndex(this.shortPositions.get(key)), notifierIndex));
+    }
+
+    public void setNotifier(final int key, final int notifierIndex) {
+        this.intPositions.put(key, pack(getOwnerIndex(this.intPositions.get(key)), notifierIndex));
+    }
+
+    public boolean contains(final short key) {
+        return this.shortPositions.containsKey(key);
+    }
+
+    public boolean contains(final int key) {
+        return this.intPositions.containsKey(key);
+    }
+
+    public void put(final short key, final int ownerIndex, final int notifierIndex) {
+        this.shortPositions.put(key, pack(ownerIndex, notifierIndex));
+    }
+
+    public void put(final int key, final int ownerIndex, final int notifierIndex) {
+        this.intPositions.put(key, pack(ownerIndex, notifierIndex));
+    }
+
+    /**
+     * Writes the short keyed positions as {@code [position, owner, notifier]}
+     * triples.
+     *
+     * @return The packed array
+     */
+    public int[] writeShortPositions() {
+        final int[] data = new int[this.shortPositions.size() * 3];
+        int i = 0;
+        for (final Short2LongMap.Entry entry : this.shortPositions.short2LongEntrySet()) {
+            final long packed = entry.getLongValue();
+            data[i++] = entry.getShortKey();
+            data[i++] = getOwnerIndex(packed);
+            data[i++] = getNotifierIndex(packed);
+        }
+        return data;
+    }
+
+    /**
+     * Writes the int keyed positions as {@code [position, owner, notifier]}
+     * triples.
+     *
+     * @return The packed array
+     */
+    public int[] writeIntPositions() {
+        final int[] data = new int[this.intPositions.size() * 3];
+        int i = 0;
+        for (final Int2LongMap.Entry entry : this.intPositions.int2LongEntrySet()) {
+            final long packed = entry.getLongValue();
+            data[i++] = entry.getIntKey();
+            data[i++] = getOwnerIndex(packed);
+            data[i++] = getNotifierIndex(packed);
+        }
+        return data;
+    }
+
+    public void readShortPositions(final int[] data) {
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            if (data[i + 1] != -1 || data[i + 2] != -1) {
+                this.put((short) data[i], data[i + 1], data[i + 2]);
+            }
+        }
+    }
+
+    public void readIntPositions(final int[] data) {
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            if (data[i + 1] != -1 || data[i + 2] != -1) {
+                this.put(data[i], data[i + 1], data[i + 2]);
+            }
+        }
+    }
+}
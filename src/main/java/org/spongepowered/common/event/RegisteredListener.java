@@ -36,6 +36,7 @@
 import org.spongepowered.api.plugin.PluginContainer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
@@ -104,14 +105,18 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private final RegisteredListener<?>[] listenerArray;
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        private final int generation;
 
-        Cache(List<RegisteredListener<?>> listeners) {
-            this.listeners = listeners;
+        Cache(List<RegisteredListener<?>> listeners, int generation) {
+            this.listenerArray = listeners.toArray(new RegisteredListener<?>[0]);
+            this.listeners = Collections.unmodifiableList(Arrays.asList(this.listenerArray));
+            this.generation = generation;
 
             this.listenersByOrder = new EnumMap<>(Order.class);
-            for (RegisteredListener<?> handler : listeners) {
+            for (RegisteredListener<?> handler : this.listenerArray) {
                 final List<RegisteredListener<?>> list = this.listenersByOrder.computeIfAbsent(handler.getOrder(), order -> new ArrayList<>());
                 list.add(handler);
             }
@@ -121,6 +126,26 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        /**
+         * Gets the backing array of listeners, sorted by order. The array is
+         * shared and must not be modified.
+         *
+         * @return The listeners
+         */
+        RegisteredListener<?>[] getListenerArray() {
+            return this.listenerArray;
+        }
+
+        /**
+         * Gets the generation of the event manager at the time this cache
+         * was baked.
+         *
+         * @return The generation
+         */
+        int getGeneration() {
+            return this.generation;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             final List<RegisteredListener<?>> list = this.listenersByOrder.get(checkNotNull(order, "order"));
             if (list == null) {
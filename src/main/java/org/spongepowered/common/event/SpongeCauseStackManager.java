@@ -26,7 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Queues;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -95,7 +95,13 @@ public final class SpongeCauseStackManager implements CauseStackManager {
     // Frames not currently in use
     private final Deque<CauseStackFrameImpl> framePool = new ArrayDeque<>(MAX_POOL_SIZE);
 
-    private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
+    // The current context, stored by the dense index of each key (see SpongeEventContextKey#getIndex)
+    private EventContextKey<?>[] ctxKeys = new EventContextKey<?>[32];
+    private Object[] ctxValues = new Object[32];
+    // The stamp of the frame which recorded the original value of each key, so it's only recorded once per frame
+    private long[] ctxFrameStamps = new long[32];
+    private int ctxSize;
+    private long frameStamp;
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
     @Nullable private Cause cached_cause;
@@ -170,7 +176,19 @@ private void checkProviders() {
     public EventContext getCurrentContext() {
         enforceMainThread();
         if (this.cached_ctx == null) {
-            this.cached_ctx = EventContext.of(this.ctx);
+            if (this.ctxSize == 0) {
+                this.cached_ctx = EventContext.empty();
+            } else {
+                final ImmutableMap.Builder<EventContextKey<?>, Object> builder = ImmutableMap.builder();
+                for (int i = 0, found = 0; i < this.ctxValues.length && found < this.ctxSize; i++) {
+                    final Object value = this.ctxValues[i];
+                    if (value != null) {
+                        builder.put(this.ctxKeys[i], value);
+                        found++;
+                    }
+                }
+                this.cached_ctx = EventContext.of(builder.build());
+            }
         }
         return this.cached_ctx;
     }
@@ -256,6 +274,8 @@ public StackFrame pushCauseFrame() {
             frame.old_min_depth = min_depth;
             frame.lastCauseSize = this.duplicateCauses[size];
         }
+        // Starts at 1, as 0 is reserved for "not recorded by any frame", and never wraps around to a stamp in use
+        frame.stamp = ++this.frameStamp;
 
         this.frames.push(frame);
         this.min_depth = size;
@@ -330,14 +350,19 @@ public void popCauseFrame(final StackFrame oldFrame) {
         }
         this.frames.pop();
 
-        // Remove new values
-        for (Map.Entry<EventContextKey<?>, Object> entry : frame.getOriginalContextDelta().entrySet()) {
-            this.cached_ctx = null;
-            if (entry.getValue() == null) { // wasn't present before, remove
-                this.ctx.remove(entry.getKey());
-            } else { // was there, replace
-                this.ctx.put(entry.getKey(), entry.getValue());
+        // Restore the values the frame replaced, a null original means the key wasn't present before
+        for (int i = 0; i < frame.originalCount; i++) {
+            final int index = frame.originalIndices[i];
+            final Object original = frame.originalValues[i];
+            final Object current = this.ctxValues[index];
+            if (current == null && original != null) {
+                this.ctxSize++;
+            } else if (current != null && original == null) {
+                this.ctxSize--;
             }
+            this.ctxValues[index] = original;
+            this.ctxFrameStamps[index] = frame.originalStamps[i];
+            this.cached_ctx = null;
         }
 
         // If there were any objects left on the stack then we pop them off
@@ -379,10 +404,20 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
         checkNotNull(key, "key");
         checkNotNull(value, "value");
         this.cached_ctx = null;
-        final Object existing = this.ctx.put(key, value);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
-        }
+        final int index = indexOf(key);
+        if (index >= this.ctxValues.length) {
+            final int length = Math.max(index + 1, this.ctxValues.length * 2);
+            this.ctxKeys = Arrays.copyOf(this.ctxKeys, length);
+            this.ctxValues = Arrays.copyOf(this.ctxValues, length);
+            this.ctxFrameStamps = Arrays.copyOf(this.ctxFrameStamps, length);
+        }
+        final Object existing = this.ctxValues[index];
+        this.ctxKeys[index] = key;
+        this.ctxValues[index] = value;
+        if (existing == null) {
+            this.ctxSize++;
+        }
+        storeOriginalContext(index, existing);
         return this;
     }
 
@@ -391,7 +426,8 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
     public <T> Optional<T> getContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
-        return Optional.ofNullable((T) this.ctx.get(key));
+        final int index = indexOf(key);
+        return index < this.ctxValues.length ? Optional.ofNullable((T) this.ctxValues[index]) : Optional.empty();
     }
 
     @Override
@@ -399,12 +435,31 @@ public <T> Optional<T> getContext(final EventContextKey<T> key) {
     public <T> Optional<T> removeContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
+        final int index = indexOf(key);
+        if (index >= this.ctxValues.length || this.ctxValues[index] == null) {
+            return Optional.empty();
+        }
         this.cached_ctx = null;
-        Object existing = this.ctx.remove(key);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+        final Object existing = this.ctxValues[index];
+        this.ctxValues[index] = null;
+        this.ctxSize--;
+        storeOriginalContext(index, existing);
+        return Optional.of((T) existing);
+    }
+
+    private static int indexOf(final EventContextKey<?> key) {
+        if (key instanceof SpongeEventContextKey) {
+            return ((SpongeEventContextKey<?>) key).getIndex();
+        }
+        return SpongeEventContextKey.indexOf(key.getId());
+    }
+
+    private void storeOriginalContext(final int index, @Nullable final Object existing) {
+        final CauseStackFrameImpl frame = this.frames.peek();
+        if (frame != null && this.ctxFrameStamps[index] != frame.stamp) {
+            frame.storeOriginalContext(index, existing, this.ctxFrameStamps[index]);
+            this.ctxFrameStamps[index] = frame.stamp;
         }
-        return Optional.ofNullable((T) existing);
     }
 
     public int registerPhaseContextProvider(final PhaseContext<?> context) {
@@ -442,7 +497,12 @@ public static class CauseStackFrameImpl implements StackFrame {
         private final Map<EventContextKey<?>, Object> stored_ctx_values = new HashMap<>();
         int old_min_depth;
         int lastCauseSize;
-        private final Map<EventContextKey<?>, Object> storedContext = new HashMap<>();
+        long stamp;
+        // The context values replaced while this frame was on top, restored when it's popped
+        int[] originalIndices = new int[8];
+        Object[] originalValues = new Object[8];
+        long[] originalStamps = new long[8];
+        int originalCount;
 
         @Nullable Exception stack_debug = null;
 
@@ -451,7 +511,9 @@ public static class CauseStackFrameImpl implements StackFrame {
 
         public void clear() {
             this.stored_ctx_values.clear();
-            this.storedContext.clear();
+            Arrays.fill(this.originalValues, 0, this.originalCount, null);
+            this.originalCount = 0;
+            this.stamp = 0;
             this.lastCauseSize = -1;
             this.old_min_depth = -1;
             this.stack_debug = null;
@@ -481,14 +543,17 @@ public void store(EventContextKey<?> key, Object existing) {
         }
 
         // Note that a null object indicates that the context should be removed
-        void storeOriginalContext(EventContextKey<?> key, @Nullable Object object) {
-            if (!this.storedContext.containsKey(key)) {
-                this.storedContext.put(key, object);
+        void storeOriginalContext(int index, @Nullable Object object, long previousStamp) {
+            if (this.originalCount == this.originalIndices.length) {
+                final int length = this.originalCount * 2;
+                this.originalIndices = Arrays.copyOf(this.originalIndices, length);
+                this.originalValues = Arrays.copyOf(this.originalValues, length);
+                this.originalStamps = Arrays.copyOf(this.originalStamps, length);
             }
-        }
-
-        Map<EventContextKey<?>, Object> getOriginalContextDelta() {
-            return this.storedContext;
+            this.originalIndices[this.originalCount] = index;
+            this.originalValues[this.originalCount] = object;
+            this.originalStamps[this.originalCount] = previousStamp;
+            this.originalCount++;
         }
 
         @Override
@@ -29,22 +29,56 @@
 import com.google.common.base.MoreObjects;
 import org.spongepowered.api.event.cause.EventContextKey;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public final class SpongeEventContextKey<T> implements EventContextKey<T> {
 
+    private static final Map<String, Integer> INDICES = new HashMap<>();
+
+    /**
+     * Gets the dense index assigned to the given key id. Keys are considered
+     * equal by id, so every key sharing an id shares the same index.
+     *
+     * @param id The key id
+     * @return The index
+     */
+    static synchronized int indexOf(String id) {
+        Integer index = INDICES.get(id);
+        if (index == null) {
+            index = INDICES.size();
+            INDICES.put(id, index);
+        }
+        return index;
+    }
+
     private final String id;
     private final Class<T> allowed;
     private final String name;
+    private final int index;
 
     SpongeEventContextKey(SpongeEventContextKeyBuilder<T> builder) {
         this.id = builder.id;
         this.allowed = builder.typeClass;
         this.name = builder.name;
+        this.index = indexOf(this.id);
     }
 
     public SpongeEventContextKey(String id, String name, Class<T> allowed) {
         this.id = checkNotNull(id, "Id");
         this.allowed = checkNotNull(allowed, "Allowed");
         this.name = checkNotNull(name, "Name");
+        this.index = indexOf(id);
+    }
+
+    /**
+     * Gets the index of this key used by the {@link SpongeCauseStackManager}
+     * to store context values in flat arrays instead of maps.
+     *
+     * @return The index
+     */
+    int getIndex() {
+        return this.index;
     }
 
     @Override
@@ -31,8 +31,6 @@
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.spongepowered.common.event.tracking.phase.plugin.EventListenerPhaseContext;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -65,7 +63,6 @@
 import org.spongepowered.common.item.inventory.custom.CustomInventoryListener;
 import org.spongepowered.common.util.TypeTokenHelper;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
@@ -81,7 +78,6 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -103,46 +99,35 @@ public class SpongeEventManager implements EventManager {
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Each entry is an immutable snapshot which is swapped out as a whole,
+     * so lookups never need to take the {@link #lock}. When handlers are
+     * added or removed, only the entries whose event type is a subtype of
+     * the changed type are evicted.</p>
+     *
+     * <p>Entries are only baked on demand, use {@link #getHandlerCache(EventType)}
+     * rather than reading this map.</p>
      */
-    protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    private final ConcurrentHashMap<EventType<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150, 0.75f, 1);
+
+    /**
+     * The generation of {@link #handlersByEvent}, bumped on every change so
+     * that a cache baked concurrently with a modification is not retained.
+     */
+    private volatile int generation;
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType) {
         final List<RegisteredListener<?>> handlers = new ArrayList<>();
         final Set<Class<? super T>> types = TypeToken.of(eventType.getType()).getTypes().rawTypes();
+        final int generation;
 
         synchronized (this.lock) {
+            generation = this.generation;
             for (Class<? super T> type : types) {
                 if (Event.class.isAssignableFrom(type)) {
                     final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
@@ -164,7 +149,26 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(EventType<T> eventType)
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(handlers, generation);
+    }
+
+    /**
+     * Evicts every cached handler list which may contain a listener for one
+     * of the given raw event types. Must be called while holding
+     * {@link #lock}, after {@link #handlersByEvent} has been modified.
+     *
+     * @param changedTypes The raw event types whose listeners changed
+     */
+    private void invalidateHandlers(Set<Class<?>> changedTypes) {
+        this.generation++;
+        this.handlersCache.keySet().removeIf(eventType -> {
+            for (Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventType.getType())) {
+                    return true;
+                }
+            }
+            return false;
+        });
     }
 
     @Nullable
@@ -202,20 +206,19 @@ private void register(RegisteredListener<? extends Event> handler) {
     }
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new ReferenceOpenHashSet<>();
             for (RegisteredListener<?> handler : handlers) {
                 final Class<?> raw = handler.getEventType().getType();
                 if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
+                    changedTypes.add(raw);
                     this.checker.registerListenerFor(raw);
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                invalidateHandlers(changedTypes);
+            }
         }
     }
 
@@ -348,24 +351,23 @@ public <T extends Event> void registerListener(Object plugin, TypeToken<T> event
     }
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
-
         synchronized (this.lock) {
+            final Set<Class<?>> changedTypes = new ReferenceOpenHashSet<>();
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changedTypes.add(handler.getEventType().getType());
                     // TODO: This doesn't seem right, even as it was before
                     this.checker.unregisterListenerFor(handler.getEventType().getType());
                     this.registeredListeners.remove(handler.getHandle());
                 }
             }
-        }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+            if (!changedTypes.isEmpty()) {
+                invalidateHandlers(changedTypes);
+            }
         }
     }
 
@@ -396,11 +398,37 @@ protected RegisteredListener.Cache getHandlerCache(Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        return getHandlerCache(eventType);
+    }
+
+    /**
+     * Gets the handlers for the given event type, baking them if they are not
+     * cached yet.
+     *
+     * @param eventType The event type
+     * @return The handlers
+     */
+    protected RegisteredListener.Cache getHandlerCache(EventType<?> eventType) {
+        checkNotNull(eventType, "eventType");
+        RegisteredListener.Cache cache = this.handlersCache.get(eventType);
+        if (cache == null) {
+            cache = bakeHandlers(eventType);
+            final RegisteredListener.Cache existing = this.handlersCache.putIfAbsent(eventType, cache);
+            if (existing != null) {
+                return existing;
+            }
+            // The listeners changed while we were baking, so we can't be sure
+            // this cache survived the invalidation. It's still a consistent
+            // view for this post, but must not be kept around.
+            if (cache.getGeneration() != this.generation) {
+                this.handlersCache.remove(eventType, cache);
+            }
+        }
+        return cache;
     }
 
     @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    private boolean post(Event event, RegisteredListener<?>[] handlers) {
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
@@ -477,12 +505,12 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event).getListenerArray());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
         return post(event, getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .toArray(RegisteredListener<?>[]::new));
     }
 }
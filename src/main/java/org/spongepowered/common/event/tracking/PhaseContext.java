@@ -616,13 +616,10 @@ public void close() { // Should never throw an exception
             return;
         }
         PhaseTracker.getInstance().completePhase(this.state);
-        if (!((IPhaseState) this.state).shouldProvideModifiers(this)) {
-            if (this.usedFrame != null) {
-                this.usedFrame.iterator().forEachRemaining(Sponge.getCauseStackManager()::popCauseFrame);
-            }
-            return;
-        }
-        if (this.usedFrame == null && SpongeImplHooks.isMainThread()) {
+        // States that don't provide modifiers never registered this context with the
+        // cause stack manager, but they still need to be reset and handed back to
+        // their pool, otherwise every entry (like random block ticks) allocates anew.
+        if (this.usedFrame == null && SpongeImplHooks.isMainThread() && ((IPhaseState) this.state).shouldProvideModifiers(this)) {
             // So, this part is interesting... Since the used frame is null, that means
             // the cause stack manager still has the refernce of this context/phase, we have
             // to "pop off" the list.
@@ -647,6 +644,10 @@ protected void reset() {
         this.stackTrace = null;
         this.owner = null;
         this.notifier = null;
+        this.allowsBlockEvents = true;
+        this.allowsEntityEvents = true;
+        this.allowsBulkBlockCaptures = true;
+        this.allowsBulkEntityCaptures = true;
         if (this.blocksSupplier != null) {
             this.blocksSupplier.reset();
         }
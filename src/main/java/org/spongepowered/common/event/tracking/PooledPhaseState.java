@@ -24,10 +24,24 @@
  */
 package org.spongepowered.common.event.tracking;
 
+import org.spongepowered.common.SpongeImplHooks;
+
 import java.util.ArrayDeque;
 
 import javax.annotation.Nullable;
 
+/**
+ * A phase state that recycles its {@link PhaseContext contexts} instead of
+ * allocating a new one on every entry. Contexts are handed back to the state
+ * by {@link PhaseContext#close()} after being {@link PhaseContext#reset() reset},
+ * so any captures allocated by {@link #createNewContext()} are reused as well.
+ *
+ * <p>The pool is confined to the main thread, which is the only thread the
+ * {@link PhaseTracker} accepts phase switches from. Contexts requested from
+ * any other thread are created fresh and simply dropped once closed.</p>
+ *
+ * @param <C> The type of context
+ */
 public abstract class PooledPhaseState<C extends PhaseContext<C>> implements IPhaseState<C> {
 
     private final ArrayDeque<C> contextPool = PhaseTracker.SERVER.createContextPool(this);
@@ -38,6 +52,9 @@ protected PooledPhaseState() {
 
     @Override
     public final C createPhaseContext() {
+        if (!SpongeImplHooks.isMainThread()) {
+            return createNewContext();
+        }
         if (this.cached != null && !this.cached.isCompleted) {
             final C cached = this.cached;
             this.cached = null;
@@ -53,7 +70,7 @@ public final C createPhaseContext() {
     }
 
     final void releaseContextFromPool(final C context) {
-        if (this.cached == context) {
+        if (this.cached == context || !SpongeImplHooks.isMainThread()) {
             return;
         }
         if (this.cached == null) {
@@ -28,7 +28,6 @@
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.tracking.context.MultiBlockCaptureSupplier;
-import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -46,6 +45,20 @@ public boolean hasCaptures() {
     @Override
     protected void reset() {
         super.reset();
+        this.unwindingState = null;
+        this.unwindingContext = null;
+        if (this.blockSuppliers != null) {
+            this.blockSuppliers.clear();
+        }
+        this.rootSupplier.reset();
+        if (this.singleSnapshots != null) {
+            this.singleSnapshots.clear();
+        }
+        this.usesMulti = false;
+        this.tracksNeighborNotifications = false;
+        this.isPostingSpecial = false;
+        this.hasGotten = true;
+        this.tracksTiles = false;
     }
 
     @Nullable
@@ -53,27 +66,31 @@ static UnwindingPhaseContext unwind(IPhaseState<?> state, PhaseContext<?> contex
         if (!state.requiresPost() || !hasCaptures) {
             return null;
         }
-        return new UnwindingPhaseContext(state, context)
+        return UnwindingState.getInstance().createPhaseContext()
+                .unwinding(state, context)
                 .source(context.getSource())
-                .addCaptures()
-                .addEntityDropCaptures()
                 .buildAndSwitch();
     }
 
-    private final IPhaseState<?> unwindingState;
-    private final PhaseContext<?> unwindingContext;
+    @Nullable private IPhaseState<?> unwindingState;
+    @Nullable private PhaseContext<?> unwindingContext;
     @Nullable Deque<MultiBlockCaptureSupplier> blockSuppliers;
     @Nullable private Deque<SpongeBlockSnapshot> singleSnapshots;
-    final boolean usesMulti;
-    final boolean tracksNeighborNotifications;
-    private final boolean isPostingSpecial;
+    // The bottom-most supplier is kept with the context so a recycled context doesn't allocate a new one per unwind
+    private final MultiBlockCaptureSupplier rootSupplier = new MultiBlockCaptureSupplier();
+    boolean usesMulti;
+    boolean tracksNeighborNotifications;
+    private boolean isPostingSpecial;
     private boolean hasGotten = true;
 
-    final boolean tracksTiles;
+    boolean tracksTiles;
+
+    UnwindingPhaseContext(UnwindingState state) {
+        super(state);
+    }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private UnwindingPhaseContext(IPhaseState<?> unwindingState, PhaseContext<?> unwindingContext) {
-        super(GeneralPhase.Post.UNWINDING);
+    private UnwindingPhaseContext unwinding(IPhaseState<?> unwindingState, PhaseContext<?> unwindingContext) {
         this.unwindingState = unwindingState;
         this.unwindingContext = unwindingContext;
         this.tracksTiles = ((IPhaseState) unwindingState).tracksTileEntityChanges(unwindingContext);
@@ -86,10 +103,13 @@ private UnwindingPhaseContext(IPhaseState<?> unwindingState, PhaseContext<?> unw
         // neighbor notifications, that would be fine, but we cannot require that both are tracked unless specified.
         this.usesMulti = this.allowsBulkBlockCaptures() && !this.isPostingSpecial;
         if (this.usesMulti) {
-            // 8 is the minimum element size required by the ArrayDeque
-            this.blockSuppliers = new ArrayDeque<>(8);
-            this.blockSuppliers.push(new MultiBlockCaptureSupplier());
+            if (this.blockSuppliers == null) {
+                // 8 is the minimum element size required by the ArrayDeque
+                this.blockSuppliers = new ArrayDeque<>(8);
+            }
+            this.blockSuppliers.push(this.rootSupplier);
         }
+        return this;
     }
 
     @Override
@@ -51,7 +51,7 @@
 import javax.annotation.Nullable;
 
 @SuppressWarnings("rawtypes")
-public final class UnwindingState implements IPhaseState<UnwindingPhaseContext> {
+public final class UnwindingState extends PooledPhaseState<UnwindingPhaseContext> implements IPhaseState<UnwindingPhaseContext> {
 
     public static UnwindingState getInstance() {
         return Holder.INSTANCE;
@@ -63,9 +63,15 @@ private static final class Holder {
         static final UnwindingState INSTANCE = new UnwindingState();
     }
 
+    /**
+     * Contexts handed out by this state are only usable once primed through
+     * {@link UnwindingPhaseContext#unwind(IPhaseState, PhaseContext, boolean)}.
+     */
     @Override
-    public UnwindingPhaseContext createPhaseContext() {
-        throw new UnsupportedOperationException("Use UnwindingPhaseContext#unwind(IPhaseState, PhaseContext)! Cannot create a context based on Post state!");
+    protected UnwindingPhaseContext createNewContext() {
+        return new UnwindingPhaseContext(this)
+            .addCaptures()
+            .addEntityDropCaptures();
     }
 
     @Override
@@ -43,6 +43,7 @@
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.PooledPhaseState;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.mixin.core.world.WorldServerMixin;
 import org.spongepowered.common.util.SpongeHooks;
@@ -446,7 +447,7 @@ void process(final Transaction<BlockSnapshot> eventTransaction, final IPhaseStat
             // Use the try to literally bypass any events, block notifications, neighbor switching, etc.
             // We can get away with making this phase switch because any tile entity accesses will
             // end up being ignored
-            try (final TransactionContext context = new TransactionContext()) {
+            try (final TransactionContext context = TransactionProcessState.TRANSACTION_PROCESS.createPhaseContext()) {
                 context.buildAndSwitch();
                 proxyAccess.proceed(targetPosition, this.newState, true); // Set the block state before we start working on invalidating the tile entity
             }
@@ -614,7 +615,7 @@ Optional<WorldServerBridge> getWorldServer() {
         }
     }
 
-    static final class TransactionProcessState implements IPhaseState<TransactionContext> {
+    static final class TransactionProcessState extends PooledPhaseState<TransactionContext> implements IPhaseState<TransactionContext> {
 
         public static final TransactionProcessState TRANSACTION_PROCESS = new TransactionProcessState();
 
@@ -622,8 +623,8 @@ private TransactionProcessState() {
         }
 
         @Override
-        public TransactionContext createPhaseContext() {
-            throw new IllegalStateException("Cannot create context");
+        protected TransactionContext createNewContext() {
+            return new TransactionContext();
         }
 
         @Override
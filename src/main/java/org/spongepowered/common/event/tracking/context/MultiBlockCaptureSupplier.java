@@ -75,6 +75,7 @@
 public final class MultiBlockCaptureSupplier implements ICaptureSupplier {
 
     public static final boolean PRINT_TRANSACTIONS = Boolean.parseBoolean(System.getProperty("sponge.debugBlockTransactions", "false"));
+    private static final int MAX_RETAINED_CAPTURES = 64;
 
     @Nullable private LinkedListMultimap<BlockPos, SpongeBlockSnapshot> multimap;
     @Nullable private ListMultimap<BlockPos, BlockEventData> scheduledEvents;
@@ -823,11 +824,21 @@ public void reset() {
         if (this.scheduledEvents != null) {
             this.scheduledEvents = null;
         }
+        // Small captures keep their backing collections since the owning context is
+        // pooled and will most likely capture a similar amount on its next entry.
         if (this.snapshots != null) {
-            this.snapshots = null;
+            if (this.snapshots.size() > MAX_RETAINED_CAPTURES) {
+                this.snapshots = null;
+            } else {
+                this.snapshots.clear();
+            }
         }
         if (this.usedBlocks != null) {
-            this.usedBlocks = null;
+            if (this.usedBlocks.size() > MAX_RETAINED_CAPTURES) {
+                this.usedBlocks = null;
+            } else {
+                this.usedBlocks.clear();
+            }
         }
         this.clearProxies();
         this.transactionIndex = -1;
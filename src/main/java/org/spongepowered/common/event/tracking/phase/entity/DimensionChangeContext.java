@@ -46,6 +46,12 @@ public DimensionChangeContext setTargetWorld(WorldServer targetWorld) {
         return this;
     }
 
+    @Override
+    protected void reset() {
+        super.reset();
+        this.targetWorld = null;
+    }
+
     @Override
     public PrettyPrinter printCustom(PrettyPrinter printer, int indent) {
         String s = String.format("%1$"+indent+"s", "");
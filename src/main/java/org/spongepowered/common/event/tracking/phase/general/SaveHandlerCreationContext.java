@@ -43,4 +43,10 @@ public SaveHandlerCreationContext createFiles(boolean createFolders) {
     public boolean isCreateFiles() {
         return createFiles;
     }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        this.createFiles = false;
+    }
 }
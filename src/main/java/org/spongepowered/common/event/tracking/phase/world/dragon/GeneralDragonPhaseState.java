@@ -25,13 +25,14 @@
 package org.spongepowered.common.event.tracking.phase.world.dragon;
 
 import org.spongepowered.common.event.tracking.IPhaseState;
+import org.spongepowered.common.event.tracking.PooledPhaseState;
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.context.GeneralizedContext;
 
-public class GeneralDragonPhaseState implements IPhaseState<GeneralizedContext> {
+public class GeneralDragonPhaseState extends PooledPhaseState<GeneralizedContext> implements IPhaseState<GeneralizedContext> {
 
     @Override
-    public GeneralizedContext createPhaseContext() {
+    protected GeneralizedContext createNewContext() {
         return new GeneralizedContext(this).addCaptures();
     }
 
@@ -25,6 +25,7 @@
 package org.spongepowered.common.item.inventory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
@@ -59,9 +60,11 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -69,17 +72,63 @@
 @SuppressWarnings("unchecked")
 public class SpongeItemStackSnapshot implements ItemStackSnapshot {
 
+    private static final int POOL_LIMIT = 4096;
+    // Snapshots of plain stacks without any data, which are shared as they can't be told apart
+    private static final Map<PoolKey, SpongeItemStackSnapshot> POOL = new ConcurrentHashMap<>();
+    // Marks a resolved compound that turned out to be empty
+    private static final NBTTagCompound NO_COMPOUND = new NBTTagCompound();
+
     private final ItemType itemType;
     private final int quantity;
     private final int damageValue;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
     private final transient ItemStack privateStack; // only for internal use since the processors have a huge say
-    private final ImmutableSet<Key<?>> keys;
-    private final ImmutableSet<ImmutableValue<?>> values;
-    @Nullable private final NBTTagCompound compound;
+    // The following are derived from the private stack on first use, as most
+    // snapshots are only created for transactions and then discarded
+    @Nullable private volatile ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
+    @Nullable private volatile ImmutableSet<Key<?>> keys;
+    @Nullable private volatile ImmutableSet<ImmutableValue<?>> values;
+    @Nullable private volatile NBTTagCompound compound;
     @Nullable private UUID creatorUniqueId;
+    private boolean shared;
+
+    /**
+     * Creates a snapshot of the given stack, sharing a previous snapshot if
+     * the stack has no data beyond its type, damage and quantity.
+     *
+     * <p>Snapshots of such stacks may be shared, whether or not they were
+     * taken from the pool, and never accept a {@link #setCreator creator}.
+     * Use the constructor for snapshots handed out through the API.</p>
+     *
+     * @param itemStack The item stack
+     * @return The snapshot
+     */
+    public static SpongeItemStackSnapshot of(ItemStack itemStack) {
+        final net.minecraft.item.ItemStack nativeStack = ItemStackUtil.toNative(checkNotNull(itemStack));
+        if (nativeStack.isEmpty() || nativeStack.hasTagCompound() || ((CustomDataHolderBridge) nativeStack).bridge$hasManipulators()) {
+            return new SpongeItemStackSnapshot(itemStack);
+        }
+        final PoolKey key = new PoolKey(nativeStack.getItem(), nativeStack.getItemDamage(), nativeStack.getCount());
+        final SpongeItemStackSnapshot pooled = POOL.get(key);
+        // Also compares any state the platform keeps outside of the tag compound
+        if (pooled != null && net.minecraft.item.ItemStack.areItemStacksEqual(nativeStack, ItemStackUtil.toNative(pooled.privateStack))) {
+            return pooled;
+        }
+        final SpongeItemStackSnapshot snapshot = new SpongeItemStackSnapshot(itemStack);
+        snapshot.shared = true;
+        if (pooled == null && POOL.size() < POOL_LIMIT) {
+            POOL.putIfAbsent(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops every pooled snapshot, so they don't outlive the server their
+     * items were registered for.
+     */
+    public static void clearPool() {
+        POOL.clear();
+    }
 
-    @SuppressWarnings({"EqualsBetweenInconvertibleTypes", "ConstantConditions"})
     public SpongeItemStackSnapshot(ItemStack itemStack) {
         checkNotNull(itemStack);
         if (itemStack == net.minecraft.item.ItemStack.EMPTY) {
@@ -90,44 +139,14 @@ public SpongeItemStackSnapshot(ItemStack itemStack) {
             this.privateStack = itemStack;
             this.keys = ImmutableSet.of();
             this.values = ImmutableSet.of();
-            this.compound = null;
+            this.compound = NO_COMPOUND;
             return;
         }
         this.itemType = itemStack.getType();
         this.quantity = itemStack.getQuantity();
-        ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (DataManipulator<?, ?> manipulator : ((CustomDataHolderBridge) itemStack).bridge$getCustomManipulators()) {
-            builder.add(manipulator.asImmutable());
-            keyBuilder.addAll(manipulator.getKeys());
-            valueBuilder.addAll(manipulator.getValues());
-        }
         this.damageValue = ((net.minecraft.item.ItemStack) itemStack).getItemDamage();
-        this.manipulators = builder.build();
+        // The copy carries the custom manipulators and its own tag compound, and is never modified
         this.privateStack = itemStack.copy();
-        this.keys = keyBuilder.build();
-        this.values = valueBuilder.build();
-        @Nullable NBTTagCompound compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
-        if (compound != null) {
-            compound = compound.copy();
-        }
-        if (compound != null) {
-            if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-                final NBTTagCompound spongeCompound = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
-                if (spongeCompound.hasKey(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST)) {
-                    spongeCompound.removeTag(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST);
-                }
-            }
-            Constants.NBT.filterSpongeCustomData(compound);
-            if (!compound.isEmpty()) {
-                this.compound = compound;
-            } else {
-                this.compound = null;
-            }
-        } else {
-            this.compound = null;
-        }
     }
 
     public SpongeItemStackSnapshot(ItemType itemType,
@@ -140,16 +159,46 @@ public SpongeItemStackSnapshot(ItemType itemType,
         this.manipulators = checkNotNull(manipulators);
         this.damageValue = damageValue;
         this.privateStack = (ItemStack) new net.minecraft.item.ItemStack((Item) this.itemType, this.quantity, this.damageValue);
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : manipulators) {
             this.privateStack.offer(manipulator.asMutable());
-            keyBuilder.addAll(manipulator.getKeys());
-            valueBuilder.addAll(manipulator.getValues());
         }
-        this.keys = keyBuilder.build();
-        this.values = valueBuilder.build();
-        this.compound = compound == null ? null : compound.copy();
+        this.compound = compound == null ? NO_COMPOUND : compound.copy();
+    }
+
+    private ImmutableList<ImmutableDataManipulator<?, ?>> getManipulatorList() {
+        ImmutableList<ImmutableDataManipulator<?, ?>> manipulators = this.manipulators;
+        if (manipulators == null) {
+            final ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
+            for (DataManipulator<?, ?> manipulator : ((CustomDataHolderBridge) this.privateStack).bridge$getCustomManipulators()) {
+                builder.add(manipulator.asImmutable());
+            }
+            manipulators = builder.build();
+            this.manipulators = manipulators;
+        }
+        return manipulators;
+    }
+
+    @Nullable
+    private NBTTagCompound getCompoundInternal() {
+        NBTTagCompound compound = this.compound;
+        if (compound == null) {
+            compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
+            if (compound != null) {
+                compound = compound.copy();
+                if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
+                    final NBTTagCompound spongeCompound = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
+                    if (spongeCompound.hasKey(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST)) {
+                        spongeCompound.removeTag(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST);
+                    }
+                }
+                Constants.NBT.filterSpongeCustomData(compound);
+            }
+            if (compound == null || compound.isEmpty()) {
+                compound = NO_COMPOUND;
+            }
+            this.compound = compound;
+        }
+        return compound == NO_COMPOUND ? null : compound;
     }
 
     @Override
@@ -179,10 +228,11 @@ public Translation getTranslation() {
     @Override
     public ItemStack createStack() {
         net.minecraft.item.ItemStack nativeStack = ItemStackUtil.cloneDefensiveNative(ItemStackUtil.toNative(this.privateStack.copy()));
-        if(this.compound != null) {
-            nativeStack.setTagCompound(this.compound.copy());
+        final NBTTagCompound compound = getCompoundInternal();
+        if(compound != null) {
+            nativeStack.setTagCompound(compound.copy());
         }
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : getManipulatorList()) {
             ((ItemStack) nativeStack).offer(manipulator.asMutable());
         }
         return ItemStackUtil.fromNative(nativeStack);
@@ -190,7 +240,7 @@ public ItemStack createStack() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
-        return this.manipulators;
+        return getManipulatorList();
     }
 
     @Override
@@ -205,11 +255,13 @@ public DataContainer toContainer() {
             .set(Constants.ItemStack.TYPE, this.isNone() ? ItemTypes.NONE.getId() : this.itemType.getId())
             .set(Constants.ItemStack.COUNT, this.quantity)
             .set(Constants.ItemStack.DAMAGE_VALUE, this.damageValue);
-        if (!this.manipulators.isEmpty()) {
-            container.set(Constants.Sponge.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(this.manipulators));
+        final List<ImmutableDataManipulator<?, ?>> manipulators = getManipulatorList();
+        if (!manipulators.isEmpty()) {
+            container.set(Constants.Sponge.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(manipulators));
         }
-        if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+        final NBTTagCompound compound = getCompoundInternal();
+        if (compound != null) {
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(compound));
         }
         return container;
     }
@@ -217,7 +269,7 @@ public DataContainer toContainer() {
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
         checkNotNull(containerClass);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : getManipulatorList()) {
             if (containerClass.isInstance(manipulator)) {
                 return Optional.of((T) manipulator);
             }
@@ -321,7 +373,7 @@ public ItemStackSnapshot merge(ItemStackSnapshot that, MergeFunction function) {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getContainers() {
-        return this.manipulators;
+        return getManipulatorList();
     }
 
     @Override
@@ -346,12 +398,30 @@ public ItemStackSnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
-        return this.keys;
+        ImmutableSet<Key<?>> keys = this.keys;
+        if (keys == null) {
+            final ImmutableSet.Builder<Key<?>> builder = ImmutableSet.builder();
+            for (ImmutableDataManipulator<?, ?> manipulator : getManipulatorList()) {
+                builder.addAll(manipulator.getKeys());
+            }
+            keys = builder.build();
+            this.keys = keys;
+        }
+        return keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
-        return this.values;
+        ImmutableSet<ImmutableValue<?>> values = this.values;
+        if (values == null) {
+            final ImmutableSet.Builder<ImmutableValue<?>> builder = ImmutableSet.builder();
+            for (ImmutableDataManipulator<?, ?> manipulator : getManipulatorList()) {
+                builder.addAll(manipulator.getValues());
+            }
+            values = builder.build();
+            this.values = values;
+        }
+        return values;
     }
 
     @Override
@@ -377,8 +447,9 @@ public int getDamageValue() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
-        if (this.compound != null) {
-            return Optional.of(this.compound.copy());
+        final NBTTagCompound compound = getCompoundInternal();
+        if (compound != null) {
+            return Optional.of(compound.copy());
         }
         return Optional.empty();
     }
@@ -392,7 +463,15 @@ public Optional<UUID> getCreator() {
         return Optional.ofNullable(this.creatorUniqueId);
     }
 
+    /**
+     * Sets the creator of the snapshot.
+     *
+     * @param uuid The unique id of the creator
+     * @throws IllegalStateException If the snapshot was created through
+     *     {@link #of} for a stack without data, as it may be shared
+     */
     public void setCreator(@Nullable UUID uuid) {
+        checkState(!this.shared, "Snapshots of stacks without data may be shared and can't have a creator");
         if (uuid != null) {
             this.creatorUniqueId = uuid;
         }
@@ -410,13 +489,43 @@ public boolean equals(Object o) {
         return this.quantity == that.quantity &&
                this.damageValue == that.damageValue &&
                Objects.equal(this.itemType, that.itemType) &&
-               Objects.equal(this.compound, that.compound) &&
+               Objects.equal(getCompoundInternal(), that.getCompoundInternal()) &&
                Objects.equal(this.creatorUniqueId, that.creatorUniqueId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.itemType, this.quantity, this.damageValue, this.compound, this.creatorUniqueId);
+        return Objects.hashCode(this.itemType, this.quantity, this.damageValue, getCompoundInternal(), this.creatorUniqueId);
+    }
+
+    private static final class PoolKey {
+
+        private final Item item;
+        private final int damage;
+        private final int count;
+
+        PoolKey(Item item, int damage, int count) {
+            this.item = item;
+            this.damage = damage;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            final PoolKey that = (PoolKey) o;
+            return this.item == that.item && this.damage == that.damage && this.count == that.count;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(this.item) * 31 + this.damage) * 31 + this.count;
+        }
     }
 
 }
@@ -118,10 +118,32 @@
 public final class ContainerUtil {
 
     private static final Random RANDOM = new Random();
+    private static long slotsCompared;
+    private static long slotsSkipped;
 
     private ContainerUtil() {
     }
 
+    /**
+     * Records how many slots a container compared and skipped while
+     * detecting changes to send to its listeners.
+     *
+     * @param compared The number of slots compared
+     * @param skipped The number of slots skipped as unchanged
+     */
+    public static void recordSlotComparisons(final int compared, final int skipped) {
+        slotsCompared += compared;
+        slotsSkipped += skipped;
+    }
+
+    public static long getSlotsCompared() {
+        return slotsCompared;
+    }
+
+    public static long getSlotsSkipped() {
+        return slotsSkipped;
+    }
+
     // Note this is likely not doable throughout the implementation, only in certain cases
 
     public static Container fromNative(final net.minecraft.inventory.Container container) {
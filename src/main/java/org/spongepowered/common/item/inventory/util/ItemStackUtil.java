@@ -26,6 +26,7 @@
 
 import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.item.inventory.ItemStackSnapshot;
+import org.spongepowered.common.item.inventory.SpongeItemStackSnapshot;
 
 import java.util.Arrays;
 import java.util.List;
@@ -136,11 +137,11 @@ public static boolean compareIgnoreQuantity(ItemStack stack1, net.minecraft.item
     }
 
     public static ItemStackSnapshot snapshotOf(net.minecraft.item.ItemStack itemStack) {
-        return itemStack.isEmpty() ? ItemStackSnapshot.NONE : fromNative(itemStack).createSnapshot();
+        return itemStack.isEmpty() ? ItemStackSnapshot.NONE : SpongeItemStackSnapshot.of(fromNative(itemStack));
     }
 
     public static ItemStackSnapshot snapshotOf(@Nullable ItemStack itemStack) {
-        return itemStack == null ? ItemStackSnapshot.NONE : itemStack.isEmpty() ? ItemStackSnapshot.NONE : itemStack.createSnapshot();
+        return itemStack == null ? ItemStackSnapshot.NONE : itemStack.isEmpty() ? ItemStackSnapshot.NONE : SpongeItemStackSnapshot.of(itemStack);
     }
 
     public static net.minecraft.item.ItemStack fromSnapshotToNative(@Nullable ItemStackSnapshot snapshot) {
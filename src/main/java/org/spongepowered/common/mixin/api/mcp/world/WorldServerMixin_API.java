@@ -38,7 +38,6 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
@@ -105,6 +104,8 @@
 import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapEntryAccessor;
 import org.spongepowered.common.mixin.core.util.SoundEventsAccessor;
 import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
+import org.spongepowered.common.network.ChunkPacketCache;
+import org.spongepowered.common.network.NearbyPlayerBroadcast;
 import org.spongepowered.common.util.NonNullArrayList;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 import org.spongepowered.common.world.WorldManager;
@@ -280,9 +281,11 @@ public Optional<org.spongepowered.api.world.Chunk> regenerateChunk(final int cx,
                     // weird issues, such as making any entities in that chunk invisible (until they leave it
                     // for a new chunk)
                     // - Aaron1011
+                    final SPacketChunkData sectionsPacket = ChunkPacketCache.getPacket(newChunk, 65534);
+                    final SPacketChunkData biomesPacket = ChunkPacketCache.getPacket(newChunk, 1);
                     for (final EntityPlayerMP playerMP: chunkPlayers) {
-                        playerMP.connection.sendPacket(new SPacketChunkData(newChunk, 65534));
-                        playerMP.connection.sendPacket(new SPacketChunkData(newChunk, 1));
+                        playerMP.connection.sendPacket(sectionsPacket);
+                        playerMP.connection.sendPacket(biomesPacket);
                     }
                 }
             }
@@ -517,18 +520,7 @@ public void spawnParticles(final ParticleEffect particleEffect, final Vector3d p
         checkArgument(radius > 0, "The radius has to be greater then zero!");
 
         final List<Packet<?>> packets = SpongeParticleHelper.toPackets((SpongeParticleEffect) particleEffect, position);
-
-        if (!packets.isEmpty()) {
-            final PlayerList playerList = this.server.getPlayerList();
-
-            final double x = position.getX();
-            final double y = position.getY();
-            final double z = position.getZ();
-
-            for (final Packet<?> packet : packets) {
-                playerList.sendToAllNearExcept(null, x, y, z, radius, ((WorldServerBridge) this).bridge$getDimensionId(), packet);
-            }
-        }
+        NearbyPlayerBroadcast.sendToAllNearExcept((WorldServer) (Object) this, null, position.getX(), position.getY(), position.getZ(), radius, packets);
     }
 
     @Override
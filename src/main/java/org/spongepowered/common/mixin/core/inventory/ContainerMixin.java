@@ -42,6 +42,7 @@
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.play.server.SPacketSetSlot;
 import net.minecraft.util.NonNullList;
 import net.minecraft.world.World;
@@ -84,6 +85,7 @@
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -131,6 +133,12 @@ public abstract class ContainerMixin implements ContainerBridge, InventoryAdapte
     @Nullable Predicate<EntityPlayer> impl$canInteractWithPredicate;
     @Nullable private LinkedHashMap<IInventory, Set<Slot>> impl$allInventories;
     @Nullable private ItemStack impl$previousCursor;
+    // Slot change tracking, the stack and tag each slot held when it was last compared
+    @Nullable private ItemStack[] impl$comparedStacks;
+    @Nullable private NBTTagCompound[] impl$comparedTags;
+    private final BitSet impl$dirtySlots = new BitSet();
+    private int impl$detectionsSinceFullDiff;
+    @Nullable private Boolean impl$slotTrackingSupported;
 
     private static int impl$numTransactionErrorsLogged = 0;
 
@@ -248,19 +256,40 @@ public void detectAndSendChanges() {
 
     @Override
     public void bridge$detectAndSendChanges(final boolean captureOnly) {
+        // Sponge start - only compare the slots that may have changed, captures always compare every slot
+        final boolean trackSlots = !this.impl$captureInventory && this.impl$useSlotTracking();
+        final boolean fullDiff = !trackSlots || this.impl$isFullDiffDue();
+        if (!trackSlots) {
+            this.impl$comparedStacks = null;
+            this.impl$comparedTags = null;
+        } else if (this.impl$comparedStacks == null || this.impl$comparedStacks.length != this.inventorySlots.size()) {
+            this.impl$comparedStacks = new ItemStack[this.inventorySlots.size()];
+            this.impl$comparedTags = new NBTTagCompound[this.inventorySlots.size()];
+        }
+        int compared = 0;
+        // Sponge end
         for (int i = 0; i < this.inventorySlots.size(); ++i) {
             final Slot slot = this.inventorySlots.get(i);
             final ItemStack itemstack = slot.getStack();
             ItemStack itemstack1 = this.inventoryItemStacks.get(i);
 
+            // Sponge start
+            if (!fullDiff && !this.impl$dirtySlots.get(i) && this.impl$isSlotUnchanged(i, itemstack, itemstack1)) {
+                continue;
+            }
+            compared++;
+            if (trackSlots) {
+                this.impl$comparedStacks[i] = itemstack;
+                this.impl$comparedTags[i] = itemstack.getTagCompound();
+            }
+            // Sponge end
+
             if (!ItemStack.areItemStacksEqual(itemstack1, itemstack)) {
 
                 // Sponge start
                 if (this.impl$captureInventory) {
-                    final ItemStackSnapshot originalItem = itemstack1.isEmpty() ? ItemStackSnapshot.NONE
-                            : ((org.spongepowered.api.item.inventory.ItemStack) itemstack1).createSnapshot();
-                    final ItemStackSnapshot newItem = itemstack.isEmpty() ? ItemStackSnapshot.NONE
-                            : ((org.spongepowered.api.item.inventory.ItemStack) itemstack).createSnapshot();
+                    final ItemStackSnapshot originalItem = ItemStackUtil.snapshotOf(itemstack1);
+                    final ItemStackSnapshot newItem = ItemStackUtil.snapshotOf(itemstack);
 
                     org.spongepowered.api.item.inventory.Slot adapter = null;
                     try {
@@ -291,9 +320,56 @@ public void detectAndSendChanges() {
                 }
             }
         }
+        // Sponge start
+        this.impl$dirtySlots.clear();
+        ContainerUtil.recordSlotComparisons(compared, this.inventorySlots.size() - compared);
+        // Sponge end
         this.impl$markClean();
     }
 
+    private boolean impl$useSlotTracking() {
+        if (!SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useContainerSlotTracking()) {
+            return false;
+        }
+        if (this.impl$slotTrackingSupported == null) {
+            // Mod containers and slots may keep their contents in ways we can't follow
+            boolean supported = impl$isKnownClass(this.getClass());
+            for (final Slot slot : this.inventorySlots) {
+                supported &= impl$isKnownClass(slot.getClass());
+            }
+            this.impl$slotTrackingSupported = supported;
+        }
+        return this.impl$slotTrackingSupported;
+    }
+
+    private static boolean impl$isKnownClass(final Class<?> type) {
+        return type.getName().startsWith("net.minecraft.") || type.getName().startsWith("org.spongepowered.");
+    }
+
+    private boolean impl$isFullDiffDue() {
+        final int interval = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getContainerFullDiffInterval();
+        if (++this.impl$detectionsSinceFullDiff >= interval) {
+            this.impl$detectionsSinceFullDiff = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets whether the slot still holds the same item stack as when it was
+     * last compared, with the same item, quantity and damage as the stack
+     * last sent. Writes through slots, inventories and lenses replace the
+     * stack, so only changes made directly to the data of the stack are
+     * missed until the next full comparison.
+     */
+    private boolean impl$isSlotUnchanged(final int index, final ItemStack current, final ItemStack sent) {
+        return this.impl$comparedStacks[index] == current
+                && this.impl$comparedTags[index] == current.getTagCompound()
+                && current.getItem() == sent.getItem()
+                && current.getCount() == sent.getCount()
+                && current.getItemDamage() == sent.getItemDamage();
+    }
+
     protected void impl$markClean() {
     }
 
@@ -304,17 +380,19 @@ public void detectAndSendChanges() {
         bridge$setSlotProvider(null);
         bridge$setLens(null);
         this.impl$adapters = null;
+        this.impl$slotTrackingSupported = null;
     }
 
     @Inject(method = "putStackInSlot", at = @At(value = "HEAD") )
     private void impl$addTransaction(final int slotId, final ItemStack itemstack, final CallbackInfo ci) {
+        if (slotId >= 0) {
+            this.impl$dirtySlots.set(slotId);
+        }
         if (this.impl$captureInventory) {
             final Slot slot = shadow$getSlot(slotId);
             if (slot != null) {
-                final ItemStackSnapshot originalItem = slot.getStack().isEmpty() ? ItemStackSnapshot.NONE
-                                                                                 : ((org.spongepowered.api.item.inventory.ItemStack) slot.getStack()).createSnapshot();
-                final ItemStackSnapshot newItem =
-                        itemstack.isEmpty() ? ItemStackSnapshot.NONE : ((org.spongepowered.api.item.inventory.ItemStack) itemstack).createSnapshot();
+                final ItemStackSnapshot originalItem = ItemStackUtil.snapshotOf(slot.getStack());
+                final ItemStackSnapshot newItem = ItemStackUtil.snapshotOf(itemstack);
 
                 final org.spongepowered.api.item.inventory.Slot adapter = this.bridge$getContainerSlot(slotId);
                 this.impl$capturedSlotTransactions.add(new SlotTransaction(adapter, originalItem, newItem));
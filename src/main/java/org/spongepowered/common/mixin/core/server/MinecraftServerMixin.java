@@ -94,9 +94,11 @@
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.gen.SpawnAreaPreparer;
 
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -191,8 +193,12 @@ public void loadAllWorlds(final String overworldFolder, final String worldName,
      */
     @Overwrite
     public void initialWorldChunkLoad() {
-        for (final WorldServer worldServer: this.worlds) {
-            this.bridge$prepareSpawnArea(worldServer);
+        if (SpawnAreaPreparer.isParallelEnabled()) {
+            SpawnAreaPreparer.prepareSpawnAreas((MinecraftServer) (Object) this, Arrays.asList(this.worlds));
+        } else {
+            for (final WorldServer worldServer: this.worlds) {
+                this.bridge$prepareSpawnArea(worldServer);
+            }
         }
         this.clearCurrentTask();
     }
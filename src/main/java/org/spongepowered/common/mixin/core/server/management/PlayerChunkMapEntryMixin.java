@@ -36,8 +36,10 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapEntryBridge;
+import org.spongepowered.common.network.ChunkPacketCache;
 
 import java.util.List;
 
@@ -60,8 +62,8 @@ public abstract class PlayerChunkMapEntryMixin implements PlayerChunkMapEntryBri
     private void impl$updateBiomes(final CallbackInfo ci) {
         if (this.impl$updateBiomes) {
             final Chunk chunk = this.playerChunkMap.getWorldServer().getChunk(this.pos.x, this.pos.z);
-            this.sendPacket(new SPacketChunkData(chunk, 65534));
-            this.sendPacket(new SPacketChunkData(chunk, 1));
+            this.sendPacket(ChunkPacketCache.getPacket(chunk, 65534));
+            this.sendPacket(ChunkPacketCache.getPacket(chunk, 1));
             this.changes = 0;
             this.changedSectionFilter = 0;
             this.impl$updateBiomes = false;
@@ -69,6 +71,12 @@ public abstract class PlayerChunkMapEntryMixin implements PlayerChunkMapEntryBri
         }
     }
 
+    @Redirect(method = {"sendToPlayers", "sendToPlayer"},
+        at = @At(value = "NEW", target = "net/minecraft/network/play/server/SPacketChunkData"))
+    private SPacketChunkData impl$useCachedChunkPacket(final Chunk chunk, final int sectionMask) {
+        return ChunkPacketCache.getPacket(chunk, sectionMask);
+    }
+
     @Override
     public void bridge$markBiomesForUpdate() {
         this.impl$updateBiomes = true;
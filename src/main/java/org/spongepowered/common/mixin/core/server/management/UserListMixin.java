@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.server.management;
 
 import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListOps;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,6 +34,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 
 import java.io.File;
 import java.util.List;
@@ -61,4 +63,12 @@ private void onReadSavedFile(final CallbackInfo ci) {
         }
     }
 
+    // The op level of a user decides which op group it inherits permissions from
+    @Inject(method = {"addEntry", "removeEntry", "readSavedFile"}, at = @At("RETURN"))
+    private void impl$invalidatePermissionsOnOpsChange(final CallbackInfo ci) {
+        if ((Object) this instanceof UserListOps) {
+            SpongeBaseSubject.invalidatePermissionCaches();
+        }
+    }
+
 }
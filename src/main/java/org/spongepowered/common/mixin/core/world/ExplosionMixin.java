@@ -61,11 +61,13 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.ExplosionBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ExplosionCache;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -118,13 +120,22 @@ private void onConstructed(final net.minecraft.world.World world, final Entity e
      */
     @Overwrite
     public void doExplosionA() {
-        // Sponge Start - If the explosion should not break blocks, don't bother calculating it
+        // Sponge Start - Share work with other explosions this tick if possible
+        @Nullable final ExplosionCache cache = this.world instanceof WorldServer
+                && SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().useExplosionCache()
+                ? ((WorldServerBridge) this.world).bridge$getExplosionCache() : null;
+        // If the explosion should not break blocks, don't bother calculating it
         if (this.impl$shouldBreakBlocks) {
             final Set<BlockPos> set = Sets.<BlockPos>newHashSet();
+            @Nullable final ExplosionCache.Rays rays = cache == null ? null
+                    : cache.getRays(this.x, this.y, this.z, this.impl$resolution, this.size * (1.0F + 0.3F * Math.abs(this.impl$randomness)));
+            int ray = -1;
+            // Sponge End
 
             for (int j = 0; j < impl$resolution; ++j) {
                 for (int k = 0; k < impl$resolution; ++k) {
                     for (int l = 0; l < impl$resolution; ++l) {
+                        ray++; // Sponge
                         if (j == 0 || j == impl$resolution - 1 || k == 0 || k == impl$resolution - 1 || l == 0 || l == impl$resolution - 1) {
                             double d0 = (double) ((float) j / (float)(impl$resolution - 1) * 2.0F - 1.0F);
                             double d1 = (double) ((float) k / (float)(impl$resolution - 1) * 2.0F - 1.0F);
@@ -140,9 +151,18 @@ public void doExplosionA() {
                             double d6 = this.y;
                             double d8 = this.z;
 
-                            for (final float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                                final BlockPos blockpos = new BlockPos(d4, d6, d8);
-                                final IBlockState iblockstate = this.world.getBlockState(blockpos);
+                            for (int step = 0; f > 0.0F; f -= 0.22500001F, step++) { // Sponge - count the steps instead of the unused f1
+                                // Sponge Start - Reuse the blocks an earlier explosion looked up along this ray
+                                final BlockPos blockpos;
+                                final IBlockState iblockstate;
+                                if (rays != null) {
+                                    blockpos = rays.getPosition(this.world, ray, step, d4, d6, d8);
+                                    iblockstate = rays.getState(ray, step);
+                                } else {
+                                    blockpos = new BlockPos(d4, d6, d8);
+                                    iblockstate = this.world.getBlockState(blockpos);
+                                }
+                                // Sponge End
 
                                 if (iblockstate.getMaterial() != Material.AIR) {
                                     final float f2 = this.exploder != null
@@ -239,7 +259,10 @@ public void doExplosionA() {
                         d5 = d5 / d13;
                         d7 = d7 / d13;
                         d9 = d9 / d13;
-                        final double d14 = (double) this.world.getBlockDensity(vec3d, entity.getEntityBoundingBox());
+                        // Sponge - Reuse the exposure computed by an earlier explosion at the same spot
+                        final double d14 = (double) (cache != null
+                                ? cache.getBlockDensity(vec3d, entity.getEntityBoundingBox())
+                                : this.world.getBlockDensity(vec3d, entity.getEntityBoundingBox()));
                         final double d10 = (1.0D - d12) * d14;
                         entity.attackEntityFrom(
                                 DamageSource.causeExplosionDamage((net.minecraft.world.Explosion) (Object) this), (float) ((int) ((d10 * d10 + d10) / 2.0D * 7.0D * (double) f3 + 1.0D)));
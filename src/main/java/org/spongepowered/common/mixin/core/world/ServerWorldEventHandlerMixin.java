@@ -25,8 +25,9 @@
 package org.spongepowered.common.mixin.core.world;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketCustomSound;
-import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.ServerWorldEventHandler;
@@ -38,6 +39,7 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.ServerWorldEventHandlerBridge;
+import org.spongepowered.common.network.NearbyPlayerBroadcast;
 
 import javax.annotation.Nullable;
 
@@ -45,7 +47,6 @@
 public abstract class ServerWorldEventHandlerMixin implements ServerWorldEventHandlerBridge {
 
     @Shadow @Final private WorldServer world;
-    @Shadow @Final private MinecraftServer server;
 
     @Redirect(method = "playSoundToAllNearExcept", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/DimensionType;getId()I"), expect = 0, require = 0)
     private int getDimensionForPlayingSound(DimensionType dimensionType) {
@@ -57,10 +58,17 @@ private int getDimensionForSoundEffects(DimensionType dimensionType) {
         return ((WorldServerBridge) this.world).bridge$getDimensionId();
     }
 
+    @Redirect(method = "playSoundToAllNearExcept", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/server/management/PlayerList;sendToAllNearExcept(Lnet/minecraft/entity/player/EntityPlayer;DDDDILnet/minecraft/network/Packet;)V"))
+    private void impl$sendSoundToNearbyPlayers(final PlayerList playerList, @Nullable final EntityPlayer except, final double x, final double y,
+            final double z, final double radius, final int dimension, final Packet<?> packet) {
+        NearbyPlayerBroadcast.sendToAllNearExcept(this.world, except, x, y, z, radius, packet);
+    }
+
     @Override
     public void bridge$playCustomSoundToAllNearExcept(@Nullable EntityPlayer player, String soundIn, SoundCategory category, double x, double y, double z,
             float volume, float pitch) {
-        this.server.getPlayerList().sendToAllNearExcept(player, x, y, z, volume > 1.0F ? (double)(16.0F * volume) : 16.0D,
-                ((WorldServerBridge) this.world).bridge$getDimensionId(), new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
+        NearbyPlayerBroadcast.sendToAllNearExcept(this.world, player, x, y, z, volume > 1.0F ? (double)(16.0F * volume) : 16.0D,
+                new SPacketCustomSound(soundIn, category, x, y, z, volume, pitch));
     }
 }
@@ -179,6 +179,7 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ExplosionCache;
 import org.spongepowered.common.world.SpongeLocatableBlockBuilder;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.border.PlayerBorderListener;
@@ -219,6 +220,9 @@ public abstract class WorldServerMixin extends WorldMixin implements WorldServer
     @Nullable private NextTickListEntry impl$tmpScheduledObj;
     @Nullable private GenericGenerationContext impl$spawnGenerationContext;
     private boolean impl$denyNeighborNotificationsUnloadedChunks = false;
+    private long impl$randomTickSectionsVisited;
+    private long impl$randomTickSectionsSkipped;
+    private final ExplosionCache impl$explosionCache = new ExplosionCache((WorldServer) (Object) this);
 
     @Shadow @Final private MinecraftServer server;
     @Shadow @Final private PlayerChunkMap playerChunkMap;
@@ -694,6 +698,7 @@ protected void updateBlocks() {
                 {
                     if (extendedblockstorage != net.minecraft.world.chunk.Chunk.NULL_BLOCK_STORAGE && extendedblockstorage.needsRandomTick())
                     {
+                        this.impl$randomTickSectionsVisited++; // Sponge
                         for (int i1 = 0; i1 < i; ++i1)
                         {
                             this.updateLCG = this.updateLCG * 3 + 1013904223;
@@ -729,6 +734,12 @@ protected void updateBlocks() {
                             this.profiler.endSection();
                         }
                     }
+                    // Sponge start - count the sections skipped because none of their blocks tick randomly
+                    else if (extendedblockstorage != net.minecraft.world.chunk.Chunk.NULL_BLOCK_STORAGE)
+                    {
+                        this.impl$randomTickSectionsSkipped++;
+                    }
+                    // Sponge end
                 }
             }
         }
@@ -2541,6 +2552,21 @@ public String toString() {
                 .toString();
     }
 
+    @Override
+    public long bridge$getRandomTickSectionsVisited() {
+        return this.impl$randomTickSectionsVisited;
+    }
+
+    @Override
+    public long bridge$getRandomTickSectionsSkipped() {
+        return this.impl$randomTickSectionsSkipped;
+    }
+
+    @Override
+    public ExplosionCache bridge$getExplosionCache() {
+        return this.impl$explosionCache;
+    }
+
     @Override
     public long bridge$getWeatherStartTime() {
         return this.impl$weatherStartTime;
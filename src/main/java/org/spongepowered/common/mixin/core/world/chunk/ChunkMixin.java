@@ -81,6 +81,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.IPhaseState;
@@ -89,6 +90,7 @@
 import org.spongepowered.common.event.tracking.TrackingUtil;
 import org.spongepowered.common.event.tracking.context.BlockTransaction;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
+import org.spongepowered.common.network.ChunkPacketCache;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
@@ -97,7 +99,6 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -139,6 +140,7 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
     private boolean impl$isSpawning = false;
     private final net.minecraft.world.chunk.Chunk[] impl$neighbors = new net.minecraft.world.chunk.Chunk[4];
     private long impl$cacheKey;
+    private final ChunkPacketCache impl$packetCache = new ChunkPacketCache();
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void impl$onConstruct(final World worldIn, final int x, final int z, final CallbackInfo ci) {
@@ -153,6 +155,22 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
     @Override
     public void bridge$markChunkDirty() {
         this.dirty = true;
+        this.impl$packetCache.invalidate();
+    }
+
+    @Override
+    public ChunkPacketCache bridge$getPacketCache() {
+        return this.impl$packetCache;
+    }
+
+    /**
+     * Outdates the cached chunk packets after anything they carry changed.
+     * Runs on return as {@link #setLightFor} marks the chunk dirty before
+     * writing the light value.
+     */
+    @Inject(method = {"setLightFor", "relightBlock", "generateSkylightMap", "setBiomeArray", "markDirty"}, at = @At("RETURN"))
+    private void impl$invalidatePacketCache(final CallbackInfo ci) {
+        this.impl$packetCache.invalidate();
     }
 
     @Override
@@ -602,6 +620,7 @@ public IBlockState setBlockState(final BlockPos pos, final IBlockState state) {
         }
 
         this.dirty = true;
+        this.impl$packetCache.invalidate();
         return currentState;
     }
 
@@ -659,11 +678,9 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     @Override
     public void bridge$addTrackedBlockPosition(final Block block, final BlockPos pos, final User user, final PlayerTracker.Type trackerType) { }
 
+    @Nullable
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() { return Collections.emptyMap(); }
-
-    @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() { return Collections.emptyMap(); }
+    public PlayerTrackerTable bridge$getTrackedPlayerPositions() { return null; }
 
     @Override
     public Optional<User> bridge$getBlockOwner(final BlockPos pos) { return Optional.empty(); }
@@ -684,10 +701,7 @@ private SpongeBlockSnapshot createSpongeBlockSnapshot(
     public void bridge$setBlockCreator(final BlockPos pos, @Nullable final UUID uuid) { }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) { }
-
-    @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) { }
+    public void bridge$setTrackedPlayerPositions(final PlayerTrackerTable trackedPositions) { }
 
     // Continuing the rest of the implementation
 
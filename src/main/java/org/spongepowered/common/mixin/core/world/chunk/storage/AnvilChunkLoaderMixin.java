@@ -28,9 +28,12 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.datafix.DataFixer;
+import net.minecraft.util.datafix.FixTypes;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
@@ -61,18 +64,20 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.QueuedChunk;
 import org.spongepowered.common.util.VecHelper;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Mixin(AnvilChunkLoader.class)
@@ -80,11 +85,15 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    private final Map<ChunkPos, NBTTagCompound> impl$prefetchedChunkData = new ConcurrentHashMap<>();
+    // Bumped under impl$lock whenever a chunk is queued for saving, so prefetches racing a save can be dropped
+    private volatile long impl$saveSequence;
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean flushing;
+    @Shadow @Final private DataFixer fixer;
 
     @Shadow private void writeChunkData(final ChunkPos pos, final NBTTagCompound compound) { } // Shadow
 
@@ -94,33 +103,12 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
         final ChunkBridge chunk = (ChunkBridge) chunkIn;
 
         // Add tracked block positions
-        if (chunk.bridge$getTrackedShortPlayerPositions().size() > 0 || chunk.bridge$getTrackedIntPlayerPositions().size() > 0) {
+        final PlayerTrackerTable trackedPositions = chunk.bridge$getTrackedPlayerPositions();
+        if (trackedPositions != null && !trackedPositions.isEmpty()) {
             final NBTTagCompound trackedNbt = new NBTTagCompound();
-            final NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(Constants.Sponge.SPONGE_SHORT_POS_TABLE, trackedPositions.writeShortPositions());
+            trackedNbt.setIntArray(Constants.Sponge.SPONGE_INT_POS_TABLE, trackedPositions.writeIntPositions());
             compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
-
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
@@ -128,33 +116,44 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
-            final ChunkBridge chunk = (ChunkBridge) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
+            final NBTTagCompound trackedNbt = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
+            final PlayerTrackerTable trackedPositions = new PlayerTrackerTable();
+            if (trackedNbt.hasKey(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_LIST)) {
+                this.impl$readLegacyPositionTable(trackedNbt.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND),
+                    trackedPositions);
+            } else {
+                trackedPositions.readShortPositions(trackedNbt.getIntArray(Constants.Sponge.SPONGE_SHORT_POS_TABLE));
+                trackedPositions.readIntPositions(trackedNbt.getIntArray(Constants.Sponge.SPONGE_INT_POS_TABLE));
+            }
+            ((ChunkBridge) chunkIn).bridge$setTrackedPlayerPositions(trackedPositions);
+        }
+    }
 
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
+    /**
+     * Reads the compound-per-position table written by older versions, the
+     * chunk will be written back in the packed format on its next save.
+     */
+    private void impl$readLegacyPositionTable(final NBTTagList positions, final PlayerTrackerTable trackedPositions) {
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = -1;
+            int notifierIndex = -1;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+
+            if (notifierIndex != -1 || ownerIndex != -1) {
+                if (valueNbt.hasKey("pos")) {
+                    trackedPositions.put(valueNbt.getShort("pos"), ownerIndex, notifierIndex);
+                } else {
+                    trackedPositions.put(valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
                 }
             }
-            chunk.bridge$setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.bridge$setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
     }
 
@@ -232,6 +231,9 @@ private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compou
     protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compound) {
         synchronized (this.impl$lock) {
             this.chunksToSave.put(pos, compound);
+            // Sponge - Anything read ahead of this save is now stale
+            this.impl$saveSequence++;
+            this.impl$prefetchedChunkData.remove(pos);
         }
         this.impl$queue.add(new QueuedChunk(pos, compound));
 
@@ -300,6 +302,60 @@ public boolean writeNextIO() {
         }
     }
 
+    /**
+     * Hands out prefetched chunk data in place of a disk read. Pending saves
+     * still win, as they are newer than anything read from disk. Forge moves
+     * this lookup into its async loading method, so this is optional there.
+     */
+    @SuppressWarnings("unchecked")
+    @Redirect(method = "loadChunk",
+        at = @At(value = "INVOKE", target = "Ljava/util/Map;get(Ljava/lang/Object;)Ljava/lang/Object;", remap = false),
+        expect = 0,
+        require = 0)
+    private Object impl$usePrefetchedChunkData(final Map<ChunkPos, NBTTagCompound> chunksToSave, final Object pos) {
+        final NBTTagCompound pending = chunksToSave.get(pos);
+        if (pending != null || this.impl$prefetchedChunkData.isEmpty()) {
+            return pending;
+        }
+        return this.impl$prefetchedChunkData.remove(pos);
+    }
+
+    @Override
+    public boolean bridge$prefetchChunkData(final int x, final int z) throws IOException {
+        final ChunkPos pos = new ChunkPos(x, z);
+        if (this.chunksToSave.containsKey(pos)) {
+            return true;
+        }
+        final long sequence = this.impl$saveSequence;
+        final DataInputStream stream = RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z);
+        if (stream == null) {
+            return false;
+        }
+        final NBTTagCompound compound;
+        try (final DataInputStream input = stream) {
+            compound = this.fixer.process(FixTypes.CHUNK, CompressedStreamTools.read(input));
+        }
+        synchronized (this.impl$lock) {
+            // A save queued while reading may be newer than what was read, so let the load go to disk
+            if (this.impl$saveSequence == sequence) {
+                this.impl$prefetchedChunkData.put(pos, compound);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void bridge$discardPrefetchedChunkData(final int x, final int z) {
+        if (!this.impl$prefetchedChunkData.isEmpty()) {
+            this.impl$prefetchedChunkData.remove(new ChunkPos(x, z));
+        }
+    }
+
+    @Override
+    public void bridge$clearPrefetchedChunkData() {
+        this.impl$prefetchedChunkData.clear();
+    }
+
     @Override
     public Path bridge$getWorldDir() {
         return this.chunkSaveLocation.toPath();
@@ -65,12 +65,12 @@
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
@@ -82,6 +82,8 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    private final ChunkUnloadQueue impl$unloadQueue = new ChunkUnloadQueue();
+    @Nullable private Long2ObjectMap<Chunk> impl$preparedChunks;
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -125,12 +127,22 @@ public void queueUnload(final Chunk chunkIn)
     {
         if (!((ChunkBridge) chunkIn).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
         {
-            // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
+            // Sponge - we avoid using the droppedChunksSet and order the chunks by when they are due to unload instead,
+            // the unloaded flag is checked again once the chunk is due.
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            this.impl$unloadQueue.add(ChunkPos.asLong(chunkIn.x, chunkIn.z), this.impl$getUnloadDueTime((ChunkBridge) chunkIn));
         }
     }
 
+    private long impl$getUnloadDueTime(final ChunkBridge chunk) {
+        final long scheduled = chunk.bridge$getScheduledForUnload();
+        if (this.impl$chunkUnloadDelay <= 0 || scheduled == -1) {
+            return 0;
+        }
+        return scheduled + this.impl$chunkUnloadDelay;
+    }
+
 
 
     @Redirect(method = "provideChunk",
@@ -168,6 +180,20 @@ public void queueUnload(final Chunk chunkIn)
             .buildAndSwitch();
     }
 
+    @Redirect(method = "provideChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/gen/IChunkGenerator;generateChunk(II)Lnet/minecraft/world/chunk/Chunk;"))
+    private Chunk impl$usePreparedChunk(final IChunkGenerator generator, final int x, final int z) {
+        if (this.impl$preparedChunks != null) {
+            final Chunk prepared = this.impl$preparedChunks.remove(ChunkPos.asLong(x, z));
+            if (prepared != null) {
+                return prepared;
+            }
+        }
+        return generator.generateChunk(x, z);
+    }
+
     @Inject(method = "provideChunk",
         at = @At(
             value = "INVOKE",
@@ -243,11 +269,21 @@ public void queueUnload(final Chunk chunkIn)
         return this.impl$chunkUnloadDelay;
     }
 
+    @Override
+    public void bridge$setPreparedChunks(@Nullable final Long2ObjectMap<Chunk> chunks) {
+        this.impl$preparedChunks = chunks;
+    }
+
+    @Override
+    public ChunkUnloadQueue bridge$getUnloadQueue() {
+        return this.impl$unloadQueue;
+    }
+
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * polling the chunks that are due from the unload queue and determining
+     * whether they can still unload or not.
      *
      * @return true if unload queue was processed
      */
@@ -264,26 +300,37 @@ public boolean tick()
         if (this.shadow$canSave() && !((WorldBridge) this.world).bridge$isFake())
         {
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
-            final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
             int chunksUnloaded = 0;
             final long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.impl$maxChunkUnloads && iterator.hasNext()) {
-                final Chunk chunk = iterator.next();
+            while (chunksUnloaded < this.impl$maxChunkUnloads && this.impl$unloadQueue.hasDue(now)) {
+                final long chunkKey = this.impl$unloadQueue.poll();
+                final Chunk chunk = this.loadedChunks.get(chunkKey);
+                // The chunk may have been unloaded another way or requested again in the meantime,
+                // in which case it will be queued again if it needs to unload later on.
+                if (chunk == null || !chunk.unloadQueued) {
+                    continue;
+                }
                 final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.bridge$isPersistedChunk()) {
-                    if (this.bridge$getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.bridge$setScheduledForUnload(-1);
+                if (spongeChunk.bridge$isPersistedChunk()) {
+                    // Still queued but not allowed to unload right now, check it again later
+                    this.impl$unloadQueue.add(chunkKey, now + Constants.World.PERSISTED_CHUNK_UNLOAD_RETRY);
+                    continue;
+                }
+                if (this.bridge$getChunkUnloadDelay() > 0) {
+                    if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
+                        // Rescheduled after it was queued
+                        this.impl$unloadQueue.add(chunkKey, this.impl$getUnloadDueTime(spongeChunk));
+                        continue;
                     }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+                    spongeChunk.bridge$setScheduledForUnload(-1);
                 }
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                this.loadedChunks.remove(chunkKey);
+                chunksUnloaded++;
             }
+            this.impl$unloadQueue.recordUnloads(now, chunksUnloaded);
             ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
         }
 
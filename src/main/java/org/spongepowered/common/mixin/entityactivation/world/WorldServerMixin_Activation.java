@@ -28,14 +28,17 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
+import org.spongepowered.common.mixin.plugin.entityactivation.ChunkActivationMap;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
 
 @Mixin(value = WorldServer.class, priority = 1005)
 public abstract class WorldServerMixin_Activation extends WorldMixin {
 
+    private final ChunkActivationMap activation$chunkActivationMap = new ChunkActivationMap();
+
     @Override
     protected void impl$entityActivationCheck(final CallbackInfo ci) {
-        EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this));
+        EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this), this.activation$chunkActivationMap);
     }
 
 }
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -41,19 +40,17 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
-import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.lighting.AsyncLightingScheduler;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
-    private ExecutorService asyncLightingImpl$lightExecutorService =
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private volatile boolean asyncLightingImpl$lightingShutdown;
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -67,7 +64,6 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
             int i = 0;
             int j = 0;
             //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -182,15 +178,6 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            }
-
-            // Sponge end
             //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -198,7 +185,8 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
 
     @Override
     public boolean asyncLightingBridge$updateLightAsync(final EnumSkyBlock lightType, final BlockPos pos, @Nullable Chunk currentChunk) {
-        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$lightExecutorService.isShutdown()) {
+        if (this.getMinecraftServer().isServerStopped() || this.asyncLightingImpl$lightingShutdown
+            || AsyncLightingScheduler.getInstance().isShutdown()) {
             return false;
         }
 
@@ -211,16 +199,70 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         }
 
-        final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
-            return false;
+        final Chunk chunk = currentChunk;
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Already running as part of a lighting batch, so check it right away
+            final List<Chunk> neighbors = this.asyncLightingImpl$retainLightingNeighbors(spongeChunk);
+            try {
+                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+            } finally {
+                this.asyncLightingImpl$releaseLightingNeighbors(spongeChunk, neighbors);
+            }
+            return true;
         }
 
-        final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
-        spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
+        if (!spongeChunk.asyncLightingBridge$getLightUpdateQueue(lightType).add(pos.getX() & 15, pos.getY(), pos.getZ() & 15)) {
+            return false;
+        }
         spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
 
+        // Only the first queued position schedules a batch, the rest are picked up by it
+        if (spongeChunk.asyncLightingBridge$getLightBatchScheduled().compareAndSet(false, true)) {
+            final List<Chunk> neighbors = this.asyncLightingImpl$retainLightingNeighbors(spongeChunk);
+            if (!AsyncLightingScheduler.getInstance().execute((WorldServer) (Object) this, chunk.x, chunk.z,
+                () -> this.asyncLightingImpl$processLightBatch(chunk, neighbors))) {
+                spongeChunk.asyncLightingBridge$getLightBatchScheduled().set(false);
+                this.asyncLightingImpl$releaseLightingNeighbors(spongeChunk, neighbors);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks every position queued in the chunk since the batch was
+     * scheduled, bottom to top.
+     *
+     * @param chunk The chunk
+     * @param neighbors The neighbors retained when the batch was scheduled
+     */
+    private void asyncLightingImpl$processLightBatch(final Chunk chunk, final List<Chunk> neighbors) {
+        final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) chunk;
+        // Cleared before draining so that anything queued from here on schedules a new batch
+        spongeChunk.asyncLightingBridge$getLightBatchScheduled().set(false);
+        try {
+            for (final EnumSkyBlock lightType : EnumSkyBlock.values()) {
+                for (final int packed : spongeChunk.asyncLightingBridge$getLightUpdateQueue(lightType).drain()) {
+                    if (this.asyncLightingImpl$lightingShutdown) {
+                        return;
+                    }
+                    final BlockPos pos = new BlockPos(chunk.x << 4 | LightUpdateQueue.unpackX(packed), LightUpdateQueue.unpackY(packed),
+                        chunk.z << 4 | LightUpdateQueue.unpackZ(packed));
+                    this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+                }
+            }
+        } finally {
+            this.asyncLightingImpl$releaseLightingNeighbors(spongeChunk, neighbors);
+        }
+    }
+
+    /**
+     * Gets the neighbors, including diagonals, of the chunk and marks them
+     * along with the chunk as having pending light updates so that none of
+     * them unload while the update is running.
+     */
+    private List<Chunk> asyncLightingImpl$retainLightingNeighbors(final ChunkBridge_AsyncLighting spongeChunk) {
         final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
 
         // add diagonal chunks
@@ -247,27 +289,32 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
 
+        final long worldTime = this.worldInfo.getWorldTotalTime();
+        spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
         for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
             neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
-            neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
+            neighbor.asyncLightingBridge$setLightUpdateTime(worldTime);
         }
+        return neighbors;
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+    private void asyncLightingImpl$releaseLightingNeighbors(final ChunkBridge_AsyncLighting spongeChunk, final List<Chunk> neighbors) {
+        spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            ((ChunkBridge_AsyncLighting) neighborChunk).asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
         }
+    }
 
-        return true;
+    @Override
+    public void asyncLightingBridge$shutdownLighting() {
+        this.asyncLightingImpl$lightingShutdown = true;
+        AsyncLightingScheduler.getInstance().cancel((WorldServer) (Object) this);
     }
 
     @Override
-    public ExecutorService asyncLightingBridge$getLightingExecutor() {
-        return this.asyncLightingImpl$lightExecutorService;
+    public boolean asyncLightingBridge$isLightingShutdown() {
+        return this.asyncLightingImpl$lightingShutdown;
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -366,24 +413,4 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             }
         }
     }
-
-    private short asyncLightingImpl$blockPosToShort(final BlockPos pos) {
-        short serialized = (short) asyncLightingImpl$setNibble(0, pos.getX() & Constants.Chunk.XZ_MASK, 0, Constants.Chunk.NUM_XZ_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getY() & Constants.Chunk.Y_SHORT_MASK, 1, Constants.Chunk.NUM_SHORT_Y_BITS);
-        serialized = (short) asyncLightingImpl$setNibble(serialized, pos.getZ() & Constants.Chunk.XZ_MASK, 3, Constants.Chunk.NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Modifies bits in an integer.
-     *
-     * @param num Integer to modify
-     * @param data Bits of data to add
-     * @param which Index of nibble to start at
-     * @param bitsToReplace The number of bits to replace starting from nibble index
-     * @return The modified integer
-     */
-    private int asyncLightingImpl$setNibble(final int num, final int data, final int which, final int bitsToReplace) {
-        return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
-    }
 }
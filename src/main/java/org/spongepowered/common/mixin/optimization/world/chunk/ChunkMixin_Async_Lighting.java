@@ -31,6 +31,7 @@
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.asm.mixin.Final;
@@ -40,21 +41,19 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge_AsyncLighting;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.lighting.AsyncLightingScheduler;
+import org.spongepowered.common.world.lighting.LightUpdateQueue;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
@@ -63,12 +62,13 @@
 public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLighting {
 
     // Keeps track of block positions in this chunk currently queued for sky light update
-    private Set<Short> asyncLighting$queuedSkyLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final LightUpdateQueue asyncLighting$queuedSkyLightingUpdates = new LightUpdateQueue();
     // Keeps track of block positions in this chunk currently queued for block light update
-    private Set<Short> asyncLighting$queuedBlockLightingUpdates = ConcurrentHashMap.newKeySet();
+    private final LightUpdateQueue asyncLighting$queuedBlockLightingUpdates = new LightUpdateQueue();
+    // Whether a batch draining the queues above is waiting to run
+    private final AtomicBoolean asyncLighting$lightBatchScheduled = new AtomicBoolean();
     private AtomicInteger asyncLighting$pendingLightUpdates = new AtomicInteger();
     private long asyncLighting$lightUpdateTime;
-    private ExecutorService asyncLighting$lightExecutorService;
     private boolean asyncLighting$isServerChunk;
 
     @Shadow @Final private World world;
@@ -98,9 +98,10 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void asyncLighting$initializeFields(final World worldIn, final int x, final int z, final CallbackInfo ci) {
         this.asyncLighting$isServerChunk = !((WorldBridge) worldIn).bridge$isFake();
-        if (this.asyncLighting$isServerChunk) {
-            this.asyncLighting$lightExecutorService = ((WorldServerBridge_AsyncLighting) worldIn).asyncLightingBridge$getLightingExecutor();
-        }
+    }
+
+    private void asyncLighting$execute(final Runnable task) {
+        AsyncLightingScheduler.getInstance().execute((WorldServer) this.world, this.x, this.z, task);
     }
 
     @Override
@@ -125,7 +126,7 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
             final List<Chunk> neighbors = this.asyncLighting$getSurroundingChunks();
             if (this.isGapLightingUpdated && this.world.provider.hasSkyLight() && !skipRecheckGaps && !neighbors.isEmpty())
             {
-                this.asyncLighting$lightExecutorService.execute(() -> {
+                this.asyncLighting$execute(() -> {
                     this.asyncLighting$recheckGapsAsync(neighbors);
                 });
                 this.isGapLightingUpdated = false;
@@ -135,7 +136,7 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
 
             if (!this.isLightPopulated && this.isTerrainPopulated && !neighbors.isEmpty())
             {
-                this.asyncLighting$lightExecutorService.execute(() -> {
+                this.asyncLighting$execute(() -> {
                     this.asyncLighting$checkLightAsync(neighbors);
                 });
                 // set to true to avoid requeuing the same task when not finished
@@ -259,7 +260,8 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
     @Inject(method = "checkLight()V", at = @At("HEAD"), cancellable = true)
     private void asyncLighting$checkLightHead(final CallbackInfo ci) {
         if (this.asyncLighting$isServerChunk) {
-            if (this.world.getMinecraftServer().isServerStopped() || this.asyncLighting$lightExecutorService.isShutdown()) {
+            if (this.world.getMinecraftServer().isServerStopped()
+                || ((WorldServerBridge_AsyncLighting) this.world).asyncLightingBridge$isLightingShutdown()) {
                 return;
             }
 
@@ -272,21 +274,10 @@ public abstract class ChunkMixin_Async_Lighting implements ChunkBridge_AsyncLigh
                 return;
             }
 
-            if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-                try {
-                    this.asyncLighting$lightExecutorService.execute(() -> {
-                        this.asyncLighting$checkLightAsync(neighborChunks);
-                    });
-                } catch (RejectedExecutionException e) {
-                    // This could happen if ServerHangWatchdog kills the server
-                    // between the start of the method and the execute() call.
-                    if (!this.world.getMinecraftServer().isServerStopped() && !this.asyncLighting$lightExecutorService.isShutdown()) {
-                        throw e;
-                    }
-                }
-            } else {
+            // Runs right away when called off the server thread
+            this.asyncLighting$execute(() -> {
                 this.asyncLighting$checkLightAsync(neighborChunks);
-            }
+            });
             ci.cancel();
         }
     }
@@ -502,7 +493,7 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
     @Inject(method = "relightBlock", at = @At("HEAD"), cancellable = true)
     private void asyncLighting$onRelightBlock(final int x, final int y, final int z, final CallbackInfo ci) {
         if (this.asyncLighting$isServerChunk) {
-            this.asyncLighting$lightExecutorService.execute(() -> {
+            this.asyncLighting$execute(() -> {
                 this.asyncLighting$relightBlockAsync(x, y, z);
             });
             ci.cancel();
@@ -621,6 +612,7 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
             }
 
             this.dirty = true;
+            ((ChunkBridge) this).bridge$getPacketCache().invalidate();
         }
     }
 
@@ -702,16 +694,21 @@ else if (flag && k == 0 && !this.asyncLighting$checkWorldLight(blockpos$mutableb
     }
 
     /**
-     * Gets the list of block positions currently queued for lighting updates.
+     * Gets the block positions currently queued for lighting updates.
      *
      * @param type The light type
-     * @return The list of queued block positions, empty if none
+     * @return The queued block positions
      */
     @Override
-    public Set<Short> asyncLightingBridge$getQueuedLightingUpdates(final EnumSkyBlock type) {
+    public LightUpdateQueue asyncLightingBridge$getLightUpdateQueue(final EnumSkyBlock type) {
         if (type == EnumSkyBlock.SKY) {
             return this.asyncLighting$queuedSkyLightingUpdates;
         }
         return this.asyncLighting$queuedBlockLightingUpdates;
     }
+
+    @Override
+    public AtomicBoolean asyncLightingBridge$getLightBatchScheduled() {
+        return this.asyncLighting$lightBatchScheduled;
+    }
 }
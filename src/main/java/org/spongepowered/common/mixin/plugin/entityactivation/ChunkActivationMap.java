@@ -0,0 +1,152 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The chunks of a world that are within activation range of at least one
+ * player, computed from the chunks the players are standing in.
+ *
+ * <p>For every such chunk two ranges are kept, both taken as the minimum over
+ * all players: the <em>cover</em> range, an activation range at or above
+ * which every entity in the chunk is in range regardless of where the player
+ * is within their chunk, and the <em>reach</em> range, below which no entity
+ * in the chunk can be in range. Only entities whose activation range falls
+ * between the two need to be checked against player bounding boxes.</p>
+ *
+ * <p>Because the ranges only depend on the chunks players are in, the map is
+ * rebuilt only when a player crosses a chunk border, joins or leaves.</p>
+ */
+public final class ChunkActivationMap {
+
+    /**
+     * Slack for player and entity bounding boxes extending past the chunk of
+     * their position.
+     */
+    private static final int BOUNDING_BOX_MARGIN = 4;
+
+    private final Long2LongOpenHashMap chunkRanges = new Long2LongOpenHashMap();
+    private long[] playerChunks = new long[0];
+    private int maxRange = -1;
+
+    /**
+     * Rebuilds the map if any player moved into another chunk since the last
+     * call.
+     *
+     * @param players The players of the world
+     * @param maxRange The maximum activation range to consider
+     * @return True if the map was rebuilt
+     */
+    public boolean update(final List<EntityPlayer> players, final int maxRange) {
+        final long[] playerChunks = new long[players.size()];
+        for (int i = 0; i < playerChunks.length; i++) {
+            final EntityPlayer player = players.get(i);
+            playerChunks[i] = ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4);
+        }
+        Arrays.sort(playerChunks);
+        if (maxRange == this.maxRange && Arrays.equals(playerChunks, this.playerChunks)) {
+            return false;
+        }
+        this.playerChunks = playerChunks;
+        this.maxRange = maxRange;
+        this.chunkRanges.clear();
+
+        final int chunkRadius = (maxRange + BOUNDING_BOX_MARGIN >> 4) + 1;
+        long previous = Long.MIN_VALUE;
+        for (final long playerChunk : playerChunks) {
+            if (playerChunk == previous) {
+                continue;
+            }
+            previous = playerChunk;
+            final int playerChunkX = (int) playerChunk;
+            final int playerChunkZ = (int) (playerChunk >>> 32);
+            for (int x = playerChunkX - chunkRadius; x <= playerChunkX + chunkRadius; x++) {
+                for (int z = playerChunkZ - chunkRadius; z <= playerChunkZ + chunkRadius; z++) {
+                    final int reach = Math.max(getGap(playerChunkX, x), getGap(playerChunkZ, z));
+                    if (reach > maxRange) {
+                        continue;
+                    }
+                    final int cover = Math.max(getSpan(playerChunkX, x), getSpan(playerChunkZ, z));
+                    final long key = ChunkPos.asLong(x, z);
+                    final long existing = this.chunkRanges.get(key);
+                    if (existing == 0 && !this.chunkRanges.containsKey(key)) {
+                        this.chunkRanges.put(key, pack(cover, reach));
+                    } else {
+                        this.chunkRanges.put(key, pack(Math.min(cover, getCoverRange(existing)), Math.min(reach, getReachRange(existing))));
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the chunks within range of a player, keyed by
+     * {@link ChunkPos#asLong(int, int)} with values readable through
+     * {@link #getCoverRange(long)} and {@link #getReachRange(long)}.
+     *
+     * @return The chunk ranges
+     */
+    public Long2LongMap getChunkRanges() {
+        return this.chunkRanges;
+    }
+
+    public static int getCoverRange(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int getReachRange(final long packed) {
+        return (int) packed;
+    }
+
+    private static long pack(final int cover, final int reach) {
+        return (long) cover << 32 | reach & 0xFFFFFFFFL;
+    }
+
+    /**
+     * The distance between the chunk a player is in and another chunk along
+     * one axis, less the bounding box margin.
+     */
+    private static int getGap(final int playerChunk, final int chunk) {
+        final int gap = Math.max(chunk - playerChunk - 1, playerChunk - chunk - 1) << 4;
+        return Math.max(0, gap - BOUNDING_BOX_MARGIN);
+    }
+
+    /**
+     * The range needed to cover the whole of another chunk from anywhere
+     * within the chunk a player is in along one axis.
+     */
+    private static int getSpan(final int playerChunk, final int chunk) {
+        return ((Math.abs(chunk - playerChunk) + 1) << 4) + 1;
+    }
+}
@@ -28,6 +28,7 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -51,7 +52,6 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
@@ -78,6 +78,7 @@
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -90,13 +91,6 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
     /**
@@ -218,39 +212,40 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Rather than walking the chunks around every player, the chunks in
+     * range of any player are collected into the world's
+     * {@link ChunkActivationMap} and each of their entities is visited once.
+     * </p>
+     *
      * @param world The world to perform activation checks in
+     * @param activationMap The chunk activation map of the world
      */
-    public static void activateEntities(final World world) {
+    public static void activateEntities(final World world, final ChunkActivationMap activationMap) {
         if (((WorldBridge) world).bridge$isFake()) {
             return;
         }
 
-        for (final EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (final Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            final int i = MathHelper.floor(maxBB.minX / 16.0D);
-            final int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            final int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            final int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
-                }
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (final EntityPlayer player : world.playerEntities) {
+            ((ActivationCapability) player).activation$setActivatedTick(currentTick);
+        }
+        activationMap.update(world.playerEntities, maxRange);
+
+        final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+        for (final Long2LongMap.Entry entry : activationMap.getChunkRanges().long2LongEntrySet()) {
+            final long chunkKey = entry.getLongKey();
+            final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive((int) chunkKey, (int) (chunkKey >>> 32));
+            if (chunk != null) {
+                activateChunkEntities(world.playerEntities, chunk, currentTick, ChunkActivationMap.getCoverRange(entry.getLongValue()),
+                    ChunkActivationMap.getReachRange(entry.getLongValue()));
             }
         }
     }
@@ -258,16 +253,22 @@ public static void activateEntities(final World world) {
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param players The players of the world
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
+     * @param coverRange The activation range at which every entity of the
+     *     chunk is in range
+     * @param reachRange The activation range below which no entity of the
+     *     chunk is in range
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
+    private static void activateChunkEntities(final List<EntityPlayer> players, final Chunk chunk, final long currentTick, final int coverRange,
+        final int reachRange) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (final Object o : chunk.getEntityLists()[i]) {
                 final Entity entity = (Entity) o;
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -287,54 +288,35 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
                         spongeEntity.activation$setActivatedTick(currentTick);
                         continue;
                     }
-                    // check for entity type overrides
-                    final byte activationType = spongeEntity.activation$getActivationType();
-                    final int bbActivationRange = spongeEntity.activation$getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
 
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    final int activationRange = spongeEntity.activation$getActivationRange();
+                    if (activationRange < reachRange) {
+                        continue;
+                    }
+                    if (activationRange >= coverRange || isInRangeOfPlayer(players, entity.getEntityBoundingBox(), activationRange)) {
+                        spongeEntity.activation$setActivatedTick(currentTick);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Checks whether the bounding box intersects the bounding box of any
+     * player grown by the activation range, without creating new boxes.
+     */
+    private static boolean isInRangeOfPlayer(final List<EntityPlayer> players, final AxisAlignedBB entityBB, final int range) {
+        for (final EntityPlayer player : players) {
+            final AxisAlignedBB playerBB = player.getEntityBoundingBox();
+            if (entityBB.maxX > playerBB.minX - range && entityBB.minX < playerBB.maxX + range
+                && entityBB.maxZ > playerBB.minZ - range && entityBB.minZ < playerBB.maxZ + range
+                && entityBB.maxY > playerBB.minY - 256 && entityBB.minY < playerBB.maxY + 256) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
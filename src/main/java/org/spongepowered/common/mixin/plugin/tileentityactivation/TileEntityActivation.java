@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.plugin.tileentityactivation;
 
 import com.flowpowered.math.vector.Vector3i;
+import com.google.common.annotations.VisibleForTesting;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
@@ -54,9 +55,16 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 public class TileEntityActivation {
 
+    // The world currently ticking its tileentities and when its tick budget runs out
+    @Nullable private static World budgetWorld;
+    private static long budgetDeadline;
+
     /**
      * Initialize tileentity activation state.
      *
@@ -131,6 +139,9 @@ public static void initializeTileEntityActivationState(final TileEntity tileEnti
     * @param world The world to perform activation checks in
     */
     public static void activateTileEntities(final WorldServer world) {
+        final TileEntityActivationCategory activationCategory =
+            ((WorldInfoBridge) world.getWorldInfo()).bridge$getConfigAdapter().getConfig().getTileEntityActivationRange();
+        final int[] tierDistances = activationCategory.getTickRateTierDistancesSquared();
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
         for (final PlayerChunkMapEntry playerChunkMapEntry : ((PlayerChunkMapAccessor) playerChunkMap).accessor$getEntries()) {
             final Chunk chunk = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getChunk();
@@ -138,8 +149,13 @@ public static void activateTileEntities(final WorldServer world) {
                 continue;
             }
             final List<EntityPlayerMP> players = ((PlayerChunkMapEntryAccessor) playerChunkMapEntry).accessor$getPlayers();
-            activateChunkTileEntities(players, chunk);
+            activateChunkTileEntities(players, chunk, tierDistances);
         }
+
+        // The activation is done right before the world starts ticking its tileentities, which is where the budget starts
+        final int tickBudget = activationCategory.getTickBudget();
+        budgetWorld = tickBudget > 0 ? world : null;
+        budgetDeadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(tickBudget);
     }
 
 
@@ -147,8 +163,9 @@ public static void activateTileEntities(final WorldServer world) {
      * Checks for the activation state of all tileentities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param tierDistances The squared distances of the tick rate tiers
      */
-    private static void activateChunkTileEntities(final List<EntityPlayerMP> players, final Chunk chunk) {
+    private static void activateChunkTileEntities(final List<EntityPlayerMP> players, final Chunk chunk, final int[] tierDistances) {
         final long currentTick = SpongeImpl.getServer().getTickCounter();
         for (final Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
             final TileEntity tileEntity = mapEntry.getValue();
@@ -177,18 +194,56 @@ private static void activateChunkTileEntities(final List<EntityPlayerMP> players
 
                 final int activationRange = ((ActivationCapability) tileEntity).activation$getActivationRange();
                 final int bbActivationRange = activationRange * activationRange;
+                int closestDistance = Integer.MAX_VALUE;
                 for (EntityPlayerMP player : players) {
                     final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
                     final int blockDistance = tilePos.distanceSquared(playerPos);
-                    if (blockDistance <= bbActivationRange) {
-                        ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
-                        break;
+                    if (blockDistance <= bbActivationRange && blockDistance < closestDistance) {
+                        closestDistance = blockDistance;
+                        if (tierDistances.length == 0 || blockDistance < tierDistances[0]) {
+                            break; // can't get any faster than the first band
+                        }
                     }
                 }
+                if (closestDistance != Integer.MAX_VALUE) {
+                    ((ActivationCapability) tileEntity).activation$setActivatedTick(currentTick);
+                    ((TileEntityActivationCapability) tileEntity).activation$setTickRateMultiplier(getTickRateMultiplier(tierDistances, closestDistance));
+                }
             }
         }
     }
 
+    /**
+     * Gets the tick rate multiplier of a tileentity from the distance to the
+     * closest player. Each band further away halves the tick rate.
+     *
+     * @param tierDistances The squared distances of the tick rate tiers
+     * @param closestDistance The squared distance to the closest player
+     * @return The tick rate multiplier
+     */
+    @VisibleForTesting
+    static int getTickRateMultiplier(final int[] tierDistances, final int closestDistance) {
+        int tier = 0;
+        while (tier < tierDistances.length && closestDistance >= tierDistances[tier]) {
+            tier++;
+        }
+        return 1 << Math.min(tier, 30);
+    }
+
+    /**
+     * Defers a tileentity over the tick budget, unless it was deferred the
+     * last time, in which case it goes ahead this time to not be starved.
+     *
+     * @param tileEntity The tileentity over the tick budget
+     * @return Whether the tileentity is deferred
+     */
+    @VisibleForTesting
+    static boolean defer(final TileEntityActivationCapability tileEntity) {
+        final boolean deferred = !tileEntity.activation$isDeferred();
+        tileEntity.activation$setDeferred(deferred);
+        return deferred;
+    }
+
     /**
      * Checks if the tileentity is active for this tick.
      *
@@ -213,7 +268,8 @@ public static boolean checkIfActive(final TileEntity tileEntity) {
 
         final long currentTick = SpongeImpl.getServer().getTickCounter();
         final ActivationCapability spongeTileEntity = (ActivationCapability) tileEntity;
-        boolean isActive = activeChunk.bridge$isPersistedChunk() || spongeTileEntity.activation$getActivatedTick() >= currentTick || spongeTileEntity.activation$getDefaultActivationState();
+        final boolean activatedByPlayer = spongeTileEntity.activation$getActivatedTick() >= currentTick;
+        boolean isActive = activeChunk.bridge$isPersistedChunk() || activatedByPlayer || spongeTileEntity.activation$getDefaultActivationState();
 
         // Should this tileentity tick?
         if (!isActive) {
@@ -223,8 +279,21 @@ public static boolean checkIfActive(final TileEntity tileEntity) {
             }
         }
 
-        // check tick rate
-        if (isActive && world.getWorldInfo().getWorldTotalTime() % spongeTileEntity.activation$getSpongeTickRate() != 0L) {
+        // check tick rate, slowed down by the tier of the closest player
+        final TileEntityActivationCapability tieredTileEntity = (TileEntityActivationCapability) tileEntity;
+        final boolean defaultActive = spongeTileEntity.activation$getDefaultActivationState();
+        final int tickRateMultiplier = activatedByPlayer && !defaultActive ? tieredTileEntity.activation$getTickRateMultiplier() : 1;
+        if (isActive && world.getWorldInfo().getWorldTotalTime() % ((long) spongeTileEntity.activation$getSpongeTickRate() * tickRateMultiplier) != 0L) {
+            isActive = false;
+        }
+
+        // check the tick budget, only lower priority tileentities are deferred
+        if (isActive && budgetWorld == world && !defaultActive && (tickRateMultiplier > 1 || !activatedByPlayer)
+            && System.nanoTime() > budgetDeadline && defer(tieredTileEntity)) {
+            final TileEntityType type = ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getType();
+            if (type != null) {
+                ((SpongeTileEntityType) type).activationTicksDeferred++;
+            }
             isActive = false;
         }
 
@@ -29,6 +29,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
 
@@ -45,12 +46,19 @@ public class SpongeImplHooksMixin_TileEntityActivation {
     public static boolean shouldTickTile(final ITickable tickable) {
         final TileEntity tileEntity = (TileEntity) tickable;
         final boolean canUpdate = TileEntityActivation.checkIfActive(tileEntity);
+        final SpongeTileEntityType type = (SpongeTileEntityType) ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getType();
 
         if (!canUpdate) {
+            if (type != null) {
+                type.activationTicksSkipped++;
+            }
             ((ActivationCapability) tileEntity).activation$incrementSpongeTicksExisted();
             ((ActivationCapability) tileEntity).activation$inactiveTick();
             return false;
         }
+        if (type != null) {
+            type.activationTicksExecuted++;
+        }
         return true;
     }
 
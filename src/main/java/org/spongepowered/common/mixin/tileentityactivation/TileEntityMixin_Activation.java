@@ -27,9 +27,10 @@
 import net.minecraft.tileentity.TileEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationCapability;
 
 @Mixin(TileEntity.class)
-public class TileEntityMixin_Activation implements ActivationCapability {
+public class TileEntityMixin_Activation implements ActivationCapability, TileEntityActivationCapability {
 
     private boolean tileActivationImpl$refreshCache = false;
     private boolean tileActivationImpl$defaultActivationState = true;
@@ -37,6 +38,8 @@ public class TileEntityMixin_Activation implements ActivationCapability {
     private int tileActivationImpl$activationRange;
     private int tileActivationImpl$ticksExisted;
     private int tileActivationImpl$tickRate = 1;
+    private int tileActivationImpl$tickRateMultiplier = 1;
+    private boolean tileActivationImpl$deferred = false;
 
     @Override
     public final void activation$incrementSpongeTicksExisted() {
@@ -106,4 +109,24 @@ public class TileEntityMixin_Activation implements ActivationCapability {
     public boolean activation$requiresActivationCacheRefresh() {
         return this.tileActivationImpl$refreshCache;
     }
+
+    @Override
+    public int activation$getTickRateMultiplier() {
+        return this.tileActivationImpl$tickRateMultiplier;
+    }
+
+    @Override
+    public void activation$setTickRateMultiplier(int multiplier) {
+        this.tileActivationImpl$tickRateMultiplier = multiplier;
+    }
+
+    @Override
+    public boolean activation$isDeferred() {
+        return this.tileActivationImpl$deferred;
+    }
+
+    @Override
+    public void activation$setDeferred(boolean deferred) {
+        this.tileActivationImpl$deferred = deferred;
+    }
 }
@@ -53,6 +53,7 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerTable;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
 import org.spongepowered.common.profile.SpongeProfileManager;
@@ -60,7 +61,6 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -78,8 +78,7 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
 
 
     @Nullable private UserStorageService trackerImpl$userStorageService;
-    private Map<Integer, PlayerTracker> trackerImpl$trackedIntBlockPositions = new HashMap<>();
-    private Map<Short, PlayerTracker> trackerImpl$trackedShortBlockPositions = new HashMap<>();
+    private PlayerTrackerTable trackerImpl$trackedBlockPositions = new PlayerTrackerTable();
 
     @Inject(method = "<init>(Lnet/minecraft/world/World;II)V", at = @At("RETURN"))
     private void tracker$setUpUserService(@Nullable final World worldIn, final int x, final int z, final CallbackInfo ci) {
@@ -137,41 +136,32 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         final int indexForUniqueId = worldInfo.bridge$getIndexForUniqueId(user.getUniqueId());
         if (pos.getY() <= 255) {
             final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                if (this.trackerImpl$trackedBlockPositions.contains(blockPos)) {
+                    this.trackerImpl$trackedBlockPositions.put(blockPos, indexForUniqueId, indexForUniqueId);
                 } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
+                    this.trackerImpl$trackedBlockPositions.setOwner(blockPos, indexForUniqueId);
                 }
             } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackerImpl$trackedBlockPositions.setNotifier(blockPos, indexForUniqueId);
             }
         } else {
             final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker playerTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (playerTracker != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    playerTracker.ownerIndex = indexForUniqueId;
-                    playerTracker.notifierIndex = indexForUniqueId;
+            if (trackerType == PlayerTracker.Type.OWNER) {
+                if (this.trackerImpl$trackedBlockPositions.contains(blockPos)) {
+                    this.trackerImpl$trackedBlockPositions.put(blockPos, indexForUniqueId, indexForUniqueId);
                 } else {
-                    playerTracker.notifierIndex = indexForUniqueId;
+                    this.trackerImpl$trackedBlockPositions.setOwner(blockPos, indexForUniqueId);
                 }
             } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(indexForUniqueId, trackerType));
+                this.trackerImpl$trackedBlockPositions.setNotifier(blockPos, indexForUniqueId);
             }
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> bridge$getTrackedIntPlayerPositions() {
-        return this.trackerImpl$trackedIntBlockPositions;
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> bridge$getTrackedShortPlayerPositions() {
-        return this.trackerImpl$trackedShortBlockPositions;
+    public PlayerTrackerTable bridge$getTrackedPlayerPositions() {
+        return this.trackerImpl$trackedBlockPositions;
     }
 
     @Override
@@ -180,17 +170,10 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            final int notifierIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUser(intKey, notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int notifierIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUser(shortKey, notifierIndex);
-            }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedBlockPositions.contains(intKey, shortKey)) {
+            final long tracker = this.trackerImpl$trackedBlockPositions.get(intKey, shortKey);
+            return this.tracker$getValidatedUser(intKey, shortKey, PlayerTrackerTable.getOwnerIndex(tracker));
         }
 
         return Optional.empty();
@@ -201,18 +184,11 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            final int ownerIndex = intTracker.ownerIndex;
-            return this.tracker$getValidatedUUID(key, ownerIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                final int ownerIndex = shortTracker.ownerIndex;
-                return this.tracker$getValidatedUUID(shortKey, ownerIndex);
-            }
+        final int intKey = Constants.Sponge.blockPosToInt(pos);
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedBlockPositions.contains(intKey, shortKey)) {
+            final long tracker = this.trackerImpl$trackedBlockPositions.get(intKey, shortKey);
+            return this.tracker$getValidatedUUID(intKey, shortKey, PlayerTrackerTable.getOwnerIndex(tracker));
         }
 
         return Optional.empty();
@@ -224,15 +200,10 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
             return Optional.empty();
         }
         final int intKey = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(intKey);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUser(intKey, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUser(shortKey, shortTracker.notifierIndex);
-            }
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedBlockPositions.contains(intKey, shortKey)) {
+            final long tracker = this.trackerImpl$trackedBlockPositions.get(intKey, shortKey);
+            return this.tracker$getValidatedUser(intKey, shortKey, PlayerTrackerTable.getNotifierIndex(tracker));
         }
 
         return Optional.empty();
@@ -243,23 +214,18 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return Optional.empty();
         }
-        final int key = Constants.Sponge.blockPosToInt(pos);
-        final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(key);
-        if (intTracker != null) {
-            return this.tracker$getValidatedUUID(key, intTracker.notifierIndex);
-        } else {
-            final short shortKey = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(shortKey);
-            if (shortTracker != null) {
-                return this.tracker$getValidatedUUID(shortKey, shortTracker.notifierIndex);
-            }
+        final int intKey = Constants.Sponge.blockPosToInt(pos);
+        final short shortKey = Constants.Sponge.blockPosToShort(pos);
+        if (this.trackerImpl$trackedBlockPositions.contains(intKey, shortKey)) {
+            final long tracker = this.trackerImpl$trackedBlockPositions.get(intKey, shortKey);
+            return this.tracker$getValidatedUUID(intKey, shortKey, PlayerTrackerTable.getNotifierIndex(tracker));
         }
 
         return Optional.empty();
     }
 
-    private Optional<User> tracker$getValidatedUser(final int key, final int ownerIndex) {
-        final Optional<UUID> uuid = this.tracker$getValidatedUUID(key, ownerIndex);
+    private Optional<User> tracker$getValidatedUser(final int intKey, final short shortKey, final int ownerIndex) {
+        final Optional<UUID> uuid = this.tracker$getValidatedUUID(intKey, shortKey, ownerIndex);
         if (uuid.isPresent()) {
             final UUID userUniqueId = uuid.get();
             // get player if online
@@ -273,12 +239,12 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         return Optional.empty();
     }
 
-    private Optional<UUID> tracker$getValidatedUUID(final int key, final int ownerIndex) {
+    private Optional<UUID> tracker$getValidatedUUID(final int intKey, final short shortKey, final int ownerIndex) {
         final UUID uuid = (((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUniqueIdForIndex(ownerIndex)).orElse(null);
         if (uuid != null) {
             // Verify id is valid and not invalid
             if (SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getInvalidLookupUuids().contains(uuid)) {
-                this.trackerImpl$trackedIntBlockPositions.remove(key);
+                this.trackerImpl$trackedBlockPositions.remove(intKey, shortKey);
                 return Optional.empty();
             }
             // player is not online, get or create user from storage
@@ -311,26 +277,11 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackerImpl$trackedBlockPositions.setNotifier(Constants.Sponge.blockPosToShort(pos), index);
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.notifierIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
+            this.trackerImpl$trackedBlockPositions.setNotifier(Constants.Sponge.blockPosToInt(pos), index);
         }
     }
 
@@ -340,35 +291,17 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         if (((WorldBridge) this.world).bridge$isFake()) {
             return;
         }
+        final int index = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
         if (pos.getY() <= 255) {
-            final short blockPos = Constants.Sponge.blockPosToShort(pos);
-            final PlayerTracker shortTracker = this.trackerImpl$trackedShortBlockPositions.get(blockPos);
-            if (shortTracker != null) {
-                shortTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackerImpl$trackedBlockPositions.setOwner(Constants.Sponge.blockPosToShort(pos), index);
         } else {
-            final int blockPos = Constants.Sponge.blockPosToInt(pos);
-            final PlayerTracker intTracker = this.trackerImpl$trackedIntBlockPositions.get(blockPos);
-            if (intTracker != null) {
-                intTracker.ownerIndex = uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getIndexForUniqueId(uuid);
-            } else {
-                this.trackerImpl$trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((WorldInfoBridge) this.world.getWorldInfo())
-                        .bridge$getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
+            this.trackerImpl$trackedBlockPositions.setOwner(Constants.Sponge.blockPosToInt(pos), index);
         }
     }
 
     @Override
-    public void bridge$setTrackedIntPlayerPositions(final Map<Integer, PlayerTracker> trackedPositions) {
-        this.trackerImpl$trackedIntBlockPositions = trackedPositions;
-    }
-
-    @Override
-    public void bridge$setTrackedShortPlayerPositions(final Map<Short, PlayerTracker> trackedPositions) {
-        this.trackerImpl$trackedShortBlockPositions = trackedPositions;
+    public void bridge$setTrackedPlayerPositions(final PlayerTrackerTable trackedPositions) {
+        this.trackerImpl$trackedBlockPositions = trackedPositions;
     }
 
     @Inject(method = "onLoad", at = @At("HEAD"))
@@ -0,0 +1,175 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.config.type.GlobalConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the chunk data packets last built for a chunk, so that every player
+ * that is sent the same chunk shares one encoded payload instead of the chunk
+ * being serialized again per player.
+ *
+ * <p>Packets are kept per section mask and tagged with the chunk's content
+ * version, which moves after every block, light, biome or tile entity change.
+ * A packet is only reused while the version it was built at is current, and
+ * for at most {@link #MAX_AGE_TICKS} ticks, which bounds how long tile entity
+ * data changed without marking its chunk dirty can be sent stale. At most
+ * {@link #MAX_CACHED_PACKETS} packets are kept across all chunks, oldest
+ * first out, as the cache only pays off for chunks sent to many players in a
+ * short time.</p>
+ */
+public final class ChunkPacketCache {
+
+    private static final int MAX_AGE_TICKS = 100;
+    private static final int MAX_CACHED_PACKETS = 1024;
+    // Full chunks, plus the 65534/1 pair used to resend biomes
+    private static final int SLOTS = 3;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    // Server thread only, in the order the packets were built
+    private static final Deque<CachedPacket> cachedPackets = new ArrayDeque<>();
+
+    private static final class CachedPacket {
+
+        final ChunkPacketCache cache;
+        final int slot;
+        final SPacketChunkData packet;
+        final int builtAt;
+
+        CachedPacket(final ChunkPacketCache cache, final int slot, final SPacketChunkData packet, final int builtAt) {
+            this.cache = cache;
+            this.slot = slot;
+            this.packet = packet;
+            this.builtAt = builtAt;
+        }
+    }
+
+    /**
+     * Gets a chunk data packet for the given chunk, reusing the cached one if
+     * the chunk has not changed since it was built.
+     *
+     * @param chunk The chunk
+     * @param sectionMask The sections to send, 65535 for a full chunk
+     * @return The packet
+     */
+    public static SPacketChunkData getPacket(final Chunk chunk, final int sectionMask) {
+        final GlobalConfig config = SpongeImpl.getGlobalConfigAdapter().getConfig();
+        if (!config.getModules().useOptimizations() || !config.getOptimizations().useChunkPacketCache()) {
+            return new SPacketChunkData(chunk, sectionMask);
+        }
+        return ((ChunkBridge) chunk).bridge$getPacketCache().get(sectionMask, SpongeImpl.getServer().getTickCounter(),
+                () -> new SPacketChunkData(chunk, sectionMask));
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static int getCachedPackets() {
+        return cachedPackets.size();
+    }
+
+    private static void evict(final int tick) {
+        CachedPacket oldest;
+        while ((oldest = cachedPackets.peekFirst()) != null
+               && (cachedPackets.size() > MAX_CACHED_PACKETS || tick - oldest.builtAt > MAX_AGE_TICKS)) {
+            cachedPackets.pollFirst();
+            // The slot may have been rebuilt since, in which case the newer entry owns it
+            if (oldest.cache.packets[oldest.slot] == oldest.packet) {
+                oldest.cache.packets[oldest.slot] = null;
+            }
+        }
+    }
+
+    private final AtomicInteger version = new AtomicInteger();
+    private final int[] masks = new int[SLOTS];
+    private final int[] versions = new int[SLOTS];
+    private final int[] builtAt = new int[SLOTS];
+    private final SPacketChunkData[] packets = new SPacketChunkData[SLOTS];
+    private int nextSlot;
+
+    /**
+     * Marks every cached packet as outdated. Must be called after the chunk
+     * has changed, as a packet built between the change and this call is
+     * still dropped; may be called from any thread.
+     */
+    public void invalidate() {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of times the chunk has changed, which differs whenever
+     * any block, light value, biome or tile entity of the chunk has changed.
+     *
+     * @return The version of the chunk
+     */
+    public int getVersion() {
+        return this.version.get();
+    }
+
+    SPacketChunkData get(final int sectionMask, final int tick, final Supplier<SPacketChunkData> builder) {
+        // Read the version before building, so changes made while building outdate the new packet
+        final int version = this.version.get();
+        int slot = -1;
+        for (int i = 0; i < SLOTS; i++) {
+            if (this.packets[i] != null && this.masks[i] == sectionMask) {
+                if (this.versions[i] == version && tick - this.builtAt[i] <= MAX_AGE_TICKS) {
+                    hits.increment();
+                    return this.packets[i];
+                }
+                slot = i;
+                break;
+            }
+        }
+        misses.increment();
+        if (slot == -1) {
+            slot = this.nextSlot;
+            this.nextSlot = (this.nextSlot + 1) % SLOTS;
+        }
+        final SPacketChunkData packet = builder.get();
+        this.masks[slot] = sectionMask;
+        this.versions[slot] = version;
+        this.builtAt[slot] = tick;
+        this.packets[slot] = packet;
+        cachedPackets.addLast(new CachedPacket(this, slot, packet, tick));
+        evict(tick);
+        return packet;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapAccessor;
+import org.spongepowered.common.mixin.core.server.management.PlayerChunkMapEntryAccessor;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends packets to the players of a world near a position, the replacement
+ * of {@link net.minecraft.server.management.PlayerList#sendToAllNearExcept}
+ * for effects that are broadcast often, like particles and sounds.
+ *
+ * <p>The vanilla method checks every player on the server once per packet.
+ * Here the recipients are resolved once for all packets. When the radius is
+ * within the view distance, every player in range is watching the chunk the
+ * position is in, so only the viewers of that chunk are checked instead of
+ * all players of the world.</p>
+ */
+public final class NearbyPlayerBroadcast {
+
+    private NearbyPlayerBroadcast() {}
+
+    public static void sendToAllNearExcept(final WorldServer world, @Nullable final EntityPlayer except, final double x, final double y,
+            final double z, final double radius, final Packet<?> packet) {
+        sendToAllNearExcept(world, except, x, y, z, radius, Collections.singletonList(packet));
+    }
+
+    public static void sendToAllNearExcept(final WorldServer world, @Nullable final EntityPlayer except, final double x, final double y,
+            final double z, final double radius, final List<? extends Packet<?>> packets) {
+        if (packets.isEmpty()) {
+            return;
+        }
+        final List<? extends EntityPlayer> candidates = getCandidates(world, x, z, radius);
+        final double radiusSquared = radius * radius;
+        for (final EntityPlayer player : candidates) {
+            if (player == except || !(player instanceof EntityPlayerMP)) {
+                continue;
+            }
+            final double dx = x - player.posX;
+            final double dy = y - player.posY;
+            final double dz = z - player.posZ;
+            if (dx * dx + dy * dy + dz * dz < radiusSquared) {
+                final EntityPlayerMP playerMP = (EntityPlayerMP) player;
+                for (final Packet<?> packet : packets) {
+                    playerMP.connection.sendPacket(packet);
+                }
+            }
+        }
+    }
+
+    private static List<? extends EntityPlayer> getCandidates(final WorldServer world, final double x, final double z, final double radius) {
+        final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        // Spectators aren't tracked by the chunk map if they can't generate chunks
+        if (radius <= PlayerChunkMap.getFurthestViewableBlock(((PlayerChunkMapAccessor) playerChunkMap).accessor$getPlayerViewRadius())
+            && world.getGameRules().getBoolean("spectatorsGenerateChunks")) {
+            final PlayerChunkMapEntry entry = playerChunkMap.getEntry((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+            return entry == null ? Collections.emptyList() : ((PlayerChunkMapEntryAccessor) entry).accessor$getPlayers();
+        }
+        return world.playerEntities;
+    }
+}
@@ -24,149 +24,82 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
-    // Locking mechanism
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = this.lock.newCondition();
-    private final AtomicBoolean stateChanged = new AtomicBoolean(false);
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Thread thread;
+    // The bounded thread pool executing asynchronous tasks.
+    private final ThreadPoolExecutor executor;
+    // The dynamic thread pool executing Sponge's own asynchronous work, such as profile lookups.
+    // Tasks may block on this work, so it must never queue up behind them in the bounded pool.
+    private final ExecutorService internalExecutor = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("Sponge Async Worker #%d").build());
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
 
-        Thread thread = new Thread(AsyncScheduler.this::mainLoop);
-        thread.setName("Sponge Async Scheduler Thread");
-        thread.setDaemon(true);
-        thread.start();
+        final SchedulerCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getScheduler();
+        final int threads = Math.max(1, category.getAsyncMaxThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, Math.max(1, category.getAsyncThreadKeepAlive()), TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setNameFormat("Sponge Async Scheduler Worker #%d").build());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.thread = new Thread(AsyncScheduler.this::mainLoop);
+        this.thread.setName("Sponge Async Scheduler Thread");
+        this.thread.setDaemon(true);
+        this.thread.start();
     }
 
-    ExecutorService getExecutor() {
-        return this.executor;
+    ExecutorService getInternalExecutor() {
+        return this.internalExecutor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
             this.runTick();
-        }
-    }
-
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-                    // bail out for this task. We'll signal when we complete the task.
-                    continue;
-                }
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
+            // Sleep until the next task may be due, any update handed over by
+            // another thread unparks us early.
+            final long next = this.nextExpiration();
+            if (this.hasPendingUpdates()) {
+                continue;
             }
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
-    @Override
-    protected void preTick() {
-        this.lock.lock();
-        try {
-            // If we have something that has indicated it needs to change,
-            // don't await, just continue.
-            if (!this.stateChanged.get()) {
-                this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            if (next == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else {
+                final long timeout = next - System.nanoTime();
+                if (timeout > 0) {
+                    LockSupport.parkNanos(this, timeout);
+                }
             }
-            // We're processing now. Set to false.
-            this.stateChanged.set(false);
-        } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
-            // Continue on without handling the Exception.
-        } catch (IllegalMonitorStateException e) {
-            SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
-    @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
-    }
-
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
+        this.executor.execute(runnable);
     }
 
     @Override
-    protected void addTask(ScheduledTask task) {
-        this.lock.lock();
-        try {
-            super.addTask(task);
-            this.stateChanged.set(true);
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
-        }
+    protected void updateTask(ScheduledTask task) {
+        super.updateTask(task);
+        LockSupport.unpark(this.thread);
     }
 
     @Override
     protected void onTaskCompletion(ScheduledTask task) {
-        if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            this.lock.lock();
-            try {
-                this.stateChanged.set(true);
-                this.condition.signalAll();
-            } finally {
-                this.lock.unlock();
-            }
+        if (task.period > 0L && task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
+            // Hand repeating tasks back, they may have overrun their period
+            this.updateTask(task);
         }
     }
 
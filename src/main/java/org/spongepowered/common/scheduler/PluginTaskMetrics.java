@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue metrics of the tasks a single plugin has submitted to a scheduler.
+ */
+public final class PluginTaskMetrics {
+
+    private final String pluginId;
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger executing = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private volatile long maxWaitNanos;
+
+    PluginTaskMetrics(String pluginId) {
+        this.pluginId = pluginId;
+    }
+
+    void onScheduled() {
+        this.scheduled.incrementAndGet();
+    }
+
+    void onUnscheduled() {
+        this.scheduled.decrementAndGet();
+    }
+
+    void onQueued() {
+        this.queued.incrementAndGet();
+    }
+
+    void onStarted(long waitNanos) {
+        this.queued.decrementAndGet();
+        this.executing.incrementAndGet();
+        this.totalWaitNanos.add(waitNanos);
+        if (waitNanos > this.maxWaitNanos) {
+            this.maxWaitNanos = waitNanos;
+        }
+    }
+
+    void onFinished() {
+        this.executing.decrementAndGet();
+        this.completed.increment();
+    }
+
+    public String getPluginId() {
+        return this.pluginId;
+    }
+
+    /**
+     * Gets the amount of tasks waiting for their delay or interval to pass.
+     *
+     * @return The amount of scheduled tasks
+     */
+    public int getScheduledTasks() {
+        return this.scheduled.get();
+    }
+
+    /**
+     * Gets the amount of task executions that are due, but waiting for a
+     * worker to pick them up.
+     *
+     * @return The amount of queued executions
+     */
+    public int getQueuedTasks() {
+        return this.queued.get();
+    }
+
+    public int getExecutingTasks() {
+        return this.executing.get();
+    }
+
+    public long getCompletedTasks() {
+        return this.completed.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        final long completed = this.completed.sum() + this.executing.get();
+        return completed == 0 ? 0 : this.totalWaitNanos.sum() / (double) completed / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxWaitMillis() {
+        return this.maxWaitNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -36,6 +36,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -58,6 +60,14 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // The scheduler the task was submitted to, notified on cancellation
+    @Nullable private volatile SchedulerBase scheduler;
+
+    // Timing wheel bookkeeping, only touched by the thread ticking the scheduler
+    @Nullable TaskTimingWheel.Bucket wheelBucket;
+    @Nullable ScheduledTask wheelPrev;
+    @Nullable ScheduledTask wheelNext;
+    long wheelDeadline;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -141,6 +151,10 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        final SchedulerBase scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.updateTask(this);
+        }
         return success;
     }
 
@@ -182,6 +196,10 @@ long nextExecutionTimestamp() {
         return this.timestamp + this.offset;
     }
 
+    void setScheduler(SchedulerBase scheduler) {
+        this.scheduler = scheduler;
+    }
+
     void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
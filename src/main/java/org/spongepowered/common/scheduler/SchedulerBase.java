@@ -35,17 +35,33 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // The resolution of the timing wheel of tasks measured in real time
+    private static final long TIME_WHEEL_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // All pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks that were added, cancelled or completed since the last tick. The
+    // timing wheels are only ever touched by the thread ticking the scheduler,
+    // other threads hand their changes over through this queue.
+    private final Queue<ScheduledTask> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private final TaskTimingWheel timeWheel = new TaskTimingWheel(TIME_WHEEL_RESOLUTION, System.nanoTime());
+    private final Map<String, PluginTaskMetrics> metrics = new ConcurrentHashMap<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -80,7 +96,11 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
-        this.taskMap.put(task.getUniqueId(), task);
+        task.setScheduler(this);
+        if (this.taskMap.put(task.getUniqueId(), task) == null) {
+            this.getMetrics(task.getOwner()).onScheduled();
+        }
+        this.updateTask(task);
     }
 
     /**
@@ -89,7 +109,78 @@ protected void addTask(ScheduledTask task) {
      * @param task The task to remove
      */
     protected void removeTask(ScheduledTask task) {
-        this.taskMap.remove(task.getUniqueId());
+        TaskTimingWheel.remove(task);
+        if (this.taskMap.remove(task.getUniqueId()) != null) {
+            this.getMetrics(task.getOwner()).onUnscheduled();
+        }
+    }
+
+    /**
+     * Hands a task whose state changed outside of {@link #runTick} over to the
+     * ticking thread, which will (re)schedule or remove it on its next tick.
+     *
+     * @param task The task
+     */
+    protected void updateTask(ScheduledTask task) {
+        this.pendingUpdates.add(task);
+    }
+
+    /**
+     * Gets the timing wheel the task should currently be scheduled in.
+     *
+     * @param task The task
+     * @return The timing wheel
+     */
+    protected TaskTimingWheel getWheel(ScheduledTask task) {
+        return this.timeWheel;
+    }
+
+    /**
+     * Advances the timing wheels of this scheduler, handing every due task
+     * to the consumer.
+     *
+     * @param consumer The consumer of due tasks
+     */
+    protected void expireTasks(Consumer<ScheduledTask> consumer) {
+        this.timeWheel.advance(System.nanoTime(), consumer);
+    }
+
+    /**
+     * Gets the earliest {@link System#nanoTime()} at which a task may become
+     * due, used by schedulers that sleep between ticks.
+     *
+     * @return The timestamp, or {@link Long#MAX_VALUE} if nothing is scheduled
+     */
+    protected long nextExpiration() {
+        return this.timeWheel.nextExpiration();
+    }
+
+    protected boolean hasPendingUpdates() {
+        return !this.pendingUpdates.isEmpty();
+    }
+
+    private void scheduleTask(ScheduledTask task) {
+        TaskTimingWheel.remove(task);
+        this.getWheel(task).schedule(task, task.nextExecutionTimestamp());
+    }
+
+    private void drainPendingUpdates() {
+        ScheduledTask task;
+        while ((task = this.pendingUpdates.poll()) != null) {
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+            } else if (this.taskMap.containsKey(task.getUniqueId())) {
+                this.scheduleTask(task);
+            }
+        }
+    }
+
+    protected PluginTaskMetrics getMetrics(PluginContainer plugin) {
+        return this.metrics.computeIfAbsent(plugin.getId(), PluginTaskMetrics::new);
+    }
+
+    protected Collection<PluginTaskMetrics> getMetrics() {
+        return Collections.unmodifiableCollection(this.metrics.values());
     }
 
     protected Optional<Task> getTask(UUID id) {
@@ -103,13 +194,14 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.drainPendingUpdates();
+            this.expireTasks(this::processTask);
             this.postTick();
         } finally {
             this.finallyPostTick();
@@ -137,7 +229,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task handed out by the timing wheels.
      *
      * @param task The task to process
      */
@@ -148,34 +240,33 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        // If the task is already being processed, we wait for the previous
-        // occurrence to terminate.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
+        // If the previous occurrence is still being processed, we wait for it
+        // to terminate, it is handed back to us through onTaskCompletion.
+        long threshold;
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
             threshold = task.offset;
         } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
             threshold = task.period;
+        } else {
+            return;
         }
         // This moment is 'now'
         long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
-        // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        // The wheels never hand out tasks early, but the timestamp of a task
+        // may have been reset since it was scheduled.
+        if (threshold > (now - task.getTimestamp())) {
+            this.scheduleTask(task);
+            return;
+        }
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map, otherwise
+        // schedule the next execution.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        } else {
+            this.scheduleTask(task);
         }
     }
 
@@ -185,7 +276,11 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
+        final PluginTaskMetrics metrics = this.getMetrics(task.getOwner());
+        final long queuedAt = System.nanoTime();
+        metrics.onQueued();
         this.executeTaskRunnable(task, () -> {
+            metrics.onStarted(System.nanoTime() - queuedAt);
             task.setState(ScheduledTask.ScheduledTaskState.EXECUTING);
             try (final PhaseContext<?> context = createContext(task, task.getOwner());
                  final Timing timings = task.getTimingsHandler()) {
@@ -200,6 +295,7 @@ protected void startTask(final ScheduledTask task) {
                         task.getOwner(), t);
                 }
             } finally {
+                metrics.onFinished();
                 task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
                 onTaskCompletion(task);
             }
@@ -42,6 +42,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.entity.player.InventoryPlayerBridge;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
@@ -198,8 +199,26 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets the per plugin queue metrics of synchronous tasks.
+     *
+     * @return The metrics
+     */
+    public Collection<PluginTaskMetrics> getSyncMetrics() {
+        return this.syncScheduler.getMetrics();
+    }
+
+    /**
+     * Gets the per plugin queue metrics of asynchronous tasks.
+     *
+     * @return The metrics
+     */
+    public Collection<PluginTaskMetrics> getAsyncMetrics() {
+        return this.asyncScheduler.getMetrics();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
-        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
+        return Functional.asyncFailableFuture(callable, this.asyncScheduler.getInternalExecutor());
     }
 
     public Future<?> callSync(Runnable runnable) {
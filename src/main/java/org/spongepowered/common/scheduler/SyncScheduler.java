@@ -28,12 +28,16 @@
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.function.Consumer;
+
 import javax.annotation.Nullable;
 
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // The timing wheel of tasks measured in ticks
+    private final TaskTimingWheel tickWheel = new TaskTimingWheel(1L, 0L);
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -65,6 +69,18 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected TaskTimingWheel getWheel(ScheduledTask task) {
+        final boolean ticks = task.getState() == ScheduledTask.ScheduledTaskState.WAITING ? task.delayIsTicks : task.intervalIsTicks;
+        return ticks ? this.tickWheel : super.getWheel(task);
+    }
+
+    @Override
+    protected void expireTasks(Consumer<ScheduledTask> consumer) {
+        this.tickWheel.advance(this.counter, consumer);
+        super.expireTasks(consumer);
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         try (BasicPluginContext context = createContext(task)) {
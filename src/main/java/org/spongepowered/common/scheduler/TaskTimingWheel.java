@@ -0,0 +1,267 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A hierarchical timing wheel holding the pending {@link ScheduledTask}s of a
+ * scheduler.
+ *
+ * <p>Tasks are bucketed by deadline over {@link #LEVELS} levels of
+ * {@link #SLOTS} slots, each level spanning {@link #SLOTS} times the range of
+ * the level below it. Tasks are cascaded down a level as their deadline comes
+ * closer, and advancing the wheel only visits occupied slots, so the cost of a
+ * tick is proportional to the amount of tasks that are due rather than to the
+ * amount of tasks that are pending.</p>
+ *
+ * <p>Timestamps are expressed in the unit of the clock driving the wheel and
+ * are grouped into slots of {@code resolution} units. A task is never handed
+ * out before its deadline, but may be handed out up to one resolution late.</p>
+ *
+ * <p>The wheel is not thread safe, it must only be used by the thread ticking
+ * the owning scheduler.</p>
+ */
+final class TaskTimingWheel {
+
+    private static final int SHIFT = 6;
+    static final int SLOTS = 1 << SHIFT;
+    static final int LEVELS = 6;
+    private static final long MASK = SLOTS - 1;
+    private static final long MAX_SPAN = (1L << (SHIFT * LEVELS)) - 1;
+
+    private final long resolution;
+    private final Bucket[][] buckets = new Bucket[LEVELS][SLOTS];
+    // One bit per slot, set when the slot holds at least one task
+    private final long[] occupied = new long[LEVELS];
+    private final List<ScheduledTask> expired = new ArrayList<>();
+    // The first slot of the lowest level that has not been processed yet
+    private long current;
+    private int size;
+
+    TaskTimingWheel(long resolution, long now) {
+        this.resolution = resolution;
+        this.current = Math.floorDiv(now, resolution);
+        for (int level = 0; level < LEVELS; level++) {
+            for (int index = 0; index < SLOTS; index++) {
+                this.buckets[level][index] = new Bucket(level, index);
+            }
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules the task to be handed out once the clock reaches the given
+     * deadline, moving it if it was already scheduled.
+     *
+     * @param task The task
+     * @param deadline The deadline, in clock units
+     */
+    void schedule(ScheduledTask task, long deadline) {
+        remove(task);
+        // Round up, so that tasks are never handed out early
+        task.wheelDeadline = Math.floorDiv(deadline, this.resolution) + (Math.floorMod(deadline, this.resolution) == 0 ? 0 : 1);
+        this.link(task);
+    }
+
+    /**
+     * Removes the task from whichever wheel it is scheduled in.
+     *
+     * @param task The task
+     * @return True if the task was scheduled
+     */
+    static boolean remove(ScheduledTask task) {
+        final Bucket bucket = task.wheelBucket;
+        if (bucket == null) {
+            return false;
+        }
+        bucket.unlink(task);
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given time and hands out every task whose
+     * deadline has passed. Tasks are only handed out once the wheel is done
+     * advancing, so they may be rescheduled from within the consumer.
+     *
+     * @param now The current time, in clock units
+     * @param consumer The consumer of expired tasks
+     */
+    void advance(long now, Consumer<ScheduledTask> consumer) {
+        final long target = Math.floorDiv(now, this.resolution);
+        while (this.current <= target) {
+            if (this.size == 0) {
+                this.current = target + 1;
+                break;
+            }
+            final long pending = this.occupied[0] >>> (int) (this.current & MASK);
+            if (pending == 0) {
+                // Nothing left in this rotation of the lowest level, skip
+                // straight to the next rotation
+                final long boundary = (this.current | MASK) + 1;
+                this.moveTo(Math.min(boundary, target + 1));
+                continue;
+            }
+            final long next = this.current + Long.numberOfTrailingZeros(pending);
+            if (next > target) {
+                this.moveTo(target + 1);
+                break;
+            }
+            final Bucket bucket = this.buckets[0][(int) (next & MASK)];
+            for (ScheduledTask task = bucket.detach(); task != null; ) {
+                final ScheduledTask following = task.wheelNext;
+                task.wheelNext = null;
+                this.expired.add(task);
+                task = following;
+            }
+            this.moveTo(next + 1);
+        }
+        if (this.expired.isEmpty()) {
+            return;
+        }
+        try {
+            for (ScheduledTask task : this.expired) {
+                consumer.accept(task);
+            }
+        } finally {
+            this.expired.clear();
+        }
+    }
+
+    /**
+     * Gets the earliest time at which {@link #advance} may hand out a task.
+     * This is a lower bound, the wheel may have nothing to hand out yet.
+     *
+     * @return The time, in clock units, or {@link Long#MAX_VALUE} if empty
+     */
+    long nextExpiration() {
+        if (this.size == 0) {
+            return Long.MAX_VALUE;
+        }
+        final long pending = this.occupied[0] >>> (int) (this.current & MASK);
+        final long slot = pending == 0 ? (this.current | MASK) + 1 : this.current + Long.numberOfTrailingZeros(pending);
+        return slot * this.resolution;
+    }
+
+    private void moveTo(long slot) {
+        this.current = slot;
+        if ((slot & MASK) == 0) {
+            this.cascade();
+        }
+    }
+
+    private void cascade() {
+        // Cascade from the highest level whose rotation just completed down,
+        // higher levels may refill the slots of the lower ones
+        int level = 1;
+        while (level < LEVELS - 1 && (this.current & ((1L << (SHIFT * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            final Bucket bucket = this.buckets[level][(int) ((this.current >> (SHIFT * level)) & MASK)];
+            for (ScheduledTask task = bucket.detach(); task != null; ) {
+                final ScheduledTask following = task.wheelNext;
+                this.link(task);
+                task = following;
+            }
+        }
+    }
+
+    private void link(ScheduledTask task) {
+        final long delta = Math.min(Math.max(task.wheelDeadline - this.current, 0), MAX_SPAN);
+        final long slot = this.current + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SHIFT * (level + 1))) {
+            level++;
+        }
+        this.buckets[level][(int) ((slot >> (SHIFT * level)) & MASK)].link(task);
+    }
+
+    final class Bucket {
+
+        private final int level;
+        private final long bit;
+        @Nullable private ScheduledTask head;
+
+        Bucket(int level, int index) {
+            this.level = level;
+            this.bit = 1L << index;
+        }
+
+        void link(ScheduledTask task) {
+            task.wheelBucket = this;
+            task.wheelPrev = null;
+            task.wheelNext = this.head;
+            if (this.head != null) {
+                this.head.wheelPrev = task;
+            }
+            this.head = task;
+            TaskTimingWheel.this.occupied[this.level] |= this.bit;
+            TaskTimingWheel.this.size++;
+        }
+
+        void unlink(ScheduledTask task) {
+            if (task.wheelPrev != null) {
+                task.wheelPrev.wheelNext = task.wheelNext;
+            } else {
+                this.head = task.wheelNext;
+            }
+            if (task.wheelNext != null) {
+                task.wheelNext.wheelPrev = task.wheelPrev;
+            }
+            task.wheelBucket = null;
+            task.wheelPrev = null;
+            task.wheelNext = null;
+            if (this.head == null) {
+                TaskTimingWheel.this.occupied[this.level] &= ~this.bit;
+            }
+            TaskTimingWheel.this.size--;
+        }
+
+        /**
+         * Empties the bucket, returning its former head. The returned tasks
+         * are still chained through {@link ScheduledTask#wheelNext}.
+         */
+        @Nullable
+        ScheduledTask detach() {
+            final ScheduledTask first = this.head;
+            for (ScheduledTask task = first; task != null; task = task.wheelNext) {
+                task.wheelBucket = null;
+                task.wheelPrev = null;
+                TaskTimingWheel.this.size--;
+            }
+            this.head = null;
+            TaskTimingWheel.this.occupied[this.level] &= ~this.bit;
+            return first;
+        }
+    }
+}
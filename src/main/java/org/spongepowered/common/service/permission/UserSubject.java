@@ -127,8 +127,14 @@ public PermissionService getService() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected boolean isPermissionCacheable() {
+        return super.isPermissionCacheable() && canCachePermissions(this.collection.getDefaults())
+               && canCachePermissions(this.collection.getService().getDefaults());
+    }
+
+    @Override
+    protected Tristate resolvePermissionValue(String permission) {
+        Tristate ret = super.resolvePermissionValue(permission);
         if (ret == Tristate.UNDEFINED) {
             ret = getDataPermissionValue(this.collection.getDefaults().getSubjectData(), permission);
         }
@@ -38,6 +38,8 @@
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    private volatile boolean permissionsCached;
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -58,7 +60,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        return invalidating(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -66,7 +68,7 @@ public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearPermissions(contexts);
+        return invalidating(super.clearPermissions(contexts));
     }
 
     @Override
@@ -74,7 +76,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.addParent(contexts, parent);
+        return invalidating(super.addParent(contexts, parent));
     }
 
     @Override
@@ -82,7 +84,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.removeParent(contexts, parent);
+        return invalidating(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -90,6 +92,35 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearParents(contexts);
+        return invalidating(super.clearParents(contexts));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        return invalidating(super.clearPermissions());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        return invalidating(super.clearParents());
+    }
+
+    void markPermissionsCached() {
+        this.permissionsCached = true;
+    }
+
+    /**
+     * Discards the cached permission values of all subjects after a change
+     * to this subject data, if any of them were resolved from it.
+     */
+    protected void invalidatePermissionCaches() {
+        if (this.permissionsCached) {
+            SpongeBaseSubject.invalidatePermissionCaches();
+        }
+    }
+
+    private <T> T invalidating(T result) {
+        invalidatePermissionCaches();
+        return result;
     }
 }
@@ -31,13 +31,57 @@
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    private static final int PERMISSION_CACHE_LIMIT = 4096;
+
+    // Bumped whenever subject data or the ops list changes, which discards every cached permission value
+    private static final AtomicLong permissionGeneration = new AtomicLong();
+    private static final LongAdder permissionCacheHits = new LongAdder();
+    private static final LongAdder permissionCacheMisses = new LongAdder();
+
+    @Nullable private volatile PermissionCache permissionCache;
+
+    /**
+     * Discards the cached permission values of all subjects, has to be
+     * called whenever anything that permission resolution depends on
+     * changes.
+     */
+    public static void invalidatePermissionCaches() {
+        permissionGeneration.incrementAndGet();
+    }
+
+    /**
+     * Gets the current permission generation, which changes whenever the
+     * permissions of any subject backed by Sponge's own subject data may
+     * have changed.
+     *
+     * @return The permission generation
+     */
+    public static long getPermissionGeneration() {
+        return permissionGeneration.get();
+    }
+
+    public static long getPermissionCacheHits() {
+        return permissionCacheHits.sum();
+    }
+
+    public static long getPermissionCacheMisses() {
+        return permissionCacheMisses.sum();
+    }
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,9 +104,71 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        final PermissionCache cache = getPermissionCache();
+        if (cache == null) {
+            return resolvePermissionValue(permission);
+        }
+        Tristate value = cache.values.get(permission);
+        if (value != null) {
+            permissionCacheHits.increment();
+            return value;
+        }
+        permissionCacheMisses.increment();
+        value = resolvePermissionValue(permission);
+        if (cache.values.size() < PERMISSION_CACHE_LIMIT) {
+            cache.values.put(permission, value);
+        }
+        return value;
+    }
+
+    /**
+     * Resolves the permission value of this subject without going through
+     * the permission cache.
+     *
+     * @param permission The permission to resolve
+     * @return The permission value
+     */
+    protected Tristate resolvePermissionValue(String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
+    /**
+     * Gets whether the permission values of this subject may be cached. This
+     * is only the case if the subject and all of its parents keep their
+     * permissions in Sponge's own subject data, which invalidates the caches
+     * when it is modified.
+     *
+     * @return True if the permission values may be cached
+     */
+    protected boolean isPermissionCacheable() {
+        final MemorySubjectData data = getTransientSubjectData();
+        if (!(getService() instanceof SpongePermissionService) || !(data instanceof GlobalMemorySubjectData)) {
+            return false;
+        }
+        ((GlobalMemorySubjectData) data).markPermissionsCached();
+        for (SubjectReference parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            if (!canCachePermissions(parent.resolve().join())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static boolean canCachePermissions(Subject subject) {
+        return subject instanceof SpongeBaseSubject && ((SpongeBaseSubject) subject).getPermissionCache() != null;
+    }
+
+    @Nullable
+    private PermissionCache getPermissionCache() {
+        final long generation = permissionGeneration.get();
+        PermissionCache cache = this.permissionCache;
+        if (cache == null || cache.generation != generation) {
+            cache = new PermissionCache(generation, isPermissionCacheable());
+            this.permissionCache = cache;
+        }
+        return cache.enabled ? cache : null;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
@@ -112,4 +218,17 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class PermissionCache {
+
+        final long generation;
+        final boolean enabled;
+        // Permissions are only ever resolved in the global context, so the permission alone is the key
+        final Map<String, Tristate> values = new ConcurrentHashMap<>();
+
+        PermissionCache(long generation, boolean enabled) {
+            this.generation = generation;
+            this.enabled = enabled;
+        }
+    }
 }
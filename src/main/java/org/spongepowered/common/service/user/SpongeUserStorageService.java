@@ -35,11 +35,14 @@
 import org.spongepowered.api.service.user.UserStorageService;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
+import javax.annotation.Nullable;
+
 public class SpongeUserStorageService implements UserStorageService {
 
     public static final UUID FAKEPLAYER_UUID = UUID.fromString("41C82C87-7AfB-4024-BA57-13D2C99CAE77");
@@ -110,14 +113,22 @@ public boolean delete(User user) {
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
         lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return Sets.newHashSet(UserDiscoverer.matchProfiles(lastKnownName));
+    }
+
+    /**
+     * Gets a page of the users that have stored data, ordered by unique id,
+     * allowing them to be iterated without building the full collection
+     * returned by {@link #getAll()}.
+     *
+     * @param after The unique id the previous page ended with, or null to get
+     *     the first page
+     * @param limit The maximum amount of profiles to return
+     * @return The profiles
+     */
+    public List<GameProfile> getStoredProfiles(@Nullable UUID after, int limit) {
+        checkArgument(limit > 0, "limit must be positive");
+        return UserDiscoverer.getStoredProfiles(after, limit);
     }
 
 }
@@ -52,6 +52,7 @@
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
 import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
@@ -64,9 +65,11 @@
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -78,11 +81,16 @@
 
 import javax.annotation.Nullable;
 
-class UserDiscoverer {
+public final class UserDiscoverer {
 
     private static final Map<String, MutableWatchEvent> updateCache = new HashMap<>();
-    private static final Set<UUID> detectedStoredUUIDs = new HashSet<>();
     private static final Pattern DAT_FILENAME_SUFFIX = Pattern.compile("\\.dat$");
+    private static final String USER_INDEX_FILE_NAME = "sponge_user_index.dat";
+
+    // The users with stored data, persisted in the overworld directory so that
+    // the player data directory only has to be scanned if it changed while the
+    // index was not being maintained.
+    @Nullable private static volatile UserIndex userIndex = null;
 
     @Nullable private static WatchService filesystemWatchService = null;
     @Nullable private static WatchKey watchKey = null;
@@ -192,6 +200,18 @@ static User findByUsername(final String username) {
             return userCollection.iterator().next();
         }
 
+        // check the index of stored users
+        final UserIndex index = userIndex;
+        if (index != null && !scanningIO) {
+            final Set<UUID> uniqueIds = index.getByName(username);
+            if (uniqueIds.size() == 1) {
+                final Optional<UserIndex.Entry> entry = index.get(uniqueIds.iterator().next());
+                if (entry.isPresent()) {
+                    return findByProfile((org.spongepowered.api.profile.GameProfile) entry.get().profile);
+                }
+            }
+        }
+
         // check mojang cache
         final PlayerProfileCache cache = SpongeImpl.getServer().getPlayerProfileCache();
         final HashSet<String> names = Sets.newHashSet(cache.getUsernames());
@@ -238,7 +258,7 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
             final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
 
             pollFilesystemWatcher();
-            getProfilesFromDetectedUUIDs(profileCache, profiles);
+            getProfilesFromIndex(userIndex, profileCache, profiles);
 
             // Add all whitelisted users
             // Note: as the equality check in GameProfile requires both the UUID and name to be equal, we have to filter
@@ -260,6 +280,98 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         }
     }
 
+    /**
+     * Gets the profiles of every known user whose name starts with the given
+     * prefix, without building the full collection of profiles.
+     *
+     * @param prefix The lowercase name prefix
+     * @return The matching profiles
+     */
+    @SuppressWarnings("unchecked")
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(final String prefix) {
+        final UserIndex index = userIndex;
+        if (scanningIO || index == null || watchKey == null || !watchKey.isValid()) {
+            return filterByPrefix(getAllProfiles(), prefix);
+        }
+
+        final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>();
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        synchronized (lockingObject) {
+            pollFilesystemWatcher();
+            for (org.spongepowered.api.profile.GameProfile profile : filterByPrefix(gameProfileCache.values(), prefix)) {
+                profiles.put(profile.getUniqueId(), profile);
+            }
+        }
+        for (UserIndex.Entry entry : index.match(prefix)) {
+            profiles.putIfAbsent(entry.profile.getId(), (org.spongepowered.api.profile.GameProfile) entry.profile);
+        }
+        final PlayerList pl = SpongeImpl.getServer().getPlayerList();
+        final Map<UUID, org.spongepowered.api.profile.GameProfile> listed = new HashMap<>();
+        addToProfiles(((UserListAccessor<GameProfile, UserListWhitelistEntry>) pl.getWhitelistedPlayers()).accessor$getValues().values(),
+                listed, profileCache);
+        addToProfiles(((UserListAccessor<GameProfile, UserListBansEntry>) pl.getBannedPlayers()).accessor$getValues().values(),
+                listed, profileCache);
+        for (org.spongepowered.api.profile.GameProfile profile : filterByPrefix(listed.values(), prefix)) {
+            profiles.putIfAbsent(profile.getUniqueId(), profile);
+        }
+        return profiles.values();
+    }
+
+    /**
+     * Gets a page of the users with stored data, ordered by unique id.
+     *
+     * @param after The unique id the previous page ended with, or null to
+     *     get the first page
+     * @param limit The maximum amount of profiles to return
+     * @return The profiles, or an empty list if the index is not ready yet
+     */
+    static List<org.spongepowered.api.profile.GameProfile> getStoredProfiles(@Nullable final UUID after, final int limit) {
+        final UserIndex index = userIndex;
+        final List<org.spongepowered.api.profile.GameProfile> profiles = new ArrayList<>();
+        if (scanningIO || index == null) {
+            return profiles;
+        }
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        for (UserIndex.Entry entry : index.page(after, limit)) {
+            final org.spongepowered.api.profile.GameProfile profile = getIndexedProfile(index, entry, profileCache);
+            profiles.add(profile != null ? profile : (org.spongepowered.api.profile.GameProfile) entry.profile);
+        }
+        return profiles;
+    }
+
+    private static Collection<org.spongepowered.api.profile.GameProfile> filterByPrefix(
+            final Collection<org.spongepowered.api.profile.GameProfile> profiles, final String prefix) {
+        final List<org.spongepowered.api.profile.GameProfile> matching = new ArrayList<>();
+        for (org.spongepowered.api.profile.GameProfile profile : profiles) {
+            if (profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                matching.add(profile);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Records that the player data of a user has been written to disk.
+     *
+     * @param profile The profile of the user
+     */
+    public static void onPlayerDataWritten(final GameProfile profile) {
+        final UserIndex index = userIndex;
+        if (index != null) {
+            index.put(profile.getId(), profile.getName(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Writes pending changes of the user index to disk.
+     */
+    public static void saveIndex() {
+        final UserIndex index = userIndex;
+        if (index != null) {
+            index.save();
+        }
+    }
+
     static void init() {
         if (!hasInitBeenStarted) {
             hasInitBeenStarted = true;
@@ -293,16 +405,20 @@ private static void startFilesystemWatchServiceTask() {
                 }
             }
 
-            detectedStoredUUIDs.clear();
             nonExistentUsers.clear();
 
             SaveHandlerBridge saveHandler = (SaveHandlerBridge) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-            Set<UUID> uuids = getAvailablePlayerUUIDs(saveHandler.bridge$getPlayersDirectory().toPath());
-            detectedStoredUUIDs.addAll(uuids);
-
-            // Anything we might have cached already, we should add it here,
-            // in case it's been added but not saved yet
-            detectedStoredUUIDs.addAll(userCache.asMap().keySet());
+            final Path playersDirectory = saveHandler.bridge$getPlayersDirectory().toPath();
+            UserIndex index = userIndex;
+            if (index == null) {
+                index = new UserIndex(saveHandler.bridge$getSpongeWorldDirectory().toPath().resolve(USER_INDEX_FILE_NAME));
+            }
+            // Users that are cached but not saved yet are picked up from the
+            // game profile cache, the index only holds users with stored data.
+            if (!index.load() || isIndexOutdated(index, playersDirectory)) {
+                rebuildIndex(index, playersDirectory);
+            }
+            userIndex = index;
 
             // Setup the watch service
             try {
@@ -328,14 +444,29 @@ private static void startFilesystemWatchServiceTask() {
         }
     }
 
+    // The player data directory is modified whenever a player data file is
+    // written, which also writes to the index. If the directory is newer, it
+    // was changed while the index was not maintained, e.g. after a crash.
+    private static boolean isIndexOutdated(UserIndex index, Path playersDirectory) {
+        try {
+            return Files.isDirectory(playersDirectory)
+                    && Files.getLastModifiedTime(playersDirectory).compareTo(Files.getLastModifiedTime(index.getFile())) > 0;
+        } catch (IOException ex) {
+            return true;
+        }
+    }
+
     // This method is potentially slow and should be run as few times as possible (thus, the filesystem scan)
-    private static Set<UUID> getAvailablePlayerUUIDs(Path playersDirectory) {
-        Set<UUID> ret = new HashSet<>();
+    private static void rebuildIndex(UserIndex index, Path playersDirectory) {
+        SpongeImpl.getLogger().info("Rebuilding the user index from {}", playersDirectory);
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        index.clear();
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(playersDirectory, "*.dat")) {
             for (Path entry : stream) {
                 try {
                     String name = DAT_FILENAME_SUFFIX.matcher(entry.getFileName().toString()).replaceAll("");
-                    ret.add(UUID.fromString(name));
+                    final UUID uuid = UUID.fromString(name);
+                    index.put(uuid, getLastKnownName(profileCache, uuid), entry.toFile().lastModified());
                 } catch (IllegalArgumentException ex) {
                     // ignored - the file is not of interest to us
                 }
@@ -343,18 +474,45 @@ private static Set<UUID> getAvailablePlayerUUIDs(Path playersDirectory) {
         } catch (IOException ex) {
             SpongeImpl.getLogger().error("Could not get the available UUIDs", ex);
         }
+        index.save();
+    }
 
-        return ret;
+    @Nullable
+    private static String getLastKnownName(PlayerProfileCache profileCache, UUID uuid) {
+        final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        return profile != null ? profile.getName() : SpongeUsernameCache.getLastKnownUsername(uuid);
     }
 
-    private static void getProfilesFromDetectedUUIDs(
+    /**
+     * Gets the profile of an indexed user, resolving its name through the
+     * profile cache if the index does not know it yet.
+     */
+    @Nullable
+    private static org.spongepowered.api.profile.GameProfile getIndexedProfile(UserIndex index, UserIndex.Entry entry,
+            PlayerProfileCache profileCache) {
+        if (entry.profile.getName() != null) {
+            return (org.spongepowered.api.profile.GameProfile) entry.profile;
+        }
+        final GameProfile profile = profileCache.getProfileByUUID(entry.profile.getId());
+        if (profile == null) {
+            return null;
+        }
+        index.put(profile.getId(), profile.getName(), entry.lastSeen);
+        return (org.spongepowered.api.profile.GameProfile) profile;
+    }
+
+    private static void getProfilesFromIndex(
+            UserIndex index,
             PlayerProfileCache profileCache,
             Map<UUID, org.spongepowered.api.profile.GameProfile> profiles) {
 
-        for (UUID uuid : detectedStoredUUIDs) {
-            final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        for (UserIndex.Entry entry : index.getAll()) {
+            if (profiles.containsKey(entry.profile.getId())) {
+                continue;
+            }
+            final org.spongepowered.api.profile.GameProfile profile = getIndexedProfile(index, entry, profileCache);
             if (profile != null) {
-                profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
+                profiles.put(profile.getUniqueId(), profile);
             }
         }
     }
@@ -384,11 +542,16 @@ private static void pollFilesystemWatcher() {
                         try {
                             uuid = UUID.fromString(name.substring(0, name.length() - 4));
 
-                            // It will only be create or delete here.
+                            // It will only be create or delete here. Saving
+                            // player data replaces the file, which shows up as
+                            // a create, but those saves update the index already.
                             if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                detectedStoredUUIDs.add(uuid);
+                                if (!userIndex.contains(uuid)) {
+                                    userIndex.put(uuid, getLastKnownName(SpongeImpl.getServer().getPlayerProfileCache(), uuid),
+                                            System.currentTimeMillis());
+                                }
                             } else {
-                                detectedStoredUUIDs.remove(uuid);
+                                userIndex.remove(uuid);
                             }
                         } catch (IllegalArgumentException ex) {
                             // ignored, file isn't of use to us.
@@ -545,7 +708,12 @@ private static boolean deleteStoredPlayerData(final UUID uniqueId) {
         final File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
             try {
-                return dataFile.delete();
+                final boolean deleted = dataFile.delete();
+                final UserIndex index = userIndex;
+                if (deleted && index != null) {
+                    index.remove(uniqueId);
+                }
+                return deleted;
             } catch (SecurityException e) {
                 SpongeImpl.getLogger().warn("Unable to delete file {} due to a security error", dataFile, e);
                 return false;
@@ -590,6 +758,9 @@ private static void invalidateEntry(org.spongepowered.api.profile.GameProfile pr
         });
     }
 
+    private UserDiscoverer() {
+    }
+
     // Used to reduce the number of calls to maps.
     static class MutableWatchEvent {
 
@@ -0,0 +1,289 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.TreeMultimap;
+import com.mojang.authlib.GameProfile;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.AppendOnlyJournal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of the users that have stored player data, keyed by
+ * unique id and by lowercase name.
+ *
+ * <p>The index is kept on disk as an append-only journal of changes, which is
+ * replayed on load and compacted once it grows well past the amount of live
+ * entries. This allows the set of stored users to be known at startup
+ * without scanning the player data directory, and to be kept up to date from
+ * player data writes and file system events.</p>
+ */
+final class UserIndex {
+
+    private static final int MAGIC = 0x53554958; // SUIX
+    private static final int VERSION = 1;
+    private static final AppendOnlyJournal.Codec<Entry> CODEC = new AppendOnlyJournal.Codec<Entry>() {
+
+        @Override
+        public void write(DataOutput out, Entry entry) throws IOException {
+            out.writeBoolean(entry.profile.getName() != null);
+            if (entry.profile.getName() != null) {
+                out.writeUTF(entry.profile.getName());
+            }
+            out.writeLong(entry.lastSeen);
+        }
+
+        @Override
+        public Entry read(DataInput in, UUID uniqueId) throws IOException {
+            final String name = in.readBoolean() ? in.readUTF() : null;
+            return new Entry(new GameProfile(uniqueId, name), in.readLong());
+        }
+    };
+
+    private final AppendOnlyJournal<Entry> journal;
+    private final NavigableMap<UUID, Entry> byUniqueId = new TreeMap<>();
+    private final TreeMultimap<String, UUID> byName = TreeMultimap.create(Ordering.natural(), Ordering.natural());
+
+    UserIndex(Path file) {
+        this.journal = new AppendOnlyJournal<>(file, MAGIC, VERSION, CODEC);
+    }
+
+    Path getFile() {
+        return this.journal.getFile();
+    }
+
+    /**
+     * Loads the index from disk, replacing the current contents.
+     *
+     * @return False if there was no usable index on disk
+     */
+    synchronized boolean load() {
+        this.clear();
+        final AppendOnlyJournal.ReplayResult result;
+        try {
+            result = this.journal.replay(this::putEntry, this::removeEntry);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read the user index {}", this.getFile(), e);
+            this.clear();
+            return false;
+        }
+        switch (result) {
+            case MISSING:
+                return false;
+            case UNKNOWN_FORMAT:
+                SpongeImpl.getLogger().warn("Ignoring user index {} written by an unknown version", this.getFile());
+                this.clear();
+                return false;
+            case TRUNCATED:
+                // Expected after a crash, the journal is rewritten on the next save
+                SpongeImpl.getLogger().warn("The user index {} is truncated, it will be rewritten", this.getFile());
+                return true;
+            default:
+                try {
+                    this.journal.open();
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().warn("Could not open the user index {} for writing", this.getFile(), e);
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Empties the index. The journal is rewritten on the next save.
+     */
+    synchronized void clear() {
+        this.journal.close();
+        this.byUniqueId.clear();
+        this.byName.clear();
+    }
+
+    /**
+     * Records that the user has stored data.
+     *
+     * @param uniqueId The unique id of the user
+     * @param name The last known name of the user, if known
+     * @param lastSeen The time the data of the user was last written, in
+     *     milliseconds since the epoch
+     */
+    synchronized void put(UUID uniqueId, @Nullable String name, long lastSeen) {
+        final Entry existing = this.byUniqueId.get(uniqueId);
+        if (existing != null && lastSeen <= existing.lastSeen && (name == null || name.equals(existing.profile.getName()))) {
+            return;
+        }
+        if (name == null && existing != null) {
+            name = existing.profile.getName();
+        }
+        final Entry entry = new Entry(new GameProfile(uniqueId, name), lastSeen);
+        this.putEntry(uniqueId, entry);
+        try {
+            this.journal.put(uniqueId, entry);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not append to the user index {}", this.getFile(), e);
+        }
+    }
+
+    synchronized boolean remove(UUID uniqueId) {
+        if (!this.removeEntry(uniqueId)) {
+            return false;
+        }
+        try {
+            this.journal.remove(uniqueId);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not append to the user index {}", this.getFile(), e);
+        }
+        return true;
+    }
+
+    synchronized boolean contains(UUID uniqueId) {
+        return this.byUniqueId.containsKey(uniqueId);
+    }
+
+    synchronized Optional<Entry> get(UUID uniqueId) {
+        return Optional.ofNullable(this.byUniqueId.get(uniqueId));
+    }
+
+    synchronized int size() {
+        return this.byUniqueId.size();
+    }
+
+    /**
+     * Gets the unique ids of every indexed user with the given name.
+     *
+     * @param name The name, case insensitive
+     * @return The unique ids
+     */
+    synchronized Set<UUID> getByName(String name) {
+        return ImmutableSet.copyOf(this.byName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Gets every indexed user whose name starts with the given prefix.
+     *
+     * @param prefix The prefix, case insensitive
+     * @return The matching users, ordered by name
+     */
+    synchronized List<Entry> match(String prefix) {
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final List<Entry> matches = new ArrayList<>();
+        for (Collection<UUID> uniqueIds : this.byName.asMap().subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, false).values()) {
+            for (UUID uniqueId : uniqueIds) {
+                matches.add(this.byUniqueId.get(uniqueId));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets a page of indexed users, ordered by unique id.
+     *
+     * @param after The unique id the previous page ended with, or null to
+     *     start from the first user
+     * @param limit The maximum amount of users to return
+     * @return The users
+     */
+    synchronized List<Entry> page(@Nullable UUID after, int limit) {
+        final Collection<Entry> tail = after == null ? this.byUniqueId.values() : this.byUniqueId.tailMap(after, false).values();
+        final List<Entry> page = new ArrayList<>(Math.min(limit, tail.size()));
+        for (Entry entry : tail) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+
+    synchronized List<Entry> getAll() {
+        return new ArrayList<>(this.byUniqueId.values());
+    }
+
+    /**
+     * Writes pending journal records to disk, compacting the journal first
+     * if it mostly holds superseded records.
+     */
+    synchronized void save() {
+        try {
+            if (this.journal.isCompactionDue(this.byUniqueId.size())) {
+                this.journal.compact(this.byUniqueId);
+            } else {
+                this.journal.flush();
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not save the user index {}", this.getFile(), e);
+        }
+    }
+
+    synchronized void close() {
+        this.save();
+        this.journal.close();
+    }
+
+    private void putEntry(UUID uniqueId, Entry entry) {
+        this.removeEntry(uniqueId);
+        this.byUniqueId.put(uniqueId, entry);
+        if (entry.profile.getName() != null) {
+            this.byName.put(entry.profile.getName().toLowerCase(Locale.ROOT), uniqueId);
+        }
+    }
+
+    private boolean removeEntry(UUID uniqueId) {
+        final Entry entry = this.byUniqueId.remove(uniqueId);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.profile.getName() != null) {
+            this.byName.remove(entry.profile.getName().toLowerCase(Locale.ROOT), uniqueId);
+        }
+        return true;
+    }
+
+    static final class Entry {
+
+        final GameProfile profile;
+        final long lastSeen;
+
+        Entry(GameProfile profile, long lastSeen) {
+            this.profile = profile;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
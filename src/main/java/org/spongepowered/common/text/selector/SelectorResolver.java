@@ -56,6 +56,7 @@
 import org.spongepowered.api.util.AABB;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.api.world.Locatable;
+import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
 
@@ -101,6 +102,9 @@ private static Vector3d positionFromSource(CommandSource origin) {
     private final Vector3d position;
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
+    private final boolean playersOnly;
+    // The box every selected entity has to intersect, if the selector has a maximum radius
+    @Nullable private final AABB searchBox;
 
     public SelectorResolver(Selector selector, Collection<? extends Extent> extents) {
         this(selector, extents, null, null);
@@ -121,6 +125,28 @@ private SelectorResolver(Selector selector, Collection<? extends Extent> extents
         }
         this.position = position == null ? Vector3d.ZERO : position;
         this.selectorFilter = makeFilter();
+        this.playersOnly = isPlayersOnly();
+        this.searchBox = makeSearchBox();
+    }
+
+    // Whether only players can match, which both filters the entities and narrows the search to the player lists
+    private boolean isPlayersOnly() {
+        final SelectorType selectorType = this.selector.getType();
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+               || selectorType == SelectorTypes.RANDOM && !this.selector.getArgument(ArgumentTypes.ENTITY_TYPE).isPresent();
+    }
+
+    @Nullable
+    private AABB makeSearchBox() {
+        final Optional<Integer> radiusMax = this.selector.get(ArgumentTypes.RADIUS.maximum());
+        if (!radiusMax.isPresent()) {
+            return null;
+        }
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        // Entities are matched by their position, which lies within their bounding box, so a box around the
+        // radius catches all of them. The extra block keeps entities sitting exactly on the radius in.
+        final double extent = Math.max(radiusMax.get(), 1.0E-4D) + 1;
+        return new AABB(position.sub(extent, extent, extent), position.add(extent, extent, extent));
     }
 
     private Predicate<Entity> makeFilter() {
@@ -291,10 +317,8 @@ private void addTeamFilters(List<Predicate<Entity>> filters) {
     }
 
     private void addTypeFilters(List<Predicate<Entity>> filters) {
-        SelectorType selectorType = this.selector.getType();
         Optional<Argument.Invertible<EntityType>> typeOpt = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
-        boolean untypedRandom = selectorType == SelectorTypes.RANDOM && !typeOpt.isPresent();
-        if (selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER || untypedRandom) {
+        if (isPlayersOnly()) {
             filters.add(input -> input instanceof Player);
         } else if (typeOpt.isPresent()) {
             Argument.Invertible<EntityType> typeArg = typeOpt.get();
@@ -333,7 +357,7 @@ public ImmutableSet<Entity> resolve() {
         maxToSelect = Math.abs(maxToSelect);
         Set<? extends Extent> extents = getExtentSet();
         Stream<Entity> entityStream = extents.stream()
-                .flatMap(ext -> ext.getEntities().stream())
+                .flatMap(this::getCandidates)
                 .filter(this.selectorFilter);
 
         if (maxToSelect == 0) {
@@ -354,6 +378,22 @@ public ImmutableSet<Entity> resolve() {
                 .collect(ImmutableSet.toImmutableSet());
     }
 
+    /**
+     * Gets the entities of an extent that may match the selector, narrowing
+     * the full entity list down to the players of a world for player
+     * selectors, or to the chunks around the search box for selectors with a
+     * maximum radius.
+     */
+    private Stream<Entity> getCandidates(Extent extent) {
+        if (this.playersOnly && extent instanceof World) {
+            return ((World) extent).getPlayers().stream().map(Entity.class::cast);
+        }
+        if (this.searchBox != null) {
+            return extent.getIntersectingEntities(this.searchBox).stream();
+        }
+        return extent.getEntities().stream();
+    }
+
     private Comparator<? super Entity> distanceSort(boolean isReversed) {
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         int multiplier = isReversed ? -1 : 1;
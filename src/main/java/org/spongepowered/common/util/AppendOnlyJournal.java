@@ -0,0 +1,298 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A map from unique ids to values persisted as an append-only journal of
+ * puts and removals, which is replayed on load and rewritten from the live
+ * entries once it mostly holds superseded records.
+ *
+ * <p>The journal starts with a magic number and a format version, followed
+ * by records made of an operation, the unique id and, for puts, the value as
+ * written by the {@link Codec}. A torn or otherwise unreadable record, as
+ * left behind by a crash, ends the replay while every record before it is
+ * kept.</p>
+ *
+ * <p>Journals are not thread-safe, their owners are expected to guard them.</p>
+ *
+ * @param <V> The type of values
+ */
+public final class AppendOnlyJournal<V> {
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    // Compact once the journal holds this many records more than twice the
+    // amount of live entries
+    private static final int COMPACTION_SLACK = 4096;
+
+    /**
+     * Writes and reads the values of a journal.
+     *
+     * @param <V> The type of values
+     */
+    public interface Codec<V> {
+
+        void write(DataOutput out, V value) throws IOException;
+
+        V read(DataInput in, UUID uniqueId) throws IOException;
+    }
+
+    /**
+     * The outcome of {@link #replay}.
+     */
+    public enum ReplayResult {
+        /**
+         * There is no journal on disk.
+         */
+        MISSING,
+        /**
+         * The journal was written in an unknown format, nothing was replayed.
+         */
+        UNKNOWN_FORMAT,
+        /**
+         * The journal ends with a damaged record, everything before it was
+         * replayed.
+         */
+        TRUNCATED,
+        /**
+         * The whole journal was replayed.
+         */
+        COMPLETE
+    }
+
+    private final Path file;
+    private final int magic;
+    private final int version;
+    private final Codec<V> codec;
+    @Nullable private DataOutputStream out;
+    private int records;
+
+    public AppendOnlyJournal(Path file, int magic, int version, Codec<V> codec) {
+        this.file = file;
+        this.magic = magic;
+        this.version = version;
+        this.codec = codec;
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Replays the journal on disk. Closes the journal first, use
+     * {@link #open()} to append to a completely replayed journal.
+     *
+     * @param onPut Called with every value that was put
+     * @param onRemove Called with every unique id that was removed
+     * @return The outcome of the replay
+     * @throws IOException If the journal could not be read at all
+     */
+    public ReplayResult replay(BiConsumer<UUID, V> onPut, Consumer<UUID> onRemove) throws IOException {
+        this.close();
+        this.records = 0;
+        if (!Files.isRegularFile(this.file)) {
+            return ReplayResult.MISSING;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file)))) {
+            try {
+                if (in.readInt() != this.magic || in.readInt() != this.version) {
+                    return ReplayResult.UNKNOWN_FORMAT;
+                }
+            } catch (EOFException e) {
+                return ReplayResult.UNKNOWN_FORMAT;
+            }
+            while (true) {
+                final byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return ReplayResult.COMPLETE;
+                }
+                try {
+                    final UUID uniqueId = new UUID(in.readLong(), in.readLong());
+                    if (op == OP_PUT) {
+                        onPut.accept(uniqueId, this.codec.read(in, uniqueId));
+                    } else if (op == OP_REMOVE) {
+                        onRemove.accept(uniqueId);
+                    } else {
+                        return ReplayResult.TRUNCATED;
+                    }
+                } catch (IOException e) {
+                    return ReplayResult.TRUNCATED;
+                }
+                this.records++;
+            }
+        }
+    }
+
+    /**
+     * Opens the journal for appending records.
+     *
+     * @throws IOException If the journal could not be opened
+     */
+    public void open() throws IOException {
+        this.close();
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.file, StandardOpenOption.APPEND)));
+    }
+
+    public boolean isOpen() {
+        return this.out != null;
+    }
+
+    /**
+     * Appends a put of the given value. If the journal is not open, the
+     * record is only counted and written by the next compaction.
+     *
+     * @param uniqueId The unique id
+     * @param value The value
+     * @throws IOException If the record could not be written, in which case
+     *     the journal is closed
+     */
+    public void put(UUID uniqueId, V value) throws IOException {
+        this.append(OP_PUT, uniqueId, value);
+    }
+
+    /**
+     * Appends a removal of the given unique id, see {@link #put}.
+     *
+     * @param uniqueId The unique id
+     * @throws IOException If the record could not be written, in which case
+     *     the journal is closed
+     */
+    public void remove(UUID uniqueId) throws IOException {
+        this.append(OP_REMOVE, uniqueId, null);
+    }
+
+    private void append(byte op, UUID uniqueId, @Nullable V value) throws IOException {
+        this.records++;
+        if (this.out == null) {
+            return;
+        }
+        try {
+            this.writeRecord(this.out, op, uniqueId, value);
+        } catch (IOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the appended records to disk.
+     *
+     * @throws IOException If the records could not be written, in which case
+     *     the journal is closed
+     */
+    public void flush() throws IOException {
+        if (this.out == null) {
+            return;
+        }
+        try {
+            this.out.flush();
+        } catch (IOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets whether the journal should be rewritten, as it is not open or
+     * mostly holds superseded records.
+     *
+     * @param liveEntries The amount of live entries
+     * @return True if the journal should be compacted
+     */
+    public boolean isCompactionDue(int liveEntries) {
+        return this.out == null || this.records > 2 * liveEntries + COMPACTION_SLACK;
+    }
+
+    /**
+     * Replaces the journal with one holding only the given entries, and
+     * opens it for appending.
+     *
+     * @param entries The live entries
+     * @throws IOException If the journal could not be written, in which case
+     *     the previous journal is left in place
+     */
+    public void compact(Map<UUID, ? extends V> entries) throws IOException {
+        this.close();
+        Files.createDirectories(this.file.toAbsolutePath().getParent());
+        final Path tmp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        int records = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(this.magic);
+            out.writeInt(this.version);
+            for (Map.Entry<UUID, ? extends V> entry : entries.entrySet()) {
+                this.writeRecord(out, OP_PUT, entry.getKey(), entry.getValue());
+                records++;
+            }
+        }
+        Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.records = records;
+        this.open();
+    }
+
+    /**
+     * Closes the journal, dropping records that could not be written. They
+     * are written by the next compaction.
+     */
+    public void close() {
+        if (this.out != null) {
+            try {
+                this.out.close();
+            } catch (IOException e) {
+                // ignored - it will be rewritten by the next compaction
+            }
+            this.out = null;
+        }
+    }
+
+    private void writeRecord(DataOutputStream out, byte op, UUID uniqueId, @Nullable V value) throws IOException {
+        out.writeByte(op);
+        out.writeLong(uniqueId.getMostSignificantBits());
+        out.writeLong(uniqueId.getLeastSignificantBits());
+        if (op == OP_PUT) {
+            this.codec.write(out, value);
+        }
+    }
+}
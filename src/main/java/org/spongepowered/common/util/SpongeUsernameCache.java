@@ -26,25 +26,33 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.Nullable;
 
 import org.spongepowered.common.SpongeImpl;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.google.common.io.Files;
-import com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 
 /**
  * Caches player's last known usernames
@@ -59,19 +67,51 @@
  * here :
  *
  * https://github.com/MinecraftForge/MinecraftForge/blob/1.8.9/src/main/java/net/minecraftforge/common/UsernameCache.java
+ *
+ * <p>Unlike Forge's cache, the cache is persisted as an append-only journal
+ * of changes rather than as a single json document. Changes are coalesced
+ * and written by a background thread, and the journal is rewritten once it
+ * mostly holds superseded records. An existing json cache is imported the
+ * first time the cache is loaded.</p>
  */
 public final class SpongeUsernameCache {
 
+    private static final int MAGIC = 0x53554E43; // SUNC
+    private static final int VERSION = 1;
+    private static final AppendOnlyJournal.Codec<String> CODEC = new AppendOnlyJournal.Codec<String>() {
+
+        @Override
+        public void write(DataOutput out, String username) throws IOException {
+            out.writeUTF(username);
+        }
+
+        @Override
+        public String read(DataInput in, UUID uuid) throws IOException {
+            return in.readUTF();
+        }
+    };
+    // Changes are written at most this long after they were made
+    private static final long FLUSH_DELAY_SECONDS = 5;
+
     // Thread-safe map
-    private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
+    // The players whose username changed since the last flush
+    private static final Set<UUID> pendingChanges = ConcurrentHashMap.newKeySet();
 
     private static final Charset charset = Charsets.UTF_8;
 
-    private static File saveFile = new File(".", "usernamecache.json");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static File legacySaveFile = new File(".", "usernamecache.json");
+    private static File saveFile = new File(".", "usernamecache.dat");
+
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge Username Cache Writer").setDaemon(true).build());
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Journal state, only touched while holding the lock
+    private static final Object lock = new Object();
+    private static AppendOnlyJournal<String> journal = new AppendOnlyJournal<>(saveFile.toPath(), MAGIC, VERSION, CODEC);
+    private static boolean compactionRequired;
 
-    private static boolean loaded = false;
-    private static boolean dirty = false;
+    private static volatile boolean loaded = false;
 
     /**
      * Internal method used to set the proper server directory when it's available
@@ -87,7 +127,14 @@ public final class SpongeUsernameCache {
      * @param serverDir
      */
     public static void setServerDir(File serverDir) {
-        saveFile = new File(serverDir, saveFile.getName());
+        synchronized (lock) {
+            legacySaveFile = new File(serverDir, legacySaveFile.getName());
+            saveFile = new File(serverDir, saveFile.getName());
+            // The usernames of the previous directory are read again from the new one
+            journal.close();
+            journal = new AppendOnlyJournal<>(saveFile.toPath(), MAGIC, VERSION, CODEC);
+            loaded = false;
+        }
     }
 
     /**
@@ -105,12 +152,11 @@ public static void setUsername(UUID uuid, String username) {
             load();
         }
 
-        if (username.equals(map.get(uuid))) {
+        if (username.equals(map.put(uuid, username))) {
             return;
         }
 
-        map.put(uuid, username);
-        dirty = true;
+        markChanged(uuid);
     }
 
     /**
@@ -127,7 +173,7 @@ public static boolean removeUsername(UUID uuid) {
         }
 
         if (map.remove(uuid) != null) {
-            dirty = true;
+            markChanged(uuid);
             return true;
         }
 
@@ -210,23 +256,37 @@ public static Map<UUID, String> getMap() {
     }
 
     /**
-     * Save the cache to file
+     * Save the cache to file. The changes are written asynchronously, use
+     * {@link #close()} to wait for them to be written.
      */
     public static void save() {
         if (!loaded) {
             return;
         }
 
-        if (!dirty) {
+        if (pendingChanges.isEmpty() && !compactionRequired) {
             return;
         }
 
+        scheduleFlush(0);
+    }
+
+    /**
+     * Writes every pending change to disk and waits for it to complete.
+     */
+    public static void close() {
+        if (!loaded) {
+            return;
+        }
         try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
-            dirty = false;
-        } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+            writer.submit(SpongeUsernameCache::flush).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Failed to save username cache to file!", e.getCause());
+        }
+        synchronized (lock) {
+            journal.close();
         }
     }
 
@@ -234,26 +294,108 @@ public static void save() {
      * Load the cache from file
      */
     public static void load() {
-        loaded = true;
-        if (!saveFile.exists()) return;
+        synchronized (lock) {
+            if (loaded) {
+                return;
+            }
+            map.clear();
+            pendingChanges.clear();
+            compactionRequired = false;
+            if (saveFile.exists()) {
+                readJournal();
+            } else if (legacySaveFile.exists()) {
+                readLegacyFile();
+            }
+            loaded = true;
+        }
+        if (compactionRequired) {
+            scheduleFlush(0);
+        }
+    }
 
-        try {
+    private static void markChanged(UUID uuid) {
+        pendingChanges.add(uuid);
+        scheduleFlush(FLUSH_DELAY_SECONDS);
+    }
 
-            String json = Files.toString(saveFile, charset);
-            Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
+    private static void scheduleFlush(long delaySeconds) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(SpongeUsernameCache::flush, delaySeconds, TimeUnit.SECONDS);
+        } else if (delaySeconds == 0) {
+            // A delayed flush is already pending, but the changes were asked
+            // to be written now
+            writer.execute(SpongeUsernameCache::flush);
+        }
+    }
 
-            map = gson.fromJson(json, type);
-        } catch (JsonSyntaxException e) {
-            SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            saveFile.delete();
+    private static void flush() {
+        flushScheduled.set(false);
+        synchronized (lock) {
+            try {
+                if (compactionRequired || journal.isCompactionDue(map.size())) {
+                    pendingChanges.clear();
+                    journal.compact(map);
+                    compactionRequired = false;
+                    return;
+                }
+                for (UUID uuid : pendingChanges) {
+                    pendingChanges.remove(uuid);
+                    final String username = map.get(uuid);
+                    if (username == null) {
+                        journal.remove(uuid);
+                    } else {
+                        journal.put(uuid, username);
+                    }
+                }
+                journal.flush();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+                // Write everything again on the next attempt
+                journal.close();
+                compactionRequired = true;
+            }
+        }
+    }
+
+    private static void readJournal() {
+        try {
+            final AppendOnlyJournal.ReplayResult result = journal.replay(map::put, map::remove);
+            if (result == AppendOnlyJournal.ReplayResult.COMPLETE) {
+                journal.open();
+                return;
+            }
+            // Everything read before a damaged record is kept, the journal
+            // is rewritten from it.
+            SpongeImpl.getLogger().error("The username cache file is damaged, it will be rewritten");
         } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            saveFile.delete();
-        } finally {
-            // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+            SpongeImpl.getLogger().error("Failed to read username cache file from disk, it will be rewritten", e);
+        }
+        compactionRequired = true;
+    }
+
+    private static void readLegacyFile() {
+        // Streamed, the legacy file can be several megabytes large
+        try (Reader reader = new InputStreamReader(new BufferedInputStream(Files.newInputStream(legacySaveFile.toPath())), charset);
+             JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                final String key = json.nextName();
+                final String username = json.nextString();
+                try {
+                    map.put(UUID.fromString(key), username);
+                } catch (IllegalArgumentException e) {
+                    // ignored - not a valid entry
+                }
             }
+            json.endObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            SpongeImpl.getLogger().error("Could not parse username cache file as valid json, importing what could be read", e);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read username cache file from disk", e);
         }
+        compactionRequired = true;
+    }
+
+    private SpongeUsernameCache() {
     }
 }
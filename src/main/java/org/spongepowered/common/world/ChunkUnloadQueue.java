@@ -0,0 +1,190 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.Arrays;
+
+/**
+ * A queue of chunk positions ordered by the time they are due to unload,
+ * backed by a binary min-heap of primitive longs. Each position is queued at
+ * most once. The queue holds positions rather than chunks, so consumers are
+ * expected to look the chunk up again and verify it still has to unload once
+ * it's {@link #poll() polled}.
+ *
+ * <p>Also keeps track of the amount of chunks unloaded in the last minute.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private static final int RATE_BUCKETS = 60;
+
+    private long[] chunks = new long[64];
+    private long[] dueTimes = new long[64];
+    private int size;
+    private final LongSet queued = new LongOpenHashSet();
+
+    // Unloads per second of the last minute, in a ring indexed by the second
+    private final int[] unloadBuckets = new int[RATE_BUCKETS];
+    private final long[] unloadBucketSeconds = new long[RATE_BUCKETS];
+    private long totalUnloads;
+
+    /**
+     * Queues the chunk at the given position to unload at the given time,
+     * unless it is queued already.
+     *
+     * @param chunk The chunk position, see {@link net.minecraft.util.math.ChunkPos#asLong(int, int)}
+     * @param dueTime The time in milliseconds at which the chunk is due to unload
+     * @return True if the chunk was queued, false if it was queued already
+     */
+    public boolean add(final long chunk, final long dueTime) {
+        if (!this.queued.add(chunk)) {
+            return false;
+        }
+        if (this.size == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, this.size * 2);
+            this.dueTimes = Arrays.copyOf(this.dueTimes, this.size * 2);
+        }
+        int index = this.size++;
+        // Sift up
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (this.dueTimes[parent] <= dueTime) {
+                break;
+            }
+            this.chunks[index] = this.chunks[parent];
+            this.dueTimes[index] = this.dueTimes[parent];
+            index = parent;
+        }
+        this.chunks[index] = chunk;
+        this.dueTimes[index] = dueTime;
+        return true;
+    }
+
+    public boolean contains(final long chunk) {
+        return this.queued.contains(chunk);
+    }
+
+    /**
+     * Gets whether the first chunk in the queue is due at the given time.
+     *
+     * @param now The current time in milliseconds
+     * @return True if a chunk is due
+     */
+    public boolean hasDue(final long now) {
+        return this.size > 0 && this.dueTimes[0] <= now;
+    }
+
+    /**
+     * Removes the chunk which is due first from the queue.
+     *
+     * @return The chunk position
+     * @throws IllegalStateException If the queue is empty
+     */
+    public long poll() {
+        if (this.size == 0) {
+            throw new IllegalStateException("The unload queue is empty");
+        }
+        final long first = this.chunks[0];
+        this.queued.remove(first);
+        final int last = --this.size;
+        if (last > 0) {
+            final long chunk = this.chunks[last];
+            final long dueTime = this.dueTimes[last];
+            int index = 0;
+            // Sift down
+            while (true) {
+                int child = (index << 1) + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && this.dueTimes[child + 1] < this.dueTimes[child]) {
+                    child++;
+                }
+                if (dueTime <= this.dueTimes[child]) {
+                    break;
+                }
+                this.chunks[index] = this.chunks[child];
+                this.dueTimes[index] = this.dueTimes[child];
+                index = child;
+            }
+            this.chunks[index] = chunk;
+            this.dueTimes[index] = dueTime;
+        }
+        return first;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.size = 0;
+        this.queued.clear();
+    }
+
+    /**
+     * Records chunks being unloaded, for the {@link #getUnloadsLastMinute(long) unload rate}.
+     *
+     * @param now The current time in milliseconds
+     * @param count The amount of chunks unloaded
+     */
+    public void recordUnloads(final long now, final int count) {
+        if (count <= 0) {
+            return;
+        }
+        final long second = now / 1000;
+        final int bucket = (int) (second % RATE_BUCKETS);
+        if (this.unloadBucketSeconds[bucket] != second) {
+            this.unloadBucketSeconds[bucket] = second;
+            this.unloadBuckets[bucket] = 0;
+        }
+        this.unloadBuckets[bucket] += count;
+        this.totalUnloads += count;
+    }
+
+    /**
+     * Gets the amount of chunks unloaded within the last minute.
+     *
+     * @param now The current time in milliseconds
+     * @return The amount of unloaded chunks
+     */
+    public int getUnloadsLastMinute(final long now) {
+        final long second = now / 1000;
+        int unloads = 0;
+        for (int i = 0; i < RATE_BUCKETS; i++) {
+            if (second - this.unloadBucketSeconds[i] < RATE_BUCKETS) {
+                unloads += this.unloadBuckets[i];
+            }
+        }
+        return unloads;
+    }
+
+    public long getTotalUnloads() {
+        return this.totalUnloads;
+    }
+
+}
@@ -0,0 +1,356 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Shares work between the explosions of a world within a single tick, as
+ * mass detonations such as TNT cannons explode many times at the same spot.
+ * The blocks passed by the rays of an explosion and the exposure of entities
+ * to it are kept for the rest of the tick, and only reused while none of the
+ * chunks they were computed from has changed since.
+ *
+ * <p>Only to be used from the server thread.</p>
+ */
+public final class ExplosionCache {
+
+    private static final int MAX_RAY_SETS = 64;
+    private static final int MAX_EXPOSURES = 4096;
+
+    private final Source source;
+    private final Map<RayKey, Rays> rays = new HashMap<>();
+    private final Map<ExposureKey, Exposure> exposures = new HashMap<>();
+    private long tick = Long.MIN_VALUE;
+
+    public ExplosionCache(final WorldServer world) {
+        this(new WorldSource(world));
+    }
+
+    ExplosionCache(final Source source) {
+        this.source = source;
+    }
+
+    private void checkTick() {
+        final long time = this.source.getTotalWorldTime();
+        if (time != this.tick) {
+            this.tick = time;
+            this.rays.clear();
+            this.exposures.clear();
+        }
+    }
+
+    /**
+     * Gets the rays of an explosion at the given position, reusing the blocks
+     * an earlier explosion at the same position looked up along them.
+     *
+     * @param x The x position of the explosion
+     * @param y The y position of the explosion
+     * @param z The z position of the explosion
+     * @param resolution The resolution of the ray grid of the explosion
+     * @param maxStrength The highest strength any ray may start with
+     * @return The rays, or null if the area is not entirely loaded or the
+     *     world is processing block changes
+     */
+    @Nullable
+    public Rays getRays(final double x, final double y, final double z, final int resolution, final float maxStrength) {
+        checkTick();
+        if (this.source.hasPendingBlockChanges()) {
+            return null;
+        }
+        // Rays advance 0.3 blocks each step and lose at least 0.225 strength doing so
+        final double reach = maxStrength / 0.225D * 0.3D + 1.0D;
+        final long version = getVersion(x - reach, z - reach, x + reach, z + reach);
+        if (version == -1) {
+            return null;
+        }
+        final RayKey key = new RayKey(x, y, z, resolution, maxStrength);
+        final Rays cached = this.rays.get(key);
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+        final Rays rays = new Rays(version, resolution * resolution * resolution);
+        if (cached != null || this.rays.size() < MAX_RAY_SETS) {
+            this.rays.put(key, rays);
+        }
+        return rays;
+    }
+
+    /**
+     * Gets the fraction of the given box that is exposed to an explosion at
+     * the given position, see {@link net.minecraft.world.World#getBlockDensity}.
+     *
+     * @param center The position of the explosion
+     * @param box The box, usually that of an entity
+     * @return The exposed fraction of the box
+     */
+    public float getBlockDensity(final Vec3d center, final AxisAlignedBB box) {
+        checkTick();
+        if (this.source.hasPendingBlockChanges()) {
+            return this.source.getBlockDensity(center, box);
+        }
+        // Rays are traced from points within the box to the center, and may consider neighbouring blocks
+        final long version = getVersion(Math.min(center.x, box.minX) - 1.0D, Math.min(center.z, box.minZ) - 1.0D,
+                Math.max(center.x, box.maxX) + 1.0D, Math.max(center.z, box.maxZ) + 1.0D);
+        if (version == -1) {
+            return this.source.getBlockDensity(center, box);
+        }
+        final ExposureKey key = new ExposureKey(center, box);
+        final Exposure cached = this.exposures.get(key);
+        if (cached != null && cached.version == version) {
+            return cached.density;
+        }
+        final float density = this.source.getBlockDensity(center, box);
+        if (cached != null || this.exposures.size() < MAX_EXPOSURES) {
+            this.exposures.put(key, new Exposure(version, density));
+        }
+        return density;
+    }
+
+    /**
+     * Gets a value which differs whenever any chunk overlapping the given
+     * area has changed, or -1 if any of them is not loaded.
+     */
+    private long getVersion(final double minX, final double minZ, final double maxX, final double maxZ) {
+        long version = 0;
+        for (int chunkX = MathHelper.floor(minX) >> 4; chunkX <= MathHelper.floor(maxX) >> 4; chunkX++) {
+            for (int chunkZ = MathHelper.floor(minZ) >> 4; chunkZ <= MathHelper.floor(maxZ) >> 4; chunkZ++) {
+                final long chunkVersion = this.source.getChunkVersion(chunkX, chunkZ);
+                if (chunkVersion == -1) {
+                    return -1;
+                }
+                // Chunk versions only ever increase, so the sum changes with any of them
+                version += chunkVersion;
+            }
+        }
+        return version;
+    }
+
+    /**
+     * The state of the world the cache is kept for.
+     */
+    interface Source {
+
+        long getTotalWorldTime();
+
+        /**
+         * Gets the version of the given chunk, see
+         * {@link org.spongepowered.common.network.ChunkPacketCache#getVersion}.
+         *
+         * @param chunkX The x position of the chunk
+         * @param chunkZ The z position of the chunk
+         * @return The unsigned version, or -1 if the chunk is not loaded
+         */
+        long getChunkVersion(int chunkX, int chunkZ);
+
+        /**
+         * Gets whether the world is processing block changes which are not in
+         * its chunks yet, and therefore not covered by the chunk versions.
+         *
+         * @return True if block lookups may see uncommitted block changes
+         */
+        boolean hasPendingBlockChanges();
+
+        float getBlockDensity(Vec3d center, AxisAlignedBB box);
+    }
+
+    private static final class WorldSource implements Source {
+
+        private final WorldServer world;
+
+        WorldSource(final WorldServer world) {
+            this.world = world;
+        }
+
+        @Override
+        public long getTotalWorldTime() {
+            return this.world.getTotalWorldTime();
+        }
+
+        @Override
+        public long getChunkVersion(final int chunkX, final int chunkZ) {
+            final Chunk chunk = ((ChunkProviderBridge) this.world.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+            return chunk == null ? -1 : ((ChunkBridge) chunk).bridge$getPacketCache().getVersion() & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public boolean hasPendingBlockChanges() {
+            return ((WorldServerBridge) this.world).bridge$getProxyAccess().hasProxy();
+        }
+
+        @Override
+        public float getBlockDensity(final Vec3d center, final AxisAlignedBB box) {
+            return this.world.getBlockDensity(center, box);
+        }
+    }
+
+    /**
+     * The blocks along the rays of an explosion, indexed by the position of
+     * the ray in the grid and the number of steps taken along it.
+     */
+    public static final class Rays {
+
+        final long version;
+        private final BlockPos[][] positions;
+        private final IBlockState[][] states;
+        private final int[] lengths;
+
+        Rays(final long version, final int rays) {
+            this.version = version;
+            this.positions = new BlockPos[rays][];
+            this.states = new IBlockState[rays][];
+            this.lengths = new int[rays];
+        }
+
+        /**
+         * Gets the block position at the given step of a ray, looking up
+         * the block there unless an earlier explosion already did. Steps
+         * must be visited in order.
+         *
+         * @param world The world
+         * @param ray The index of the ray
+         * @param step The step along the ray
+         * @param x The x position reached at this step
+         * @param y The y position reached at this step
+         * @param z The z position reached at this step
+         * @return The block position
+         */
+        public BlockPos getPosition(final IBlockAccess world, final int ray, final int step, final double x, final double y, final double z) {
+            if (step < this.lengths[ray]) {
+                return this.positions[ray][step];
+            }
+            if (this.positions[ray] == null) {
+                this.positions[ray] = new BlockPos[8];
+                this.states[ray] = new IBlockState[8];
+            } else if (step == this.positions[ray].length) {
+                this.positions[ray] = Arrays.copyOf(this.positions[ray], step * 2);
+                this.states[ray] = Arrays.copyOf(this.states[ray], step * 2);
+            }
+            final BlockPos pos = new BlockPos(x, y, z);
+            this.positions[ray][step] = pos;
+            this.states[ray][step] = world.getBlockState(pos);
+            this.lengths[ray] = step + 1;
+            return pos;
+        }
+
+        /**
+         * Gets the block state at the given step of a ray, which must have
+         * been reached through {@link #getPosition} first.
+         *
+         * @param ray The index of the ray
+         * @param step The step along the ray
+         * @return The block state
+         */
+        public IBlockState getState(final int ray, final int step) {
+            return this.states[ray][step];
+        }
+    }
+
+    private static final class RayKey {
+
+        private final double x;
+        private final double y;
+        private final double z;
+        private final int resolution;
+        private final float maxStrength;
+
+        RayKey(final double x, final double y, final double z, final int resolution, final float maxStrength) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.resolution = resolution;
+            this.maxStrength = maxStrength;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof RayKey)) {
+                return false;
+            }
+            final RayKey that = (RayKey) o;
+            return Double.compare(this.x, that.x) == 0 && Double.compare(this.y, that.y) == 0 && Double.compare(this.z, that.z) == 0
+                    && this.resolution == that.resolution && Float.compare(this.maxStrength, that.maxStrength) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Double.hashCode(this.x);
+            result = 31 * result + Double.hashCode(this.y);
+            result = 31 * result + Double.hashCode(this.z);
+            result = 31 * result + this.resolution;
+            return 31 * result + Float.hashCode(this.maxStrength);
+        }
+    }
+
+    private static final class ExposureKey {
+
+        private final double[] coordinates;
+        private final int hash;
+
+        ExposureKey(final Vec3d center, final AxisAlignedBB box) {
+            this.coordinates = new double[] {center.x, center.y, center.z, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ};
+            this.hash = Arrays.hashCode(this.coordinates);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ExposureKey && this.hash == ((ExposureKey) o).hash
+                   && Arrays.equals(this.coordinates, ((ExposureKey) o).coordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class Exposure {
+
+        final long version;
+        final float density;
+
+        Exposure(final long version, final float density) {
+            this.version = version;
+            this.density = density;
+        }
+    }
+
+}
@@ -90,6 +90,7 @@
 import org.spongepowered.common.mixin.core.server.MinecraftServerAccessor;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.gen.SpawnAreaPreparer;
 
 import java.io.DataInputStream;
 import java.io.File;
@@ -557,7 +558,7 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
                 try {
                     // Stop the lighting executor only when the world is going to unload - there's no point in running any more lighting tasks.
                     if (globalConfigAdapter.getConfig().getModules().useOptimizations() && globalConfigAdapter.getConfig().getOptimizations().useAsyncLighting()) {
-                        ((WorldServerBridge_AsyncLighting) worldServer).asyncLightingBridge$getLightingExecutor().shutdownNow();
+                        ((WorldServerBridge_AsyncLighting) worldServer).asyncLightingBridge$shutdownLighting();
                     }
                 } catch (Exception e) {
                     e.printStackTrace();
@@ -687,7 +688,7 @@ private static Optional<WorldServer> loadWorld(final String worldName, @Nullable
         SpongeImpl.getLogger().info("Loading world [{}] ({}/{})", properties.getWorldName(), properties.getDimensionType().getId(), dimensionId);
 
         final WorldServer worldServer = createWorldFromProperties(dimensionId, saveHandler, (WorldInfo) properties, new WorldSettings((WorldInfo)
-                        properties));
+                        properties), true);
 
         // Set the worlds on the Minecraft server
         reorderWorldsVanillaFirst();
@@ -725,6 +726,10 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
 
         registerExistingSpongeDimensions(currentSavesDir);
 
+        // With parallel spawn preparation, spawn areas are loaded once every world exists
+        final boolean prepareSpawnsTogether = SpawnAreaPreparer.isParallelEnabled();
+        final List<WorldServer> pendingSpawnAreas = new ArrayList<>();
+
         for (final Int2ReferenceMap.Entry<DimensionType> entry: sortedDimensionMap().int2ReferenceEntrySet()) {
 
             final int dimensionId = entry.getIntKey();
@@ -837,7 +842,10 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
             }
 
             // Step 7 - Finally, we can create the world and tell it to load
-            final WorldServer worldServer = createWorldFromProperties(dimensionId, saveHandler, worldInfo, worldSettings);
+            final WorldServer worldServer = createWorldFromProperties(dimensionId, saveHandler, worldInfo, worldSettings, !prepareSpawnsTogether);
+            if (prepareSpawnsTogether && shouldLoadSpawn(worldServer)) {
+                pendingSpawnAreas.add(worldServer);
+            }
 
             SpongeImpl.getLogger().info("Loading world [{}] ({}/{})", ((org.spongepowered.api.world.World) worldServer).getName(),
                 apiDimensionType.getId(), dimensionId);
@@ -845,6 +853,10 @@ public static void loadAllWorlds(final long defaultSeed, final WorldType default
 
         // Set the worlds on the Minecraft server
         reorderWorldsVanillaFirst();
+
+        if (!pendingSpawnAreas.isEmpty()) {
+            SpawnAreaPreparer.prepareSpawnAreas(server, pendingSpawnAreas);
+        }
     }
 
     private static WorldInfo createWorldInfoFromSettings(final Path currentSaveRoot, final org.spongepowered.api.world.DimensionType dimensionType, final int
@@ -868,7 +880,7 @@ private static WorldInfo createWorldInfoFromSettings(final Path currentSaveRoot,
     @SuppressWarnings("ConstantConditions")
     private static WorldServer createWorldFromProperties(
         final int dimensionId, final ISaveHandler saveHandler, final WorldInfo worldInfo, @Nullable final WorldSettings
-        worldSettings) {
+        worldSettings, final boolean prepareSpawn) {
         final MinecraftServer server = SpongeImpl.getServer();
         final WorldServer worldServer = new WorldServer(server, saveHandler, worldInfo, dimensionId, server.profiler);
 
@@ -898,7 +910,7 @@ private static WorldServer createWorldFromProperties(
                 worldServer.initialize(worldSettings);
             }
 
-            if (((DimensionTypeBridge) ((org.spongepowered.api.world.World) worldServer).getDimension().getType()).bridge$shouldLoadSpawn()) {
+            if (prepareSpawn && shouldLoadSpawn(worldServer)) {
                 ((MinecraftServerBridge) server).bridge$prepareSpawnArea(worldServer);
             }
 
@@ -913,6 +925,10 @@ private static WorldServer createWorldFromProperties(
         }
     }
 
+    private static boolean shouldLoadSpawn(final WorldServer worldServer) {
+        return ((DimensionTypeBridge) ((org.spongepowered.api.world.World) worldServer).getDimension().getType()).bridge$shouldLoadSpawn();
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static boolean mkdirsIfSaveable(File dir) {
         if (PhaseTracker.getInstance().getSidedThread() == Thread.currentThread()) {
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.IChunkGenerator;
+import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.server.MinecraftServerBridge;
+import org.spongepowered.common.bridge.world.WorldInfoBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.category.SpawnPreparationCategory;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Prepares the spawn areas of the worlds loaded at server start together,
+ * instead of one world after another.
+ *
+ * <p>For every world, the stored spawn chunks are read ahead on a worker pool,
+ * after which the terrain of the chunks that were not stored is generated.
+ * Generators share state between worlds, such as the biome singletons and
+ * plugin generation populators, so the generation passes run one world after
+ * another on a single thread, and the server thread waits for all of them to
+ * finish before it populates any chunk. The server thread then
+ * loads each spawn area as usual through
+ * {@link MinecraftServerBridge#bridge$prepareSpawnArea(WorldServer)}, taking the
+ * read ahead data and prepared terrain instead of doing that work itself, so
+ * population and entity/tile entity registration stay on the server thread.</p>
+ */
+public final class SpawnAreaPreparer {
+
+    // Matches the area loaded by MinecraftServerMixin#bridge$prepareSpawnArea
+    private static final int SPAWN_RADIUS = 192;
+
+    public static boolean isParallelEnabled() {
+        return SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getSpawnPreparationCategory().isParallel();
+    }
+
+    public static void prepareSpawnAreas(final MinecraftServer server, final List<WorldServer> worlds) {
+        final SpawnPreparationCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getSpawnPreparationCategory();
+        final int threads = category.getNumThreads();
+        final long start = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads,
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Spawn Preparation Thread #%d").setDaemon(true).build());
+        final ExecutorService generationExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Spawn Generation Thread").setDaemon(true).build());
+        final List<WorldPreparation> preparations = new ArrayList<>(worlds.size());
+        try {
+            for (final WorldServer world : worlds) {
+                preparations.add(new WorldPreparation(world, executor, generationExecutor, threads));
+            }
+            // Population on the server thread may touch the same shared state as generation
+            for (final WorldPreparation preparation : preparations) {
+                preparation.await();
+            }
+            for (final WorldPreparation preparation : preparations) {
+                preparation.apply(server);
+            }
+        } finally {
+            executor.shutdownNow();
+            generationExecutor.shutdownNow();
+        }
+
+        SpongeImpl.getLogger().info("Prepared spawn areas of {} worlds in {} ms using {} threads", worlds.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads);
+        for (final WorldPreparation preparation : preparations) {
+            SpongeImpl.getLogger().info(" - {}: {} chunks read ahead, {} generated ahead in {} ms, waited {} ms, loaded in {} ms",
+                preparation.world.getWorldInfo().getWorldName(), preparation.readChunks.get(), preparation.generatedChunks,
+                TimeUnit.NANOSECONDS.toMillis(preparation.workerNanos), TimeUnit.NANOSECONDS.toMillis(preparation.waitNanos),
+                TimeUnit.NANOSECONDS.toMillis(preparation.applyNanos));
+        }
+    }
+
+    private static final class WorldPreparation {
+
+        final WorldServer world;
+        @Nullable private final CompletableFuture<Long2ObjectMap<Chunk>> future;
+        @Nullable private Long2ObjectMap<Chunk> prepared;
+        final AtomicInteger readChunks = new AtomicInteger();
+        volatile int generatedChunks;
+        volatile long workerNanos;
+        long waitNanos;
+        long applyNanos;
+
+        WorldPreparation(final WorldServer world, final ExecutorService executor, final ExecutorService generationExecutor, final int threads) {
+            this.world = world;
+            this.future = this.start(executor, generationExecutor, threads);
+        }
+
+        @Nullable
+        private CompletableFuture<Long2ObjectMap<Chunk>> start(final ExecutorService executor, final ExecutorService generationExecutor,
+            final int threads) {
+            final WorldProperties properties = (WorldProperties) this.world.getWorldInfo();
+            if (!((WorldInfoBridge) properties).bridge$isValid() || !properties.doesGenerateSpawnOnLoad()) {
+                return null;
+            }
+            final ChunkProviderServerAccessor provider = (ChunkProviderServerAccessor) this.world.getChunkProvider();
+            final IChunkGenerator generator = provider.accessor$getChunkGenerator();
+            final IChunkLoader loader = provider.accessor$getChunkLoader();
+            // Only Sponge's generator is known to be safe to run off the server thread
+            if (!(generator instanceof SpongeChunkGenerator) || !(loader instanceof AnvilChunkLoaderBridge)) {
+                return null;
+            }
+
+            final BlockPos spawn = this.world.getSpawnPoint();
+            final LongList chunks = new LongArrayList();
+            for (int x = -SPAWN_RADIUS; x <= SPAWN_RADIUS; x += 16) {
+                for (int z = -SPAWN_RADIUS; z <= SPAWN_RADIUS; z += 16) {
+                    chunks.add(ChunkPos.asLong(spawn.getX() + x >> 4, spawn.getZ() + z >> 4));
+                }
+            }
+
+            final long start = System.nanoTime();
+            final List<CompletableFuture<LongList>> reads = new ArrayList<>(threads);
+            for (int stripe = 0; stripe < threads; stripe++) {
+                final int offset = stripe;
+                reads.add(CompletableFuture.supplyAsync(
+                    () -> readAhead((AnvilChunkLoaderBridge) loader, chunks, offset, threads, this.readChunks), executor));
+            }
+            return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).thenApplyAsync(ignored -> {
+                final LongSet missing = new LongOpenHashSet();
+                for (final CompletableFuture<LongList> read : reads) {
+                    missing.addAll(read.join());
+                }
+                final Long2ObjectMap<Chunk> generated = new Long2ObjectOpenHashMap<>(missing.size());
+                // Keep the spawn area order so the generator sees the same sequence as a serial load
+                for (int i = 0; i < chunks.size(); i++) {
+                    final long key = chunks.getLong(i);
+                    if (missing.contains(key) && !generated.containsKey(key)) {
+                        generated.put(key, generator.generateChunk((int) key, (int) (key >>> 32)));
+                    }
+                }
+                this.generatedChunks = generated.size();
+                this.workerNanos = System.nanoTime() - start;
+                return generated;
+            }, generationExecutor);
+        }
+
+        void await() {
+            if (this.future == null) {
+                return;
+            }
+            final long waitStart = System.nanoTime();
+            try {
+                this.prepared = this.future.join();
+            } catch (CompletionException e) {
+                SpongeImpl.getLogger().error("Failed to prepare the spawn area of world {} ahead of time, loading it on the server thread",
+                    this.world.getWorldInfo().getWorldName(), e.getCause());
+            }
+            this.waitNanos = System.nanoTime() - waitStart;
+        }
+
+        void apply(final MinecraftServer server) {
+            final ChunkProviderServerBridge provider = (ChunkProviderServerBridge) this.world.getChunkProvider();
+            final long applyStart = System.nanoTime();
+            provider.bridge$setPreparedChunks(this.prepared);
+            try {
+                ((MinecraftServerBridge) server).bridge$prepareSpawnArea(this.world);
+            } finally {
+                provider.bridge$setPreparedChunks(null);
+                final IChunkLoader loader = ((ChunkProviderServerAccessor) provider).accessor$getChunkLoader();
+                if (loader instanceof AnvilChunkLoaderBridge) {
+                    ((AnvilChunkLoaderBridge) loader).bridge$clearPrefetchedChunkData();
+                }
+            }
+            this.applyNanos = System.nanoTime() - applyStart;
+        }
+    }
+
+    /**
+     * Reads ahead every {@code stride}th chunk of the given chunks, starting
+     * at {@code offset}, and returns the chunks that are not stored and need
+     * to be generated. Chunks that fail to read are left to the server thread.
+     */
+    @VisibleForTesting
+    static LongList readAhead(final AnvilChunkLoaderBridge loader, final LongList chunks, final int offset, final int stride,
+        final AtomicInteger readChunks) {
+        final LongList missing = new LongArrayList();
+        for (int i = offset; i < chunks.size(); i += stride) {
+            final long key = chunks.getLong(i);
+            try {
+                if (loader.bridge$prefetchChunkData((int) key, (int) (key >>> 32))) {
+                    readChunks.incrementAndGet();
+                    continue;
+                }
+            } catch (IOException e) {
+                // Leave it to the server thread, which reports broken chunks as usual
+                continue;
+            }
+            missing.add(key);
+        }
+        return missing;
+    }
+
+    private SpawnAreaPreparer() {
+    }
+}
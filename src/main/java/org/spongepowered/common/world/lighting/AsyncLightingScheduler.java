@@ -0,0 +1,204 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncLightingCategory;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * The single lighting executor shared by every world when async lighting is
+ * enabled.
+ *
+ * <p>Work is submitted per chunk rather than per block position, and queued
+ * chunks are ordered by their distance to the nearest player of their world
+ * so that lighting around players settles first. The amount of queued chunks
+ * is bounded: once {@link AsyncLightingCategory#getMaxQueuedChunks()} is
+ * reached, the server thread runs the batch itself, which applies
+ * backpressure to whatever is flooding the queue.</p>
+ */
+public final class AsyncLightingScheduler {
+
+    @Nullable private static AsyncLightingScheduler instance;
+
+    public static synchronized AsyncLightingScheduler getInstance() {
+        if (instance == null) {
+            final AsyncLightingCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory();
+            instance = new AsyncLightingScheduler(Math.max(1, category.getNumThreads()), Math.max(1, category.getMaxQueuedChunks()));
+        }
+        return instance;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int maxQueuedChunks;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder inlineTasks = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private volatile long maxLatencyNanos;
+
+    private AsyncLightingScheduler(final int threads, final int maxQueuedChunks) {
+        this.maxQueuedChunks = maxQueuedChunks;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread #%d").setDaemon(true).build());
+    }
+
+    /**
+     * Runs a lighting task for the given chunk. Calls made off the server
+     * thread, which are already part of a lighting task, run immediately.
+     *
+     * @param world The world the chunk belongs to
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     * @param task The lighting task
+     * @return False if the scheduler has been shut down
+     */
+    public boolean execute(final WorldServer world, final int chunkX, final int chunkZ, final Runnable task) {
+        if (this.executor.isShutdown()) {
+            return false;
+        }
+        if (!SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            task.run();
+            return true;
+        }
+        if (this.executor.getQueue().size() >= this.maxQueuedChunks) {
+            this.inlineTasks.increment();
+            task.run();
+            return true;
+        }
+        try {
+            this.executor.execute(new PrioritizedTask(world, getPriority(world, chunkX, chunkZ), this.sequence.getAndIncrement(), task));
+        } catch (RejectedExecutionException e) {
+            // This could happen if ServerHangWatchdog kills the server
+            // between the start of the method and the execute() call.
+            if (!this.executor.isShutdown()) {
+                throw e;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops every queued task of the given world, used when it unloads.
+     *
+     * @param world The world
+     */
+    public void cancel(final WorldServer world) {
+        this.executor.getQueue().removeIf(task -> ((PrioritizedTask) task).world == world);
+    }
+
+    public boolean isShutdown() {
+        return this.executor.isShutdown();
+    }
+
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    public int getActiveThreads() {
+        return this.executor.getActiveCount();
+    }
+
+    public long getCompletedTasks() {
+        return this.completedTasks.sum();
+    }
+
+    /**
+     * Gets the amount of batches the server thread had to run itself because
+     * the queue was full.
+     *
+     * @return The amount of inline batches
+     */
+    public long getInlineTasks() {
+        return this.inlineTasks.sum();
+    }
+
+    public double getAverageLatencyMillis() {
+        final long completed = this.completedTasks.sum();
+        return completed == 0 ? 0 : this.totalLatencyNanos.sum() / (double) completed / 1.0e6d;
+    }
+
+    public double getMaxLatencyMillis() {
+        return this.maxLatencyNanos / 1.0e6d;
+    }
+
+    private static int getPriority(final WorldServer world, final int chunkX, final int chunkZ) {
+        int priority = Integer.MAX_VALUE;
+        for (final EntityPlayer player : world.playerEntities) {
+            final int dx = player.chunkCoordX - chunkX;
+            final int dz = player.chunkCoordZ - chunkZ;
+            priority = Math.min(priority, dx * dx + dz * dz);
+        }
+        return priority;
+    }
+
+    private final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        final WorldServer world;
+        private final int priority;
+        private final long sequence;
+        private final long queuedTime = System.nanoTime();
+        private final Runnable task;
+
+        PrioritizedTask(final WorldServer world, final int priority, final long sequence, final Runnable task) {
+            this.world = world;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            final long latency = System.nanoTime() - this.queuedTime;
+            AsyncLightingScheduler.this.totalLatencyNanos.add(latency);
+            if (latency > AsyncLightingScheduler.this.maxLatencyNanos) {
+                AsyncLightingScheduler.this.maxLatencyNanos = latency;
+            }
+            try {
+                this.task.run();
+            } finally {
+                AsyncLightingScheduler.this.completedTasks.increment();
+            }
+        }
+
+        @Override
+        public int compareTo(final PrioritizedTask other) {
+            final int compare = Integer.compare(this.priority, other.priority);
+            return compare != 0 ? compare : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+/**
+ * A per-chunk set of block positions awaiting a light check for a single
+ * light type. Positions are stored as one bit per block in lazily allocated
+ * per-section bitsets, so a burst of updates within a chunk costs at most
+ * 512 bytes per touched section instead of a boxed entry per position.
+ *
+ * <p>Positions are chunk relative and encoded as {@code y << 8 | z << 4 | x}.</p>
+ */
+public final class LightUpdateQueue {
+
+    private static final int SECTION_WORDS = 4096 / 64;
+
+    private final long[][] sections = new long[16][];
+    private int size;
+
+    public static int pack(final int x, final int y, final int z) {
+        return (y & 255) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    public static int unpackX(final int packed) {
+        return packed & 15;
+    }
+
+    public static int unpackY(final int packed) {
+        return packed >> 8 & 255;
+    }
+
+    public static int unpackZ(final int packed) {
+        return packed >> 4 & 15;
+    }
+
+    /**
+     * Queues the given position.
+     *
+     * @param x The chunk relative x coordinate
+     * @param y The y coordinate
+     * @param z The chunk relative z coordinate
+     * @return True if the position was not already queued
+     */
+    public synchronized boolean add(final int x, final int y, final int z) {
+        final int packed = pack(x, y, z);
+        final int sectionIndex = packed >> 12;
+        long[] section = this.sections[sectionIndex];
+        if (section == null) {
+            section = this.sections[sectionIndex] = new long[SECTION_WORDS];
+        }
+        final int bit = packed & 4095;
+        final long mask = 1L << (bit & 63);
+        if ((section[bit >> 6] & mask) != 0) {
+            return false;
+        }
+        section[bit >> 6] |= mask;
+        this.size++;
+        return true;
+    }
+
+    public synchronized boolean contains(final int x, final int y, final int z) {
+        final int packed = pack(x, y, z);
+        final long[] section = this.sections[packed >> 12];
+        final int bit = packed & 4095;
+        return section != null && (section[bit >> 6] & 1L << (bit & 63)) != 0;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes every queued position, ordered bottom to top by section.
+     *
+     * @return The packed positions that were queued
+     */
+    public synchronized int[] drain() {
+        final int[] positions = new int[this.size];
+        int index = 0;
+        for (int sectionIndex = 0; sectionIndex < this.sections.length; sectionIndex++) {
+            final long[] section = this.sections[sectionIndex];
+            if (section == null) {
+                continue;
+            }
+            for (int word = 0; word < SECTION_WORDS; word++) {
+                long bits = section[word];
+                while (bits != 0) {
+                    final int bit = Long.numberOfTrailingZeros(bits);
+                    positions[index++] = sectionIndex << 12 | word << 6 | bit;
+                    bits &= bits - 1;
+                }
+            }
+            // Sections are dropped once drained so idle chunks hold no bitsets
+            this.sections[sectionIndex] = null;
+        }
+        this.size = 0;
+        return positions;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.world.storage.SpongeChunkLayout;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Walks the pre-generation spiral ahead of the server thread.
+ *
+ * <p>Every step of the spiral covers four chunks. The lookahead checks which
+ * of them are stored from the region file headers, and for steps that still
+ * have missing chunks it reads the stored ones ahead, so that loading them on
+ * the server thread does not wait on the disk. Steps are handed over through a
+ * bounded queue, which keeps the lookahead a fixed distance in front of the
+ * server thread.</p>
+ */
+final class ChunkPreGenerateLookahead implements Runnable {
+
+    private static final Vector3i[] OFFSETS = {
+            Vector3i.UNIT_Z.negate().mul(2),
+            Vector3i.UNIT_X.mul(2),
+            Vector3i.UNIT_Z.mul(2),
+            Vector3i.UNIT_X.negate().mul(2)
+    };
+
+    static final class Step {
+
+        final Vector3i[] chunks;
+        final int genCount;
+        final boolean needsGeneration;
+
+        Step(final Vector3i[] chunks, final int genCount, final boolean needsGeneration) {
+            this.chunks = chunks;
+            this.genCount = genCount;
+            this.needsGeneration = needsGeneration;
+        }
+    }
+
+    @Nullable private final IChunkLoader chunkLoader;
+    private final int chunkRadius;
+    private final BlockingQueue<Step> queue;
+
+    private Vector3i currentPosition;
+    private int currentLayer;
+    private int currentIndex;
+    private int nextJump;
+
+    private volatile BooleanSupplier ownerCheck = () -> true;
+    private volatile boolean stopped;
+    private volatile boolean finished;
+    @Nullable private volatile Throwable failure;
+
+    ChunkPreGenerateLookahead(@Nullable final IChunkLoader chunkLoader, final Vector3i center, final int chunkRadius, final int maxQueuedSteps) {
+        this.chunkLoader = chunkLoader;
+        this.chunkRadius = chunkRadius;
+        this.queue = new ArrayBlockingQueue<>(maxQueuedSteps);
+        this.currentPosition = center;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!this.stopped && this.currentLayer <= this.chunkRadius) {
+                final Step step = this.nextStep();
+                while (!this.queue.offer(step, 50, TimeUnit.MILLISECONDS)) {
+                    // Stops on its own if the pre-generation task was cancelled without telling us
+                    if (this.stopped || !this.ownerCheck.getAsBoolean()) {
+                        return;
+                    }
+                }
+            }
+            this.finished = !this.stopped;
+        } catch (InterruptedException e) {
+            // Steps are missing, so the pre-generation task must not consider itself complete
+            this.failure = e;
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Starts the lookahead on its own daemon thread. It blocks whenever the
+     * server thread falls behind, so it is kept off the async scheduler.
+     *
+     * @param name The name of the thread
+     */
+    void start(final String name) {
+        final Thread thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void setOwnerCheck(final BooleanSupplier ownerCheck) {
+        this.ownerCheck = ownerCheck;
+    }
+
+    @Nullable
+    Step poll() {
+        return this.queue.poll();
+    }
+
+    int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets whether every step has been handed over. Checked before the queue,
+     * as all steps are queued by the time this is set. Never set if the
+     * lookahead was stopped or failed.
+     *
+     * @return True if the lookahead has no more steps to queue
+     */
+    boolean isFinished() {
+        return this.finished;
+    }
+
+    @Nullable
+    Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Stops the lookahead and drops whatever it read ahead for steps that
+     * were never processed. Must be called from the server thread.
+     */
+    void stop() {
+        this.stopped = true;
+        Step step;
+        while ((step = this.queue.poll()) != null) {
+            this.discard(step);
+        }
+    }
+
+    void discard(final Step step) {
+        if (this.chunkLoader instanceof AnvilChunkLoaderBridge) {
+            for (final Vector3i chunk : step.chunks) {
+                ((AnvilChunkLoaderBridge) this.chunkLoader).bridge$discardPrefetchedChunkData(chunk.getX(), chunk.getZ());
+            }
+        }
+    }
+
+    private Step nextStep() {
+        final Vector3i position = this.currentPosition;
+        final int currentLayerIndex;
+        if (this.currentIndex >= this.nextJump) {
+            // Reached end of layer, jump to the next so we can keep spiralling
+            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
+            this.currentLayer++;
+            // Each the jump increment increases by 4 at each new layer
+            this.nextJump += this.currentLayer * 4;
+            currentLayerIndex = 1;
+        } else {
+            // Get the current index since the last jump
+            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
+            // Move to next position in layer, by following a square
+            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
+        }
+        // If we're at the corner it's 3, else 2 for an edge
+        final int genCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
+        this.currentIndex++;
+
+        final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
+        final Vector3i[] chunks = {position, position.sub(Vector3i.UNIT_X), pos2, pos2.sub(Vector3i.UNIT_X)};
+        boolean needsGeneration = false;
+        for (final Vector3i chunk : chunks) {
+            if (!this.isStored(chunk)) {
+                needsGeneration = true;
+                break;
+            }
+        }
+        // At least one chunk isn't generated, so to populate, the stored ones will be loaded as well
+        if (needsGeneration && this.chunkLoader instanceof AnvilChunkLoaderBridge) {
+            for (final Vector3i chunk : chunks) {
+                this.readAhead((AnvilChunkLoaderBridge) this.chunkLoader, chunk);
+            }
+        }
+        return new Step(chunks, genCount, needsGeneration);
+    }
+
+    private boolean isStored(final Vector3i chunk) {
+        if (this.chunkLoader == null || !SpongeChunkLayout.instance.isValidChunk(chunk.getX(), chunk.getY(), chunk.getZ())) {
+            return false;
+        }
+        // Only looks at the region file header, unlike a full existence check which reads the chunk
+        return this.chunkLoader.isChunkGeneratedAt(chunk.getX(), chunk.getZ());
+    }
+
+    private void readAhead(final AnvilChunkLoaderBridge loader, final Vector3i chunk) {
+        if (!SpongeChunkLayout.instance.isValidChunk(chunk.getX(), chunk.getY(), chunk.getZ())) {
+            return;
+        }
+        try {
+            loader.bridge$prefetchChunkData(chunk.getX(), chunk.getZ());
+        } catch (IOException e) {
+            // The server thread reads it again and reports it as usual
+            SpongeImpl.getLogger().debug("Could not read chunk {} {} ahead of pre-generation", chunk.getX(), chunk.getZ(), e);
+        }
+    }
+}
@@ -30,6 +30,8 @@
 import com.flowpowered.math.GenericMath;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -45,6 +47,8 @@
 import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.time.Duration;
@@ -52,10 +56,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -63,18 +64,12 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
 
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
-
-    private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-    };
+    private static final int MAX_LOOKAHEAD_STEPS = 128;
 
     private final Scheduler scheduler;
 
     private final World world;
-    private final Predicate<Vector3i> doesChunkExistCheck;
+    private final ChunkPreGenerateLookahead lookahead;
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -88,12 +83,6 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
-    private Vector3i currentPosition;
-    private int currentGenCount;
-    private int currentLayer;
-    private int currentIndex;
-    private int nextJump;
-
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
 
@@ -112,15 +101,14 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.plugin = plugin;
         this.world = world;
 
-        // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
-        // because they set up an async method which we need to get sync anyway, we just bypass it.
-        // This results in a extremely noticeable speed improvement.
-        //
-        // This also allows us to catch non Anvil file formats too.
+        // Chunk existence is checked against the chunk loader directly from the lookahead, rather than through the
+        // async storage API. This also allows us to catch non Anvil file formats too, which are always generated.
+        IChunkLoader chunkLoader = null;
         if (world.getWorldStorage() instanceof ChunkProviderServerBridge) {
-            this.doesChunkExistCheck = this::checkChunkExistsAnvil;
-        } else {
-            this.doesChunkExistCheck = v -> false;
+            chunkLoader = ((ChunkProviderServerAccessor) ((WorldServer) world).getChunkProvider()).accessor$getChunkLoader();
+            if (!(chunkLoader instanceof AnvilChunkLoaderBridge)) {
+                chunkLoader = null;
+            }
         }
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
@@ -130,15 +118,10 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.cause = cause;
         this.tickInterval = tickInterval;
         final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
-        if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
-        } else {
+        if (!currentPosition.isPresent()) {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
-        this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        this.lookahead = new ChunkPreGenerateLookahead(chunkLoader, currentPosition.get(), this.chunkRadius, MAX_LOOKAHEAD_STEPS);
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
@@ -147,6 +130,8 @@ private SpongeChunkPreGenerateTask(Object plugin,
                 .intervalTicks(tickInterval)
                 .execute(this)
                 .submit(plugin);
+        this.lookahead.setOwnerCheck(() -> this.scheduler.getTaskById(this.spongeTask.getUniqueId()).isPresent());
+        this.lookahead.start(this.spongeTask.getName() + " - Lookahead");
 
         if (!eventListeners.isEmpty()) {
             this.eventListener = new SpongeChunkPreGenerateListener(this.spongeTask.getUniqueId(), eventListeners);
@@ -180,6 +165,27 @@ public int getTargetTotalChunks() {
         return this.totalChunksToGenerate;
     }
 
+    /**
+     * Gets the average amount of chunks handled per second, generated and
+     * skipped alike, since the task started.
+     *
+     * @return The chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = this.getTotalTime().toMillis();
+        return millis <= 0 ? 0 : (this.chunksGenerated + this.chunksSkipped) * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the amount of spiral steps the lookahead has checked that are
+     * waiting for the server thread.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.lookahead.getQueueDepth();
+    }
+
     @Override
     public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
@@ -206,6 +212,7 @@ public void cancel() {
             if (this.eventListener != null) {
                 Sponge.getEventManager().unregisterListeners(this.eventListener);
             }
+            this.lookahead.stop();
             this.spongeTask.cancel();
             this.isCancelled = true;
         }
@@ -237,31 +244,39 @@ public void accept(Task task) {
             return;
         }
 
+        final Throwable failure = this.lookahead.getFailure();
+        if (failure != null) {
+            SpongeImpl.getLogger().error("Chunk pre-generation of world {} failed while checking chunks ahead", this.world.getName(), failure);
+            cancelTask(task);
+            return;
+        }
+
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
         do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+            // The lookahead has already checked which chunks are stored, so only steps with missing chunks cost anything here
+            final ChunkPreGenerateLookahead.Step step = this.lookahead.poll();
+            if (step == null) {
+                break;
+            }
 
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+            // We can only skip generation if all chunks are stored.
+            if (step.needsGeneration) {
 
                 // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
+                for (final Vector3i chunk : step.chunks) {
+                    this.world.loadChunk(chunk, true);
+                }
 
-                count += this.currentGenCount;
+                count += step.genCount;
             } else {
 
                 // Skipped them, log this.
-                skipped += this.currentGenCount;
+                skipped += step.genCount;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+            this.lookahead.discard(step);
+        } while (checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -282,7 +297,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (this.lookahead.isFinished() && this.lookahead.getQueueDepth() == 0) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -291,16 +306,12 @@ public void accept(Task task) {
             ));
 
             this.isCancelled = true;
+            this.lookahead.stop();
             unregisterListener();
             task.cancel();
         }
     }
 
-    private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
-        return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
-                this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
-    }
-
     private void unregisterListener() {
         if (this.eventListener != null) {
             Sponge.getEventManager().unregisterListeners(this.eventListener);
@@ -315,35 +326,10 @@ private void cancelTask(Task task) {
         }
 
         this.isCancelled = true;
+        this.lookahead.stop();
         unregisterListener();
     }
 
-    private boolean hasNextChunkPosition() {
-        return this.currentLayer <= this.chunkRadius;
-    }
-
-    private Vector3i nextChunkPosition() {
-        final Vector3i nextPosition = this.currentPosition;
-        final int currentLayerIndex;
-        if (this.currentIndex >= this.nextJump) {
-            // Reached end of layer, jump to the next so we can keep spiralling
-            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-            this.currentLayer++;
-            // Each the jump increment increases by 4 at each new layer
-            this.nextJump += this.currentLayer * 4;
-            currentLayerIndex = 1;
-        } else {
-            // Get the current index since the last jump
-            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-            // Move to next position in layer, by following a square
-            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
-        }
-        // If we're at the corner it's 3, else 2 for an edge
-        this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-        this.currentIndex++;
-        return nextPosition;
-    }
-
     private boolean checkChunkCount(int count) {
         return this.chunkCount <= 0 || count < this.chunkCount;
     }
@@ -352,18 +338,6 @@ private boolean checkTickTime(long tickTime) {
         return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
     }
 
-    private boolean checkChunkExistsAnvil(Vector3i v) {
-        CompletableFuture<Boolean> ret = ((ChunkProviderServerBridge) this.world.getWorldStorage()).bridge$doesChunkExistSync(v);
-        try {
-            return ret.get();
-        } catch (InterruptedException | ExecutionException e) {
-            SpongeImpl.getLogger().error(
-                    "Could not determine chunk's existence on world {}: {} {}. Assuming false.",
-                this.world.getName(), v.getX(), v.getZ());
-            return false;
-        }
-    }
-
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
@@ -401,11 +375,13 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        final SpongeChunkPreGenerateTask preGenerate = (SpongeChunkPreGenerateTask) post.getChunkPreGenerate();
+                        logger.info("Generated {} chunks in {}, {}% complete ({} chunks/s, {} steps queued)", post.getChunksGeneratedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                             GenericMath.floor(
-                                100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks())
+                                100 * (preGenerate.getTotalGeneratedChunks() + preGenerate.getTotalSkippedChunks())
+                                    / preGenerate.getTargetTotalChunks()),
+                            String.format("%.1f", preGenerate.getChunksPerSecond()), preGenerate.getQueueDepth()
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
@@ -28,6 +28,8 @@
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Sets;
 import com.google.inject.Singleton;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.world.border.WorldBorder;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.util.Tristate;
@@ -37,21 +39,29 @@
 import org.spongepowered.api.world.teleport.TeleportHelperFilter;
 import org.spongepowered.api.world.teleport.TeleportHelperFilters;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.config.category.TeleportHelperCategory;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Singleton
 public class SpongeTeleportHelper implements TeleportHelper {
 
+    private static final BlockData UNSAFE_BLOCK = new BlockData();
+
     @Override
     public Optional<Location<World>> getSafeLocation(Location<World> location, int height, int width, int distanceToDrop,
             TeleportHelperFilter filter, TeleportHelperFilter... additionalFilters) {
@@ -59,20 +69,29 @@ public Optional<Location<World>> getSafeLocation(Location<World> location, int h
         final Set<TeleportHelperFilter> filters = Sets.newHashSet(additionalFilters);
         filters.add(filter);
 
-        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getTeleportHelper().isForceBlacklistOn()) {
+        final TeleportHelperCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getTeleportHelper();
+        if (config.isForceBlacklistOn()) {
             // Always force this into the set if the user has requested it.
             filters.add(TeleportHelperFilters.CONFIG);
         }
 
         final ChunkProviderServerBridge chunkProviderServer = (ChunkProviderServerBridge)((net.minecraft.world.WorldServer) world).getChunkProvider();
+        final boolean onlyLoadedChunks = config.isOnlyLoadedChunks();
         final boolean previous = chunkProviderServer.bridge$getForceChunkRequests();
-        chunkProviderServer.bridge$setForceChunkRequests(true);
+        if (!onlyLoadedChunks) {
+            chunkProviderServer.bridge$setForceChunkRequests(true);
+        }
 
         try {
             // Get the vectors to check, and get the block types with them.
-            // The vectors should be sorted by distance from the centre of the checking region, so
+            // The vectors are generated lazily in order of their distance from the centre of the checking region, so
             // this makes it easier to try to get close, because we can just iterate and get progressively further out.
-            Optional<Vector3i> result = getSafeLocation(world, getBlockLocations(location, height, width), distanceToDrop, filters);
+            Stream<Vector3i> positions = getBlockLocations(location, height, width);
+            if (onlyLoadedChunks) {
+                positions = positions.filter(position ->
+                    ((ChunkProviderBridge) chunkProviderServer).bridge$getLoadedChunkWithoutMarkingActive(position.getX() >> 4, position.getZ() >> 4) != null);
+            }
+            Optional<Vector3i> result = getSafeLocation(world, positions, distanceToDrop, filters);
             return result.map(vector3i -> new Location<>(world, vector3i.toDouble().add(0.5, 0, 0.5)));
         } finally {
             // Just in case some exception occurs, we want this to disable again.
@@ -105,31 +124,16 @@ private Stream<Vector3i> getBlockLocations(Location<World> worldLocation, int he
         int minZ = GenericMath.clamp(vectorLocation.getZ() - width, worldBorderMinZ, worldBorderMaxZ);
         int maxZ = GenericMath.clamp(vectorLocation.getZ() + width, worldBorderMinZ, worldBorderMaxZ);
 
-        // We now iterate over all possible x, y and z positions to get all possible vectors.
-        List<Vector3i> vectors = new ArrayList<>();
-        for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    vectors.add(new Vector3i(x, y, z));
-                }
-            }
-        }
-
-        Comparator<Vector3i> c = Comparator.comparingInt(vectorLocation::distanceSquared);
-
-        // The compiler seems to need this to be a new line.
-        // We check to see what the y location is, preferring changes in Y over X and Z, and higher over lower locations.
-        c = c.thenComparing(x -> -Math.abs(vectorLocation.getY() - x.getY())).thenComparing(x -> -x.getY());
-
-        // Sort them according to the distance to the provided worldLocation.
-        return vectors.stream().sorted(c);
+        // Rather than building and sorting every vector of the region, walk it outwards from the worldLocation.
+        final Iterator<Vector3i> iterator = new DistanceOrderedIterator(vectorLocation, minX, minY, minZ, maxX, maxY, maxZ);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+            false);
     }
 
     private Optional<Vector3i> getSafeLocation(World world, Stream<Vector3i> positionsToCheck, int floorDistanceCheck,
             Collection<TeleportHelperFilter> filters) {
         // We cache the various block lookup results so we don't check a block twice.
-        final Map<Vector3i, BlockData> blockCache = new HashMap<>();
-
+        final Long2ObjectMap<BlockData> blockCache = new Long2ObjectOpenHashMap<>();
         return positionsToCheck.filter(currentTarget -> {
             List<TeleportHelperFilter> undefinedResults = new ArrayList<>();
             for (TeleportHelperFilter filter : filters) {
@@ -170,7 +174,7 @@ private Optional<Vector3i> getSafeLocation(World world, Stream<Vector3i> positio
         }).findFirst();
     }
 
-    private boolean isFloorSafe(Vector3i currentTarget, World world, Map<Vector3i, BlockData> blockCache, Collection<TeleportHelperFilter> filters,
+    private boolean isFloorSafe(Vector3i currentTarget, World world, Long2ObjectMap<BlockData> blockCache, Collection<TeleportHelperFilter> filters,
             int floorDistanceCheck) {
         for (int i = 1; i < floorDistanceCheck; ++i) {
             BlockData data = getBlockData(currentTarget.sub(0, i, 0), world, blockCache, filters);
@@ -190,22 +194,22 @@ private boolean isFloorSafe(Vector3i currentTarget, World world, Map<Vector3i, B
         return getBlockData(currentTarget.sub(0, floorDistanceCheck, 0), world, blockCache, filters).isSafeFloor;
     }
 
-    private BlockData getBlockData(Vector3i vector3i, World world, Map<Vector3i, BlockData> cache, Collection<TeleportHelperFilter> filters) {
+    private BlockData getBlockData(Vector3i vector3i, World world, Long2ObjectMap<BlockData> cache, Collection<TeleportHelperFilter> filters) {
         if (vector3i.getY() < 0) {
             // Anything below this isn't safe, no point going further.
-            return new BlockData();
+            return UNSAFE_BLOCK;
         }
 
-        if (cache.containsKey(vector3i)) {
-            return cache.get(vector3i);
+        final long key = (long) (vector3i.getX() & 0x3FFFFFF) << 38 | (long) (vector3i.getY() & 0xFFF) << 26 | vector3i.getZ() & 0x3FFFFFF;
+        BlockData data = cache.get(key);
+        if (data == null) {
+            data = new BlockData(world.getBlock(vector3i), filters);
+            cache.put(key, data);
         }
-
-        BlockData data = new BlockData(world.getBlock(vector3i), filters);
-        cache.put(vector3i, data);
         return data;
     }
 
-    private class BlockData {
+    private static final class BlockData {
 
         private final boolean isSafeFloor;
         private final boolean isSafeBody;
@@ -222,4 +226,94 @@ private BlockData(BlockState blockState, Collection<TeleportHelperFilter> filter
 
     }
 
+    /**
+     * Walks the positions of a region ordered by their distance to a centre,
+     * preferring changes in Y over X and Z, and higher over lower positions,
+     * without materializing the region.
+     *
+     * <p>Every (x, y) line of the region is split into a ray running from the
+     * centre towards +Z and one running towards -Z, along which the distance
+     * only grows. The rays are merged through a priority queue, which holds
+     * two entries per line instead of one per position.</p>
+     */
+    static final class DistanceOrderedIterator implements Iterator<Vector3i> {
+
+        private final Vector3i centre;
+        private final PriorityQueue<Ray> rays;
+
+        DistanceOrderedIterator(Vector3i centre, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.centre = centre;
+            final int centreZ = centre.getZ();
+            final List<Ray> rays = new ArrayList<>();
+            for (int y = minY; y <= maxY; y++) {
+                for (int x = minX; x <= maxX; x++) {
+                    final int firstUp = Math.max(centreZ, minZ);
+                    if (firstUp <= maxZ) {
+                        rays.add(new Ray(x, y, firstUp, 1, maxZ));
+                    }
+                    final int firstDown = Math.min(centreZ - 1, maxZ);
+                    if (firstDown >= minZ) {
+                        rays.add(new Ray(x, y, firstDown, -1, minZ));
+                    }
+                }
+            }
+            // Same order as the distance sort this replaces, ties are broken the way its stable sort did
+            final Comparator<Ray> comparator = Comparator.<Ray>comparingInt(ray -> ray.distanceSquared)
+                .thenComparingInt(ray -> -Math.abs(centre.getY() - ray.y))
+                .thenComparingInt(ray -> -ray.y)
+                .thenComparingInt(ray -> ray.x)
+                .thenComparingInt(ray -> ray.z);
+            this.rays = new PriorityQueue<>(Math.max(1, rays.size()), comparator);
+            for (Ray ray : rays) {
+                ray.updateDistance(centre);
+                this.rays.add(ray);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.rays.isEmpty();
+        }
+
+        @Override
+        public Vector3i next() {
+            final Ray ray = this.rays.poll();
+            if (ray == null) {
+                throw new NoSuchElementException();
+            }
+            final Vector3i next = new Vector3i(ray.x, ray.y, ray.z);
+            if (ray.z != ray.lastZ) {
+                ray.z += ray.step;
+                ray.updateDistance(this.centre);
+                this.rays.add(ray);
+            }
+            return next;
+        }
+
+        private static final class Ray {
+
+            final int x;
+            final int y;
+            final int step;
+            final int lastZ;
+            int z;
+            int distanceSquared;
+
+            Ray(int x, int y, int z, int step, int lastZ) {
+                this.x = x;
+                this.y = y;
+                this.z = z;
+                this.step = step;
+                this.lastZ = lastZ;
+            }
+
+            void updateDistance(Vector3i centre) {
+                final int dx = this.x - centre.getX();
+                final int dy = this.y - centre.getY();
+                final int dz = this.z - centre.getZ();
+                this.distanceSquared = dx * dx + dy * dy + dz * dz;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.command.CommandCallable;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeCommandDispatcherTest {
+
+    private SpongeCommandDispatcher dispatcher;
+    private CommandSource source;
+    // The aliases of each command and whether the source may use it
+    private final Map<List<String>, Boolean> commands = new HashMap<>();
+
+    @Before
+    public void init() {
+        this.dispatcher = new SpongeCommandDispatcher(SpongeCommandDispatcher.FIRST_DISAMBIGUATOR);
+        this.source = mock(CommandSource.class);
+        register(true, "tp", "teleport");
+        register(true, "tphere");
+        register(false, "tpa", "tpaccept");
+        register(true, "Time", "t");
+        register(true, "help", "?");
+        register(false, "hidden");
+        register(true, "\u00fcber");
+        register(true, "z", "zz", "zzz");
+    }
+
+    private CommandCallable register(boolean permitted, String... aliases) {
+        final CommandCallable callable = mock(CommandCallable.class);
+        when(callable.testPermission(this.source)).thenReturn(permitted);
+        this.dispatcher.register(callable, aliases);
+        this.commands.put(ImmutableList.copyOf(aliases), permitted);
+        return callable;
+    }
+
+    // The aliases the dispatcher used to filter out of all of its aliases
+    private List<String> expected(String start) {
+        final List<String> aliases = new ArrayList<>();
+        this.commands.forEach((commandAliases, permitted) -> {
+            if (permitted) {
+                for (String alias : commandAliases) {
+                    if (alias.toLowerCase().startsWith(start.toLowerCase())) {
+                        aliases.add(alias.toLowerCase());
+                    }
+                }
+            }
+        });
+        return aliases.stream().sorted().collect(Collectors.toList());
+    }
+
+    private void assertSuggestions(String start) throws CommandException {
+        assertEquals(start, expected(start), this.dispatcher.getSuggestions(this.source, start, null));
+    }
+
+    @Test
+    public void testSuggestsAliasesStartingWithPrefix() throws CommandException {
+        for (List<String> aliases : ImmutableList.copyOf(this.commands.keySet())) {
+            for (String alias : aliases) {
+                for (int i = 0; i <= alias.length(); i++) {
+                    assertSuggestions(alias.substring(0, i));
+                    assertSuggestions(alias.substring(0, i).toUpperCase());
+                }
+                assertSuggestions(alias + "x");
+            }
+        }
+        assertSuggestions("");
+        assertSuggestions("a");
+        assertSuggestions("\u00fc");
+        assertSuggestions("zzzz");
+        assertSuggestions("{");
+    }
+
+    @Test
+    public void testSuggestionsFollowRegistrations() throws CommandException {
+        assertSuggestions("tp");
+        register(true, "tpall");
+        assertSuggestions("tp");
+        this.dispatcher.remove("tphere");
+        this.commands.remove(ImmutableList.of("tphere"));
+        assertSuggestions("tp");
+    }
+
+    @Test
+    public void testPermissionIsTestedOncePerCommand() throws CommandException {
+        final CommandCallable callable = register(true, "alpha", "alpha2", "alpha3");
+        assertSuggestions("a");
+        assertSuggestions("al");
+        assertSuggestions("alpha");
+        verify(callable, times(1)).testPermission(this.source);
+
+        // Permissions may have changed
+        SpongeBaseSubject.invalidatePermissionCaches();
+        when(callable.testPermission(this.source)).thenReturn(false);
+        this.commands.put(ImmutableList.of("alpha", "alpha2", "alpha3"), false);
+        assertSuggestions("a");
+        verify(callable, times(2)).testPermission(this.source);
+    }
+}
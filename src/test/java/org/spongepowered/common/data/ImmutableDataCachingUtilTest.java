@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.common.data.ImmutableDataCachingUtil.CacheKey;
+import org.spongepowered.common.data.manipulator.immutable.ImmutableSpongeWetData;
+import org.spongepowered.common.data.manipulator.immutable.block.ImmutableSpongeDelayableData;
+import org.spongepowered.common.data.value.immutable.ImmutableSpongeValue;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ImmutableDataCachingUtilTest {
+
+    @Test
+    public void testCacheKeyEquality() {
+        final CacheKey key = new CacheKey(String.class, "a", 1000, true);
+        assertEquals(key, new CacheKey(String.class, "a", new Integer(1000), true));
+        assertEquals(key.hashCode(), new CacheKey(String.class, "a", new Integer(1000), true).hashCode());
+        assertNotEquals(key, new CacheKey(Integer.class, "a", 1000, true));
+        assertNotEquals(key, new CacheKey(String.class, "a", true, 1000));
+        assertNotEquals(key, new CacheKey(String.class, "a", 1000));
+        assertNotEquals(key, new CacheKey(null, "a", 1000, true));
+        assertEquals(new CacheKey(null, "a"), new CacheKey(null, "a"));
+        // Extra arguments are nested as keys of their own
+        assertEquals(new CacheKey(String.class, "a", new CacheKey(null, 1, 2)), new CacheKey(String.class, "a", new CacheKey(null, 1, 2)));
+        assertNotEquals(new CacheKey(String.class, "a", new CacheKey(null, 1, 2)), new CacheKey(String.class, "a", new CacheKey(null, 2, 1)));
+    }
+
+    @Test
+    public void testManipulatorsArePooled() {
+        final ImmutableSpongeWetData wet = ImmutableDataCachingUtil.getManipulator(ImmutableSpongeWetData.class, true);
+        assertSame(wet, ImmutableDataCachingUtil.getManipulator(ImmutableSpongeWetData.class, true));
+        assertEquals(true, wet.wet().get());
+        assertEquals(false, ImmutableDataCachingUtil.getManipulator(ImmutableSpongeWetData.class, false).wet().get());
+        assertEquals(2, ImmutableDataCachingUtil.getPooledManipulatorCount(ImmutableSpongeWetData.class));
+    }
+
+    @Test
+    public void testLargeNumbersAreNotPooled() {
+        final int pooled = ImmutableDataCachingUtil.getPooledManipulatorCount(ImmutableSpongeDelayableData.class);
+        final ImmutableSpongeDelayableData data = ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, 1000);
+        ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, -129);
+        ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, 128);
+        assertEquals(pooled, ImmutableDataCachingUtil.getPooledManipulatorCount(ImmutableSpongeDelayableData.class));
+        // They are still shared through the cache
+        assertSame(data, ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, 1000));
+        assertEquals(1000, data.delay().get().intValue());
+    }
+
+    @Test
+    public void testPoolsAreBounded() {
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            final ImmutableSpongeDelayableData data = ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, i);
+            assertEquals(i, data.delay().get().intValue());
+            assertSame(data, ImmutableDataCachingUtil.getManipulator(ImmutableSpongeDelayableData.class, i));
+        }
+        assertEquals(ImmutableDataCachingUtil.CACHE_LIMIT_FOR_INDIVIDUAL_TYPE,
+                ImmutableDataCachingUtil.getPooledManipulatorCount(ImmutableSpongeDelayableData.class));
+    }
+
+    @Test
+    public void testValuesKeepTheirDefault() {
+        final ImmutableValue<Boolean> value = ImmutableSpongeValue.cachedOf(Keys.IS_WET, false, true);
+        assertSame(value, ImmutableSpongeValue.cachedOf(Keys.IS_WET, false, true));
+        // Only one default value can use the pool of a key, the other goes through the cache
+        final ImmutableValue<Boolean> otherDefault = ImmutableSpongeValue.cachedOf(Keys.IS_WET, true, true);
+        assertSame(otherDefault, ImmutableSpongeValue.cachedOf(Keys.IS_WET, true, true));
+        assertEquals(false, value.getDefault());
+        assertEquals(true, otherDefault.getDefault());
+        assertEquals(true, value.get());
+        assertEquals(true, otherDefault.get());
+    }
+}
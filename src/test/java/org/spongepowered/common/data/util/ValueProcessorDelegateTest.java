@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.common.data.ValueProcessor;
+
+import java.util.Optional;
+
+public class ValueProcessorDelegateTest {
+
+    private ValueProcessor<Integer, Value<Integer>> holderProcessor;
+    private ValueProcessor<Integer, Value<Integer>> anyProcessor;
+    private ValueProcessor<Integer, Value<Integer>> otherProcessor;
+    private ValueProcessorDelegate<Integer, Value<Integer>> delegate;
+
+    private DataHolder first;
+    private DataHolder second;
+    private ValueContainer<?> container;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void init() {
+        this.first = mock(DataHolder.class);
+        this.second = mock(DataHolder.class);
+        this.container = mock(ValueContainer.class);
+
+        // Only data holders, and only the first one
+        this.holderProcessor = mock(ValueProcessor.class);
+        when(this.holderProcessor.canSupport(Mockito.any())).thenAnswer(
+                invocation -> DataHolder.class.isAssignableFrom((Class<?>) invocation.getArguments()[0]));
+        when(this.holderProcessor.supports(this.first)).thenReturn(true);
+        when(this.holderProcessor.getValueFromContainer(this.first)).thenReturn(Optional.of(1));
+
+        // Any container
+        this.anyProcessor = mock(ValueProcessor.class);
+        when(this.anyProcessor.canSupport(Mockito.any())).thenReturn(true);
+        when(this.anyProcessor.supports(Mockito.any(ValueContainer.class))).thenReturn(true);
+        when(this.anyProcessor.getValueFromContainer(Mockito.any(ValueContainer.class))).thenReturn(Optional.of(2));
+
+        // No container at all
+        this.otherProcessor = mock(ValueProcessor.class);
+        when(this.otherProcessor.canSupport(Mockito.any())).thenReturn(false);
+
+        this.delegate = new ValueProcessorDelegate<>(mock(Key.class), ImmutableList.of(this.otherProcessor, this.holderProcessor, this.anyProcessor));
+    }
+
+    @Test
+    public void testProcessorsAreResolvedOncePerClass() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(1), this.delegate.getValueFromContainer(this.first));
+            assertEquals(Optional.of(2), this.delegate.getValueFromContainer(this.second));
+            assertEquals(Optional.of(2), this.delegate.getValueFromContainer(this.container));
+        }
+        verify(this.holderProcessor, times(1)).canSupport(this.first.getClass());
+        verify(this.holderProcessor, times(1)).canSupport(this.container.getClass());
+        verify(this.otherProcessor, times(1)).canSupport(this.first.getClass());
+        verify(this.otherProcessor, times(1)).canSupport(this.container.getClass());
+    }
+
+    @Test
+    public void testUnsupportedProcessorsAreSkipped() {
+        assertTrue(this.delegate.supports(this.container));
+        assertEquals(Optional.of(2), this.delegate.getValueFromContainer(this.container));
+        verify(this.holderProcessor, never()).supports(this.container);
+        verify(this.holderProcessor, never()).getValueFromContainer(this.container);
+        verify(this.otherProcessor, never()).supports(Mockito.any(ValueContainer.class));
+    }
+
+    @Test
+    public void testSupportIsStillCheckedPerInstance() {
+        // Both holders share a class, but only the first one is supported by the holder processor
+        assertEquals(Optional.of(1), this.delegate.getValueFromContainer(this.first));
+        assertEquals(Optional.of(2), this.delegate.getValueFromContainer(this.second));
+        verify(this.holderProcessor).supports(this.second);
+        verify(this.holderProcessor, never()).getValueFromContainer(this.second);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCanSupport() {
+        assertTrue(this.delegate.canSupport(this.container.getClass()));
+        final ValueProcessorDelegate<Integer, Value<Integer>> holdersOnly =
+                new ValueProcessorDelegate<>(mock(Key.class), ImmutableList.of(this.otherProcessor, this.holderProcessor));
+        assertTrue(holdersOnly.canSupport(this.first.getClass()));
+        assertFalse(holdersOnly.canSupport(this.container.getClass()));
+        assertFalse(holdersOnly.supports(this.container));
+        assertEquals(Optional.empty(), holdersOnly.getValueFromContainer(this.container));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerTableTest {
+
+    @Test
+    public void testOwnerAndNotifierArePackedIndependently() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.setOwner((short) -5, 3);
+        table.setNotifier((short) -5, 7);
+
+        final long packed = table.get(0, (short) -5);
+        assertEquals(3, PlayerTrackerTable.getOwnerIndex(packed));
+        assertEquals(7, PlayerTrackerTable.getNotifierIndex(packed));
+    }
+
+    @Test
+    public void testIntPositionTakesPrecedence() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.put((short) 12, 1, 1);
+        table.put(70000, 2, -1);
+
+        assertEquals(2, PlayerTrackerTable.getOwnerIndex(table.get(70000, (short) 12)));
+        assertEquals(1, PlayerTrackerTable.getOwnerIndex(table.get(0, (short) 12)));
+        assertEquals(PlayerTrackerTable.NONE, table.get(0, (short) 13));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.put((short) 12, 1, 4);
+        table.put((short) -300, -1, 9);
+        table.put(70000, 2, -1);
+
+        final PlayerTrackerTable read = new PlayerTrackerTable();
+        read.readShortPositions(table.writeShortPositions());
+        read.readIntPositions(table.writeIntPositions());
+
+        assertEquals(3, read.size());
+        assertEquals(table.get(0, (short) 12), read.get(0, (short) 12));
+        assertEquals(table.get(0, (short) -300), read.get(0, (short) -300));
+        assertEquals(table.get(70000, (short) 0), read.get(70000, (short) 0));
+    }
+
+    @Test
+    public void testRemove() {
+        final PlayerTrackerTable table = new PlayerTrackerTable();
+        table.put((short) 12, 1, 4);
+        table.put(70000, 2, -1);
+
+        table.remove(70000, (short) 12);
+        assertFalse(table.contains(70000));
+        assertTrue(table.contains((short) 12));
+        table.remove(0, (short) 12);
+        assertTrue(table.isEmpty());
+    }
+}
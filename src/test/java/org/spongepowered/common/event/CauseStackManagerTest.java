@@ -29,6 +29,7 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +91,47 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameRestoresContextReplacedTwice() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+        User user2 = Mockito.mock(User.class);
+        User user3 = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+
+        // Replace the context twice and remove it in the same frame, only the first original should be kept
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.addContext(EventContextKeys.OWNER, user2);
+        causeStackManager.addContext(EventContextKeys.OWNER, user3);
+        causeStackManager.removeContext(EventContextKeys.OWNER);
+        Assert.assertFalse(causeStackManager.getCurrentContext().get(EventContextKeys.OWNER).isPresent());
+
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertEquals(user, causeStackManager.getCurrentContext().get(EventContextKeys.OWNER).get());
+
+        // The outer frame still has to restore its own original value
+        causeStackManager.addContext(EventContextKeys.OWNER, user2);
+        causeStackManager.popCauseFrame(frame1);
+        Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
+        Assert.assertTrue(causeStackManager.getCurrentContext().asMap().isEmpty());
+    }
+
+    @Test
+    public void testCurrentCauseIsReusedUntilStackChanges() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.pushCause(1);
+        final Cause cause = causeStackManager.getCurrentCause();
+        Assert.assertSame(cause, causeStackManager.getCurrentCause());
+
+        causeStackManager.addContext(EventContextKeys.OWNER, Mockito.mock(User.class));
+        Assert.assertNotSame(cause, causeStackManager.getCurrentCause());
+
+        causeStackManager.popCauseFrame(frame);
+    }
+
 }
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.UUID;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpongeItemStackSnapshotTest {
+
+    @Before
+    public void clearPool() {
+        SpongeItemStackSnapshot.clearPool();
+    }
+
+    private static SpongeItemStackSnapshot eager(ItemStack stack) {
+        return new SpongeItemStackSnapshot((ItemType) stack.getItem(), stack.getCount(), stack.getItemDamage(), ImmutableList.of(),
+            stack.getTagCompound());
+    }
+
+    private static org.spongepowered.api.item.inventory.ItemStack api(ItemStack stack) {
+        return (org.spongepowered.api.item.inventory.ItemStack) (Object) stack;
+    }
+
+    @Test
+    public void testLazySnapshotMatchesEagerSnapshot() {
+        final ItemStack stack = new ItemStack(Items.DIAMOND_SWORD, 1, 5);
+        stack.setStackDisplayName("Sword");
+        final SpongeItemStackSnapshot expected = eager(stack);
+
+        final SpongeItemStackSnapshot lazy = new SpongeItemStackSnapshot(api(stack));
+        stack.setStackDisplayName("Changed");
+        stack.setItemDamage(6);
+
+        assertEquals(expected, lazy);
+        assertEquals(expected.hashCode(), lazy.hashCode());
+        assertEquals(expected.toContainer(), lazy.toContainer());
+        assertEquals(expected.getCompound(), lazy.getCompound());
+    }
+
+    @Test
+    public void testLazySnapshotOfPlainStackMatchesEagerSnapshot() {
+        final ItemStack stack = new ItemStack(Items.STICK, 3);
+        final SpongeItemStackSnapshot expected = eager(stack);
+        final SpongeItemStackSnapshot lazy = SpongeItemStackSnapshot.of(api(stack));
+
+        assertEquals(expected, lazy);
+        assertEquals(expected.hashCode(), lazy.hashCode());
+        assertEquals(expected.toContainer(), lazy.toContainer());
+        assertFalse(lazy.getCompound().isPresent());
+    }
+
+    @Test
+    public void testPlainStacksShareSnapshots() {
+        final SpongeItemStackSnapshot first = SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 3)));
+        assertSame(first, SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 3))));
+        assertNotSame(first, SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 4))));
+        assertNotSame(first, SpongeItemStackSnapshot.of(api(new ItemStack(Items.BLAZE_ROD, 3))));
+    }
+
+    @Test
+    public void testStacksWithDataAreNotShared() {
+        final SpongeItemStackSnapshot plain = SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 3)));
+        final ItemStack named = new ItemStack(Items.STICK, 3);
+        named.setStackDisplayName("Stick");
+
+        final SpongeItemStackSnapshot first = SpongeItemStackSnapshot.of(api(named));
+        assertNotSame(first, SpongeItemStackSnapshot.of(api(named)));
+        assertNotEquals(plain, first);
+        assertTrue(ItemStack.areItemStacksEqual(named, (ItemStack) (Object) first.createStack()));
+        // A tagged stack never replaces the plain one in the pool
+        assertSame(plain, SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 3))));
+    }
+
+    @Test
+    public void testClearPool() {
+        final SpongeItemStackSnapshot first = SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK)));
+        SpongeItemStackSnapshot.clearPool();
+        final SpongeItemStackSnapshot second = SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK)));
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSharedSnapshotRejectsCreator() {
+        SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK))).setCreator(UUID.randomUUID());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSharedSnapshotRejectsCreatorWhenPoolIsFull() {
+        for (int damage = 0; damage < 4096; damage++) {
+            SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK, 1, damage)));
+        }
+        final ItemStack stack = new ItemStack(Items.BLAZE_ROD);
+        final SpongeItemStackSnapshot snapshot = SpongeItemStackSnapshot.of(api(stack));
+        assertNotSame(snapshot, SpongeItemStackSnapshot.of(api(stack)));
+        snapshot.setCreator(UUID.randomUUID());
+    }
+
+    @Test
+    public void testConstructedSnapshotAcceptsCreator() {
+        final UUID creator = UUID.randomUUID();
+        final SpongeItemStackSnapshot snapshot = new SpongeItemStackSnapshot(api(new ItemStack(Items.STICK)));
+        snapshot.setCreator(creator);
+        assertEquals(creator, snapshot.getCreator().get());
+        assertNotEquals(snapshot, SpongeItemStackSnapshot.of(api(new ItemStack(Items.STICK))));
+    }
+}
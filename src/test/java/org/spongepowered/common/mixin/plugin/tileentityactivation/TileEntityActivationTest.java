@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.common.config.category.TileEntityActivationCategory;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.Arrays;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class TileEntityActivationTest {
+
+    @Test
+    public void testTickRateHalvesWithEachTier() {
+        final int[] tiers = {16 * 16, 32 * 32, 64 * 64};
+        assertEquals(1, TileEntityActivation.getTickRateMultiplier(tiers, 0));
+        assertEquals(1, TileEntityActivation.getTickRateMultiplier(tiers, 16 * 16 - 1));
+        // Band distances are exclusive upper bounds
+        assertEquals(2, TileEntityActivation.getTickRateMultiplier(tiers, 16 * 16));
+        assertEquals(4, TileEntityActivation.getTickRateMultiplier(tiers, 32 * 32));
+        assertEquals(8, TileEntityActivation.getTickRateMultiplier(tiers, 64 * 64));
+        assertEquals(8, TileEntityActivation.getTickRateMultiplier(tiers, Integer.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testNoTiersKeepsTheNormalRate() {
+        assertEquals(1, TileEntityActivation.getTickRateMultiplier(new int[0], 128 * 128));
+    }
+
+    @Test
+    public void testTickRateMultiplierIsCapped() {
+        final int[] tiers = new int[40];
+        for (int i = 0; i < tiers.length; i++) {
+            tiers[i] = i;
+        }
+        assertEquals(1 << 30, TileEntityActivation.getTickRateMultiplier(tiers, tiers.length));
+    }
+
+    @Test
+    public void testDeferredTileEntityIsNotStarved() {
+        final TestTileEntity tileEntity = new TestTileEntity();
+        assertTrue(TileEntityActivation.defer(tileEntity));
+        assertTrue(tileEntity.deferred);
+        // Goes ahead the next time it is over budget
+        assertFalse(TileEntityActivation.defer(tileEntity));
+        assertFalse(tileEntity.deferred);
+        assertTrue(TileEntityActivation.defer(tileEntity));
+    }
+
+    @Test
+    public void testTierDistancesFollowTheConfig() {
+        final TileEntityActivationCategory category = new TileEntityActivationCategory();
+        assertArrayEquals(new int[0], category.getTickRateTierDistancesSquared());
+
+        category.getTickRateTiers().addAll(Arrays.asList(32, 16));
+        assertArrayEquals(new int[] {16 * 16, 32 * 32}, category.getTickRateTierDistancesSquared());
+
+        // A reload changes the tiers after they were first looked up
+        category.getTickRateTiers().set(0, 8);
+        assertArrayEquals(new int[] {8 * 8, 16 * 16}, category.getTickRateTierDistancesSquared());
+    }
+
+    private static final class TestTileEntity implements TileEntityActivationCapability {
+
+        boolean deferred;
+
+        @Override
+        public int activation$getTickRateMultiplier() {
+            return 1;
+        }
+
+        @Override
+        public void activation$setTickRateMultiplier(final int multiplier) {
+        }
+
+        @Override
+        public boolean activation$isDeferred() {
+            return this.deferred;
+        }
+
+        @Override
+        public void activation$setDeferred(final boolean deferred) {
+            this.deferred = deferred;
+        }
+    }
+
+}
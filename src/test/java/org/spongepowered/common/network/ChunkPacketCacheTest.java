@@ -0,0 +1,152 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import net.minecraft.network.play.server.SPacketChunkData;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.function.Supplier;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ChunkPacketCacheTest {
+
+    // Packets are evicted across all caches, so each test starts long after the previous one
+    private static int nextTick;
+
+    private final Supplier<SPacketChunkData> builder = () -> {
+        this.built++;
+        return new SPacketChunkData();
+    };
+    private int built;
+    private int tick;
+    private ChunkPacketCache cache;
+
+    @Before
+    public void init() {
+        nextTick += 1000;
+        this.tick = nextTick;
+        this.cache = new ChunkPacketCache();
+    }
+
+    private SPacketChunkData get(final int sectionMask) {
+        return this.cache.get(sectionMask, this.tick, this.builder);
+    }
+
+    @Test
+    public void testPacketIsReused() {
+        final SPacketChunkData packet = get(65535);
+        this.tick += 100;
+        assertSame(packet, get(65535));
+        assertEquals(1, this.built);
+    }
+
+    @Test
+    public void testPacketIsRebuiltAfterChange() {
+        final SPacketChunkData packet = get(65535);
+        final int version = this.cache.getVersion();
+        this.cache.invalidate();
+        assertEquals(version + 1, this.cache.getVersion());
+
+        final SPacketChunkData rebuilt = get(65535);
+        assertNotSame(packet, rebuilt);
+        assertSame(rebuilt, get(65535));
+        assertEquals(2, this.built);
+    }
+
+    @Test
+    public void testPacketIsRebuiltWhenOld() {
+        final SPacketChunkData packet = get(65535);
+        this.tick += 101;
+        final SPacketChunkData rebuilt = get(65535);
+        assertNotSame(packet, rebuilt);
+        assertSame(rebuilt, get(65535));
+    }
+
+    @Test
+    public void testPacketsAreKeptPerSectionMask() {
+        final SPacketChunkData full = get(65535);
+        final SPacketChunkData sections = get(65534);
+        final SPacketChunkData biomes = get(1);
+        assertSame(full, get(65535));
+        assertSame(sections, get(65534));
+        assertSame(biomes, get(1));
+        assertEquals(3, this.built);
+
+        // An outdated packet is rebuilt in its own slot
+        this.cache.invalidate();
+        final SPacketChunkData newSections = get(65534);
+        assertNotSame(sections, newSections);
+        this.built = 0;
+        get(65535);
+        get(1);
+        assertSame(newSections, get(65534));
+        assertEquals(2, this.built);
+    }
+
+    @Test
+    public void testSlotsAreReplacedInTurn() {
+        final SPacketChunkData full = get(65535);
+        final SPacketChunkData sections = get(65534);
+        final SPacketChunkData biomes = get(1);
+
+        get(3);
+        assertSame(sections, get(65534));
+        assertSame(biomes, get(1));
+        assertNotSame(full, get(65535));
+    }
+
+    @Test
+    public void testOldestPacketsAreEvicted() {
+        final SPacketChunkData packet = get(65535);
+        for (int i = 0; i < 1023; i++) {
+            new ChunkPacketCache().get(65535, this.tick, this.builder);
+        }
+        assertSame(packet, get(65535));
+
+        new ChunkPacketCache().get(65535, this.tick, this.builder);
+        assertNotSame(packet, get(65535));
+    }
+
+    @Test
+    public void testOldPacketsAreEvicted() {
+        final SPacketChunkData packet = get(65535);
+        this.tick += 100;
+        new ChunkPacketCache().get(65535, this.tick, this.builder);
+        assertSame(packet, get(65535));
+
+        this.tick++;
+        new ChunkPacketCache().get(65535, this.tick, this.builder);
+        this.tick -= 2;
+        // Still young enough when read, but no longer held
+        assertNotSame(packet, get(65535));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskTimingWheelTest {
+
+    private static ScheduledTask createTask() {
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, task -> { }, "test", 0, true, 0, true,
+            Mockito.mock(PluginContainer.class));
+    }
+
+    private static List<ScheduledTask> advance(TaskTimingWheel wheel, long now) {
+        final List<ScheduledTask> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        return expired;
+    }
+
+    @Test
+    public void testExpiresAtDeadline() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(1, 0);
+        final ScheduledTask task = createTask();
+        wheel.schedule(task, 5);
+        assertTrue(advance(wheel, 4).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(5, wheel.nextExpiration());
+        assertEquals(1, advance(wheel, 5).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testOverdueExpiresImmediately() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(1, 100);
+        final ScheduledTask task = createTask();
+        wheel.schedule(task, 10);
+        assertEquals(1, advance(wheel, 100).size());
+    }
+
+    @Test
+    public void testCascadesFromHigherLevels() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(1, 0);
+        final long[] deadlines = {63, 64, 65, 4095, 4096, 4097, 300_000, 20_000_000};
+        final List<ScheduledTask> tasks = new ArrayList<>();
+        for (long deadline : deadlines) {
+            final ScheduledTask task = createTask();
+            wheel.schedule(task, deadline);
+            tasks.add(task);
+        }
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(advance(wheel, deadlines[i] - 1).isEmpty());
+            final List<ScheduledTask> expired = advance(wheel, deadlines[i]);
+            assertEquals(1, expired.size());
+            assertTrue(expired.get(0) == tasks.get(i));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRoundsUpToResolution() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(10, 0);
+        wheel.schedule(createTask(), 15);
+        assertTrue(advance(wheel, 19).isEmpty());
+        assertEquals(1, advance(wheel, 20).size());
+    }
+
+    @Test
+    public void testRemove() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(1, 0);
+        final ScheduledTask first = createTask();
+        final ScheduledTask second = createTask();
+        wheel.schedule(first, 3);
+        wheel.schedule(second, 3);
+        assertTrue(TaskTimingWheel.remove(first));
+        assertFalse(TaskTimingWheel.remove(first));
+        final List<ScheduledTask> expired = advance(wheel, 3);
+        assertEquals(1, expired.size());
+        assertTrue(expired.get(0) == second);
+    }
+
+    @Test
+    public void testRescheduleFromConsumer() {
+        final TaskTimingWheel wheel = new TaskTimingWheel(1, 0);
+        final ScheduledTask task = createTask();
+        wheel.schedule(task, 1);
+        final int[] runs = new int[1];
+        for (long now = 1; now <= 10; now++) {
+            wheel.advance(now, expired -> {
+                runs[0]++;
+                wheel.schedule(expired, 0);
+            });
+        }
+        assertEquals(10, runs[0]);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.base.GlobalMemorySubjectData;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
+import org.spongepowered.common.service.permission.base.SpongeSubject;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class PermissionCacheTest {
+
+    private static final String PERMISSION = "test.permission";
+
+    private SpongePermissionService service;
+    private SpongeSubject subject;
+    private SpongeSubject parent;
+
+    @Before
+    public void init() {
+        this.service = new SpongePermissionService(Mockito.mock(Game.class));
+        this.subject = this.service.get("test").get("subject");
+        this.parent = this.service.get("test").get("parent");
+        this.subject.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, this.parent.asSubjectReference());
+    }
+
+    private static Tristate get(SpongeSubject subject) {
+        return subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION);
+    }
+
+    @Test
+    public void testCachedValuesAreReused() {
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+        final long hits = SpongeBaseSubject.getPermissionCacheHits();
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+        assertEquals(hits + 1, SpongeBaseSubject.getPermissionCacheHits());
+    }
+
+    @Test
+    public void testChangingPermissionsInvalidates() {
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+        final long generation = SpongeBaseSubject.getPermissionGeneration();
+
+        this.subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertNotEquals(generation, SpongeBaseSubject.getPermissionGeneration());
+        assertEquals(Tristate.TRUE, get(this.subject));
+
+        this.subject.getSubjectData().clearPermissions();
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+    }
+
+    @Test
+    public void testChangingParentPermissionsInvalidates() {
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+        this.parent.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.FALSE);
+        assertEquals(Tristate.FALSE, get(this.subject));
+        assertEquals(Tristate.FALSE, get(this.parent));
+    }
+
+    @Test
+    public void testChangingParentsInvalidates() {
+        final SpongeSubject other = this.service.get("test").get("other");
+        other.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+
+        this.subject.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, other.asSubjectReference());
+        assertEquals(Tristate.TRUE, get(this.subject));
+        this.subject.getSubjectData().clearParents();
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+    }
+
+    @Test
+    public void testUnusedDataDoesNotInvalidate() {
+        assertEquals(Tristate.UNDEFINED, get(this.subject));
+        final long generation = SpongeBaseSubject.getPermissionGeneration();
+        new GlobalMemorySubjectData(this.service).setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        // A subject that hasn't been asked for permissions yet
+        this.service.get("test").get("unused").getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertEquals(generation, SpongeBaseSubject.getPermissionGeneration());
+    }
+
+    @Test
+    public void testPlainSubjectDataIsNotCached() {
+        final DataFactoryCollection collection = new DataFactoryCollection("plain", this.service, s -> new MemorySubjectData(this.service),
+                s -> null);
+        final SpongeSubject plain = collection.get("subject");
+        assertEquals(Tristate.UNDEFINED, get(plain));
+        final long generation = SpongeBaseSubject.getPermissionGeneration();
+
+        // Changes to plain subject data can't be observed, so they are seen without invalidating anything
+        plain.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertEquals(generation, SpongeBaseSubject.getPermissionGeneration());
+        assertEquals(Tristate.TRUE, get(plain));
+    }
+}
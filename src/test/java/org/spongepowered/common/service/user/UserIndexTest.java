@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class UserIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private UserIndex createIndex() throws IOException {
+        return new UserIndex(this.folder.getRoot().toPath().resolve("index.dat"));
+    }
+
+    @Test
+    public void testLookupByName() throws IOException {
+        final UserIndex index = createIndex();
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        index.put(first, "Notch", 1L);
+        index.put(second, "jeb_", 1L);
+        assertEquals(1, index.getByName("notch").size());
+        assertTrue(index.getByName("NOTCH").contains(first));
+        index.put(first, "Dinnerbone", 2L);
+        assertTrue(index.getByName("notch").isEmpty());
+        assertTrue(index.getByName("dinnerbone").contains(first));
+    }
+
+    @Test
+    public void testPrefixMatch() throws IOException {
+        final UserIndex index = createIndex();
+        index.put(UUID.randomUUID(), "Alpha", 1L);
+        index.put(UUID.randomUUID(), "alphabet", 1L);
+        index.put(UUID.randomUUID(), "Beta", 1L);
+        index.put(UUID.randomUUID(), null, 1L);
+        final List<String> names = index.match("ALP").stream().map(entry -> entry.profile.getName()).collect(Collectors.toList());
+        assertEquals(2, names.size());
+        assertEquals("Alpha", names.get(0));
+        assertEquals("alphabet", names.get(1));
+        assertTrue(index.match("gamma").isEmpty());
+    }
+
+    @Test
+    public void testPaging() throws IOException {
+        final UserIndex index = createIndex();
+        for (int i = 0; i < 25; i++) {
+            index.put(UUID.randomUUID(), "user" + i, 1L);
+        }
+        int seen = 0;
+        UUID after = null;
+        List<UserIndex.Entry> page;
+        while (!(page = index.page(after, 10)).isEmpty()) {
+            seen += page.size();
+            after = page.get(page.size() - 1).profile.getId();
+        }
+        assertEquals(25, seen);
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        final UserIndex index = createIndex();
+        final UUID kept = UUID.randomUUID();
+        final UUID removed = UUID.randomUUID();
+        index.put(kept, "kept", 5L);
+        index.put(removed, "removed", 5L);
+        index.save();
+        // Appended to the journal after the compaction
+        index.remove(removed);
+        index.put(kept, "renamed", 6L);
+        index.close();
+
+        final UserIndex reloaded = createIndex();
+        assertTrue(reloaded.load());
+        assertEquals(1, reloaded.size());
+        assertFalse(reloaded.contains(removed));
+        assertEquals("renamed", reloaded.get(kept).get().profile.getName());
+        assertEquals(6L, reloaded.get(kept).get().lastSeen);
+    }
+
+    @Test
+    public void testMissingIndex() throws IOException {
+        final UserIndex index = createIndex();
+        assertFalse(index.load());
+        final Path file = index.getFile();
+        index.put(UUID.randomUUID(), "someone", 1L);
+        index.save();
+        assertTrue(file.toFile().isFile());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.selector.Selector;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SelectorResolverTest {
+
+    private World world;
+    private final List<Entity> entities = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+
+    @Before
+    public void init() {
+        this.world = mock(World.class);
+        // Entities are only known by their position here, so a box intersects an entity if it contains its position
+        when(this.world.getEntities()).thenReturn(this.entities);
+        when(this.world.getPlayers()).thenReturn(this.players);
+        when(this.world.getIntersectingEntities(Mockito.any(AABB.class))).thenAnswer(invocation -> intersecting(
+                (AABB) invocation.getArguments()[0], entity -> true));
+        when(this.world.getIntersectingEntities(Mockito.any(AABB.class), Mockito.any())).thenAnswer(invocation -> intersecting(
+                (AABB) invocation.getArguments()[0], (Predicate<Entity>) invocation.getArguments()[1]));
+
+        for (int x = -8; x <= 8; x += 2) {
+            for (int z = -8; z <= 8; z += 2) {
+                add(mock(Entity.class), new Vector3d(x, 64, z));
+            }
+        }
+        // Exactly on the radius of the selectors below
+        add(mock(Entity.class), new Vector3d(5, 64, 0));
+        add(mock(Entity.class), new Vector3d(0, 69, 0));
+        add(mock(Entity.class), new Vector3d(5 / Math.sqrt(3), 64 + 5 / Math.sqrt(3), 5 / Math.sqrt(3)));
+        add(mock(Player.class), new Vector3d(1, 64, 1));
+        add(mock(Player.class), new Vector3d(30, 64, 30));
+    }
+
+    private void add(Entity entity, Vector3d position) {
+        when(entity.getLocation()).thenReturn(new Location<>(this.world, position));
+        this.entities.add(entity);
+        if (entity instanceof Player) {
+            this.players.add((Player) entity);
+        }
+    }
+
+    private Set<Entity> intersecting(AABB box, Predicate<Entity> filter) {
+        return this.entities.stream()
+                .filter(entity -> box.contains(entity.getLocation().getPosition()))
+                .filter(filter)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<Entity> resolve(String selector) {
+        return new SelectorResolver(Selector.parse(selector), ImmutableList.of(this.world)).resolve();
+    }
+
+    private Set<Entity> within(Vector3d position, double radius) {
+        return this.entities.stream()
+                .filter(entity -> entity.getLocation().getPosition().distanceSquared(position) <= radius * radius)
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    @Test
+    public void testRadiusSelectorOnlyQueriesNearbyEntities() {
+        assertEquals(within(new Vector3d(0, 64, 0), 5), resolve("@e[x=0,y=64,z=0,r=5]"));
+        assertEquals(within(new Vector3d(3, 64, -3), 4), resolve("@e[x=3,y=64,z=-3,r=4]"));
+        verify(this.world, never()).getEntities();
+    }
+
+    @Test
+    public void testRadiusSelectorWithoutMatches() {
+        assertEquals(ImmutableSet.of(), resolve("@e[x=100,y=64,z=100,r=3]"));
+        verify(this.world, never()).getEntities();
+    }
+
+    @Test
+    public void testPlayerSelectorOnlyQueriesPlayers() {
+        assertEquals(ImmutableSet.copyOf(this.players), resolve("@a"));
+        assertEquals(ImmutableSet.of(this.players.get(0)), resolve("@p[x=0,y=64,z=0]"));
+        verify(this.world, never()).getEntities();
+    }
+
+    @Test
+    public void testUnboundedSelectorQueriesAllEntities() {
+        assertEquals(ImmutableSet.copyOf(this.entities), resolve("@e"));
+        verify(this.world, Mockito.atLeastOnce()).getEntities();
+    }
+}
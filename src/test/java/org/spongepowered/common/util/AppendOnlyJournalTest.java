@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class AppendOnlyJournalTest {
+
+    private static final AppendOnlyJournal.Codec<String> CODEC = new AppendOnlyJournal.Codec<String>() {
+
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput in, UUID uniqueId) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AppendOnlyJournal<String> createJournal(int version) {
+        return new AppendOnlyJournal<>(this.folder.getRoot().toPath().resolve("journal.dat"), 0x54455354, version, CODEC);
+    }
+
+    private static AppendOnlyJournal.ReplayResult replay(AppendOnlyJournal<String> journal, Map<UUID, String> into) throws IOException {
+        return journal.replay(into::put, into::remove);
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        journal.compact(ImmutableMap.of(first, "first"));
+        journal.put(second, "second");
+        journal.put(first, "renamed");
+        journal.remove(second);
+        journal.close();
+
+        final Map<UUID, String> replayed = new HashMap<>();
+        assertEquals(AppendOnlyJournal.ReplayResult.COMPLETE, replay(createJournal(1), replayed));
+        assertEquals(ImmutableMap.of(first, "renamed"), replayed);
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        journal.compact(ImmutableMap.of(first, "first"));
+        journal.put(second, "second");
+        journal.close();
+        // Cut the last record short, as a crash while appending would
+        try (RandomAccessFile file = new RandomAccessFile(journal.getFile().toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        final Map<UUID, String> replayed = new HashMap<>();
+        final AppendOnlyJournal<String> reloaded = createJournal(1);
+        assertEquals(AppendOnlyJournal.ReplayResult.TRUNCATED, replay(reloaded, replayed));
+        assertEquals(ImmutableMap.of(first, "first"), replayed);
+        assertFalse(reloaded.isOpen());
+        assertTrue(reloaded.isCompactionDue(replayed.size()));
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        final UUID uniqueId = UUID.randomUUID();
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        journal.compact(ImmutableMap.of());
+        for (int i = 0; i < 5000; i++) {
+            journal.put(uniqueId, "name" + i);
+        }
+        assertTrue(journal.isCompactionDue(1));
+        journal.compact(ImmutableMap.of(uniqueId, "name4999"));
+        assertFalse(journal.isCompactionDue(1));
+        journal.close();
+        assertFalse(Files.exists(journal.getFile().resolveSibling("journal.dat.tmp")));
+        // Header, then a single record of the op, the unique id and the value
+        assertEquals(8 + 1 + 16 + 2 + "name4999".length(), Files.size(journal.getFile()));
+
+        final Map<UUID, String> replayed = new HashMap<>();
+        assertEquals(AppendOnlyJournal.ReplayResult.COMPLETE, replay(createJournal(1), replayed));
+        assertEquals(ImmutableMap.of(uniqueId, "name4999"), replayed);
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        final UUID uniqueId = UUID.randomUUID();
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        journal.compact(ImmutableMap.of());
+        journal.put(uniqueId, "name");
+        journal.flush();
+
+        // Read while the journal is still open
+        final Map<UUID, String> replayed = new HashMap<>();
+        assertEquals(AppendOnlyJournal.ReplayResult.COMPLETE, replay(createJournal(1), replayed));
+        assertEquals(ImmutableMap.of(uniqueId, "name"), replayed);
+        journal.close();
+    }
+
+    @Test
+    public void testUnknownFormat() throws IOException {
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        journal.compact(ImmutableMap.of(UUID.randomUUID(), "name"));
+        journal.close();
+
+        final Map<UUID, String> replayed = new HashMap<>();
+        assertEquals(AppendOnlyJournal.ReplayResult.UNKNOWN_FORMAT, replay(createJournal(2), replayed));
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    public void testMissing() throws IOException {
+        final AppendOnlyJournal<String> journal = createJournal(1);
+        assertEquals(AppendOnlyJournal.ReplayResult.MISSING, replay(journal, new HashMap<>()));
+        assertTrue(journal.isCompactionDue(0));
+        final Path file = journal.getFile();
+        assertFalse(Files.exists(file));
+    }
+}
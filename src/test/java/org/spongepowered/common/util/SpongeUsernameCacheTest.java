@@ -0,0 +1,139 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.UUID;
+
+public class SpongeUsernameCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File useNewDirectory() throws IOException {
+        SpongeUsernameCache.close();
+        final File directory = this.folder.newFolder();
+        SpongeUsernameCache.setServerDir(directory);
+        return directory;
+    }
+
+    private static void reload(File directory) {
+        SpongeUsernameCache.close();
+        SpongeUsernameCache.setServerDir(directory);
+    }
+
+    @Test
+    public void testCloseWritesChanges() throws IOException {
+        final File directory = useNewDirectory();
+        final UUID kept = UUID.randomUUID();
+        final UUID removed = UUID.randomUUID();
+        SpongeUsernameCache.setUsername(kept, "Notch");
+        SpongeUsernameCache.setUsername(removed, "jeb_");
+        SpongeUsernameCache.close();
+        SpongeUsernameCache.removeUsername(removed);
+        SpongeUsernameCache.setUsername(kept, "Dinnerbone");
+        SpongeUsernameCache.close();
+
+        reload(directory);
+        assertEquals(ImmutableMap.of(kept, "Dinnerbone"), SpongeUsernameCache.getMap());
+        assertEquals(kept, SpongeUsernameCache.getLastKnownUUID("dinnerbone"));
+    }
+
+    @Test
+    public void testLegacyImport() throws IOException {
+        final File directory = useNewDirectory();
+        final UUID uuid = UUID.randomUUID();
+        final File legacyFile = new File(directory, "usernamecache.json");
+        Files.write(legacyFile.toPath(), ("{\"" + uuid + "\": \"Notch\", \"not-a-uuid\": \"ignored\"}").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(ImmutableMap.of(uuid, "Notch"), SpongeUsernameCache.getMap());
+        SpongeUsernameCache.close();
+        assertTrue(new File(directory, "usernamecache.dat").isFile());
+
+        // Read from the journal from now on
+        Files.delete(legacyFile.toPath());
+        reload(directory);
+        assertEquals("Notch", SpongeUsernameCache.getLastKnownUsername(uuid));
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        final File directory = useNewDirectory();
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        SpongeUsernameCache.setUsername(first, "Notch");
+        SpongeUsernameCache.close();
+        SpongeUsernameCache.setUsername(second, "jeb_");
+        SpongeUsernameCache.close();
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, "usernamecache.dat"), "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        reload(directory);
+        assertEquals("Notch", SpongeUsernameCache.getLastKnownUsername(first));
+        assertFalse(SpongeUsernameCache.containsUUID(second));
+        // The damaged journal is rewritten and can be appended to again
+        SpongeUsernameCache.setUsername(second, "Dinnerbone");
+        SpongeUsernameCache.close();
+
+        reload(directory);
+        assertEquals(ImmutableMap.of(first, "Notch", second, "Dinnerbone"), SpongeUsernameCache.getMap());
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        final File directory = useNewDirectory();
+        final UUID uuid = UUID.randomUUID();
+        SpongeUsernameCache.setUsername(uuid, "Notch");
+        SpongeUsernameCache.close();
+        for (int i = 0; i < 5000; i++) {
+            SpongeUsernameCache.setUsername(uuid, "name" + i);
+            SpongeUsernameCache.save();
+        }
+        SpongeUsernameCache.close();
+        // Every record takes at least 24 bytes, the journal was rewritten
+        // once it held a few thousand superseded records
+        final long size = new File(directory, "usernamecache.dat").length();
+        assertTrue(size < 4096 * 16);
+
+        reload(directory);
+        assertEquals(ImmutableMap.of(uuid, "name4999"), SpongeUsernameCache.getMap());
+        assertNull(SpongeUsernameCache.getLastKnownUsername(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ChunkUnloadQueueTest {
+
+    @Test
+    public void testPollsInDueOrder() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final long dueTime = random.nextInt(10000);
+            // Encode the due time into the chunk so the order can be verified
+            queue.add(dueTime * 1000 + i, dueTime);
+        }
+        long previousDue = -1;
+        int polled = 0;
+        for (long now = 0; now <= 10000; now += 100) {
+            while (queue.hasDue(now)) {
+                final long dueTime = queue.poll() / 1000;
+                assertTrue(dueTime >= previousDue && dueTime <= now);
+                previousDue = dueTime;
+                polled++;
+            }
+        }
+        assertEquals(1000, polled);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testOnlyDueChunksArePolled() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        queue.add(1, 500);
+        queue.add(2, 100);
+        queue.add(3, 300);
+
+        assertFalse(queue.hasDue(50));
+        assertTrue(queue.hasDue(300));
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertFalse(queue.hasDue(300));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testChunkIsOnlyQueuedOnce() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        assertTrue(queue.add(7, 100));
+        assertFalse(queue.add(7, 50));
+        assertEquals(1, queue.size());
+
+        assertEquals(7, queue.poll());
+        assertFalse(queue.contains(7));
+        assertTrue(queue.add(7, 200));
+    }
+
+    @Test
+    public void testUnloadsLastMinute() {
+        final ChunkUnloadQueue queue = new ChunkUnloadQueue();
+        queue.recordUnloads(1_000_000, 5);
+        queue.recordUnloads(1_030_000, 3);
+        assertEquals(8, queue.getUnloadsLastMinute(1_030_000));
+        // The first batch falls out of the window
+        assertEquals(3, queue.getUnloadsLastMinute(1_070_000));
+        assertEquals(0, queue.getUnloadsLastMinute(1_100_000));
+        assertEquals(8, queue.getTotalUnloads());
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.IBlockAccess;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ExplosionCacheTest {
+
+    private TestSource source;
+    private ExplosionCache cache;
+
+    @Before
+    public void init() {
+        this.source = new TestSource();
+        this.cache = new ExplosionCache(this.source);
+        // Every chunk a strength 4 explosion at the origin may reach
+        for (int chunkX = -2; chunkX <= 1; chunkX++) {
+            for (int chunkZ = -2; chunkZ <= 1; chunkZ++) {
+                this.source.load(chunkX, chunkZ);
+            }
+        }
+    }
+
+    @Test
+    public void testRaysExtendLazily() {
+        final IBlockAccess world = mock(IBlockAccess.class);
+        when(world.getBlockState(Mockito.any(BlockPos.class))).thenReturn(Blocks.STONE.getDefaultState());
+        final ExplosionCache.Rays rays = new ExplosionCache.Rays(0, 2);
+
+        // Grows past the initial length of 8 twice
+        final BlockPos[] positions = new BlockPos[20];
+        for (int step = 0; step < 20; step++) {
+            positions[step] = rays.getPosition(world, 1, step, step * 0.3D, 0.5D, 0.5D);
+            assertEquals(new BlockPos(step * 0.3D, 0.5D, 0.5D), positions[step]);
+            assertSame(Blocks.STONE.getDefaultState(), rays.getState(1, step));
+        }
+        verify(world, times(20)).getBlockState(Mockito.any(BlockPos.class));
+
+        // Steps already taken are not looked up again, whatever position is passed
+        for (int step = 0; step < 20; step++) {
+            assertSame(positions[step], rays.getPosition(world, 1, step, 100.0D, 100.0D, 100.0D));
+        }
+        verify(world, times(20)).getBlockState(Mockito.any(BlockPos.class));
+
+        // Going further extends the ray, and other rays are independent
+        final IBlockState air = Blocks.AIR.getDefaultState();
+        when(world.getBlockState(Mockito.any(BlockPos.class))).thenReturn(air);
+        assertEquals(new BlockPos(6, 0, 0), rays.getPosition(world, 1, 20, 6.0D, 0.0D, 0.0D));
+        assertSame(air, rays.getState(1, 20));
+        assertEquals(new BlockPos(3, 3, 3), rays.getPosition(world, 0, 0, 3.0D, 3.0D, 3.0D));
+        assertSame(air, rays.getState(0, 0));
+        verify(world, times(22)).getBlockState(Mockito.any(BlockPos.class));
+    }
+
+    @Test
+    public void testRaysAreReusedUntilChunksChange() {
+        final ExplosionCache.Rays rays = this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F);
+        assertNotNull(rays);
+        assertSame(rays, this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+        assertNotSame(rays, this.cache.getRays(0.5D, 64.0D, 0.5D, 8, 4.0F));
+        assertNotSame(rays, this.cache.getRays(1.5D, 64.0D, 0.5D, 16, 4.0F));
+
+        // A chunk out of reach doesn't matter
+        this.source.load(5, 5);
+        this.source.change(5, 5);
+        assertSame(rays, this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+
+        this.source.change(-1, 0);
+        final ExplosionCache.Rays changed = this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F);
+        assertNotSame(rays, changed);
+        assertSame(changed, this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+    }
+
+    @Test
+    public void testRaysAreDroppedEachTick() {
+        final ExplosionCache.Rays rays = this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F);
+        this.source.time++;
+        final ExplosionCache.Rays next = this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F);
+        assertNotSame(rays, next);
+        assertSame(next, this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+    }
+
+    @Test
+    public void testNoRaysForUnloadedChunks() {
+        this.source.unload(0, -1);
+        assertNull(this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+        this.source.load(0, -1);
+        assertNotNull(this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+    }
+
+    @Test
+    public void testExposureIsReusedUntilChunksChange() {
+        final Vec3d center = new Vec3d(0.5D, 64.0D, 0.5D);
+        final AxisAlignedBB box = new AxisAlignedBB(2.0D, 64.0D, 2.0D, 2.6D, 65.8D, 2.6D);
+        this.source.density = 0.5F;
+        assertEquals(0.5F, this.cache.getBlockDensity(center, box), 0.0F);
+        this.source.density = 0.25F;
+        assertEquals(0.5F, this.cache.getBlockDensity(center, box), 0.0F);
+        assertEquals(1, this.source.densityLookups);
+
+        this.source.change(0, 0);
+        assertEquals(0.25F, this.cache.getBlockDensity(center, box), 0.0F);
+        this.source.density = 0.75F;
+        this.source.time++;
+        assertEquals(0.75F, this.cache.getBlockDensity(center, box), 0.0F);
+        assertEquals(3, this.source.densityLookups);
+    }
+
+    @Test
+    public void testExposureIsNotCachedForUnloadedChunks() {
+        final Vec3d center = new Vec3d(0.5D, 64.0D, 0.5D);
+        final AxisAlignedBB box = new AxisAlignedBB(-2.0D, 64.0D, -2.0D, -1.4D, 65.8D, -1.4D);
+        this.source.unload(-1, -1);
+        this.source.density = 0.5F;
+        assertEquals(0.5F, this.cache.getBlockDensity(center, box), 0.0F);
+        this.source.density = 0.25F;
+        assertEquals(0.25F, this.cache.getBlockDensity(center, box), 0.0F);
+        assertEquals(2, this.source.densityLookups);
+    }
+
+    @Test
+    public void testNothingIsReusedWhileBlockChangesArePending() {
+        final ExplosionCache.Rays rays = this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F);
+        final Vec3d center = new Vec3d(0.5D, 64.0D, 0.5D);
+        final AxisAlignedBB box = new AxisAlignedBB(2.0D, 64.0D, 2.0D, 2.6D, 65.8D, 2.6D);
+        this.source.density = 0.5F;
+        assertEquals(0.5F, this.cache.getBlockDensity(center, box), 0.0F);
+
+        // Changes held by the block proxy do not show up in the chunk versions
+        this.source.pendingBlockChanges = true;
+        this.source.density = 0.25F;
+        assertNull(this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+        assertEquals(0.25F, this.cache.getBlockDensity(center, box), 0.0F);
+        assertEquals(0.25F, this.cache.getBlockDensity(center, box), 0.0F);
+        assertEquals(3, this.source.densityLookups);
+
+        this.source.pendingBlockChanges = false;
+        assertSame(rays, this.cache.getRays(0.5D, 64.0D, 0.5D, 16, 4.0F));
+    }
+
+    private static final class TestSource implements ExplosionCache.Source {
+
+        private final Map<Long, Long> versions = new HashMap<>();
+        long time;
+        float density;
+        int densityLookups;
+        boolean pendingBlockChanges;
+
+        void load(final int chunkX, final int chunkZ) {
+            this.versions.putIfAbsent(ChunkPos.asLong(chunkX, chunkZ), 0L);
+        }
+
+        void unload(final int chunkX, final int chunkZ) {
+            this.versions.remove(ChunkPos.asLong(chunkX, chunkZ));
+        }
+
+        void change(final int chunkX, final int chunkZ) {
+            this.versions.computeIfPresent(ChunkPos.asLong(chunkX, chunkZ), (key, version) -> version + 1);
+        }
+
+        @Override
+        public long getTotalWorldTime() {
+            return this.time;
+        }
+
+        @Override
+        public long getChunkVersion(final int chunkX, final int chunkZ) {
+            return this.versions.getOrDefault(ChunkPos.asLong(chunkX, chunkZ), -1L);
+        }
+
+        @Override
+        public boolean hasPendingBlockChanges() {
+            return this.pendingBlockChanges;
+        }
+
+        @Override
+        public float getBlockDensity(final Vec3d center, final AxisAlignedBB box) {
+            this.densityLookups++;
+            return this.density;
+        }
+    }
+}
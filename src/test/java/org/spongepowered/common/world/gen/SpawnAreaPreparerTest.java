@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SpawnAreaPreparerTest {
+
+    @Test
+    public void testReadAheadSplitsStoredAndMissingChunks() throws IOException {
+        final AnvilChunkLoaderBridge loader = mock(AnvilChunkLoaderBridge.class);
+        // Chunks with an even x are stored, chunks at x = 3 fail to read
+        when(loader.bridge$prefetchChunkData(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            final int x = (int) invocation.getArguments()[0];
+            if (x == 3) {
+                throw new IOException("broken chunk");
+            }
+            return x % 2 == 0;
+        });
+
+        final LongList chunks = new LongArrayList();
+        for (int x = 0; x < 6; x++) {
+            for (int z = -1; z <= 1; z++) {
+                chunks.add(ChunkPos.asLong(x, z));
+            }
+        }
+
+        final AtomicInteger read = new AtomicInteger();
+        final LongSet missing = new LongOpenHashSet();
+        final int stride = 4;
+        int total = 0;
+        for (int offset = 0; offset < stride; offset++) {
+            final LongList stripe = SpawnAreaPreparer.readAhead(loader, chunks, offset, stride, read);
+            total += stripe.size();
+            missing.addAll(stripe);
+        }
+
+        // Every chunk is visited by exactly one stripe
+        assertEquals(9, read.get());
+        assertEquals(6, total);
+        assertEquals(6, missing.size());
+        for (int z = -1; z <= 1; z++) {
+            assertTrue(missing.contains(ChunkPos.asLong(1, z)));
+            assertTrue(missing.contains(ChunkPos.asLong(5, z)));
+            // Broken chunks are left to the server thread instead of being generated over
+            assertFalse(missing.contains(ChunkPos.asLong(3, z)));
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.lighting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LightUpdateQueueTest {
+
+    @Test
+    public void testDuplicatesAreCoalesced() {
+        final LightUpdateQueue queue = new LightUpdateQueue();
+        assertTrue(queue.add(3, 64, 9));
+        assertFalse(queue.add(3, 64, 9));
+        assertTrue(queue.contains(3, 64, 9));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testDrainIsOrderedBySection() {
+        final LightUpdateQueue queue = new LightUpdateQueue();
+        queue.add(15, 255, 15);
+        queue.add(0, 0, 0);
+        queue.add(7, 100, 2);
+
+        final int[] drained = queue.drain();
+        assertEquals(3, drained.length);
+        assertEquals(LightUpdateQueue.pack(0, 0, 0), drained[0]);
+        assertEquals(100, LightUpdateQueue.unpackY(drained[1]));
+        assertEquals(7, LightUpdateQueue.unpackX(drained[1]));
+        assertEquals(2, LightUpdateQueue.unpackZ(drained[1]));
+        assertEquals(LightUpdateQueue.pack(15, 255, 15), drained[2]);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.add(0, 0, 0));
+    }
+}
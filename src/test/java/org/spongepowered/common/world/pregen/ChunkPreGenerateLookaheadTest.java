@@ -0,0 +1,151 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.pregen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.IOException;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ChunkPreGenerateLookaheadTest {
+
+    // The steps of a radius 1 spiral around the origin
+    private static final Vector3i[] SPIRAL = {
+            new Vector3i(0, 0, 0),
+            new Vector3i(-1, 0, -1),
+            new Vector3i(1, 0, -1),
+            new Vector3i(1, 0, 1),
+            new Vector3i(-1, 0, 1)
+    };
+
+    private static IChunkLoader createLoader(final int missingX, final int missingZ) {
+        final IChunkLoader loader = mock(IChunkLoader.class, withSettings().extraInterfaces(AnvilChunkLoaderBridge.class));
+        when(loader.isChunkGeneratedAt(Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation ->
+                (int) invocation.getArguments()[0] != missingX || (int) invocation.getArguments()[1] != missingZ);
+        return loader;
+    }
+
+    @Test
+    public void testStepsSpiralOutFromCenter() {
+        final ChunkPreGenerateLookahead lookahead = new ChunkPreGenerateLookahead(null, Vector3i.ZERO, 1, 16);
+        lookahead.run();
+        assertTrue(lookahead.isFinished());
+        assertNull(lookahead.getFailure());
+
+        final Vector3i[] positions = new Vector3i[SPIRAL.length];
+        final int[] genCounts = new int[SPIRAL.length];
+        for (int i = 0; i < SPIRAL.length; i++) {
+            final ChunkPreGenerateLookahead.Step step = lookahead.poll();
+            assertNotNull(step);
+            // Without a chunk loader nothing counts as stored
+            assertTrue(step.needsGeneration);
+            positions[i] = step.chunks[0];
+            genCounts[i] = step.genCount;
+        }
+        assertNull(lookahead.poll());
+        assertArrayEquals(SPIRAL, positions);
+        assertArrayEquals(new int[] {3, 3, 3, 3, 2}, genCounts);
+    }
+
+    @Test
+    public void testOnlyStepsWithMissingChunksAreReadAhead() throws IOException {
+        // Only part of the third step
+        final IChunkLoader loader = createLoader(1, -2);
+        final ChunkPreGenerateLookahead lookahead = new ChunkPreGenerateLookahead(loader, Vector3i.ZERO, 1, 16);
+        lookahead.run();
+
+        for (int i = 0; i < SPIRAL.length; i++) {
+            final ChunkPreGenerateLookahead.Step step = lookahead.poll();
+            assertNotNull(step);
+            assertEquals(i == 2, step.needsGeneration);
+        }
+        final AnvilChunkLoaderBridge bridge = (AnvilChunkLoaderBridge) loader;
+        verify(bridge, times(4)).bridge$prefetchChunkData(Mockito.anyInt(), Mockito.anyInt());
+        verify(bridge).bridge$prefetchChunkData(1, -1);
+        verify(bridge).bridge$prefetchChunkData(0, -1);
+        verify(bridge).bridge$prefetchChunkData(1, -2);
+        verify(bridge).bridge$prefetchChunkData(0, -2);
+    }
+
+    @Test
+    public void testStopDiscardsQueuedSteps() {
+        final IChunkLoader loader = createLoader(1, -2);
+        final ChunkPreGenerateLookahead lookahead = new ChunkPreGenerateLookahead(loader, Vector3i.ZERO, 1, 16);
+        lookahead.run();
+
+        final ChunkPreGenerateLookahead.Step first = lookahead.poll();
+        assertNotNull(first);
+        lookahead.stop();
+        assertNull(lookahead.poll());
+        assertEquals(0, lookahead.getQueueDepth());
+
+        final AnvilChunkLoaderBridge bridge = (AnvilChunkLoaderBridge) loader;
+        // The four remaining steps of four chunks each, but not the one taken before stopping
+        verify(bridge, times(16)).bridge$discardPrefetchedChunkData(Mockito.anyInt(), Mockito.anyInt());
+        verify(bridge).bridge$discardPrefetchedChunkData(-2, -2);
+    }
+
+    @Test
+    public void testStoppedLookaheadIsNotFinished() {
+        final ChunkPreGenerateLookahead lookahead = new ChunkPreGenerateLookahead(null, Vector3i.ZERO, 1, 16);
+        lookahead.stop();
+        lookahead.run();
+        assertFalse(lookahead.isFinished());
+        assertNull(lookahead.poll());
+    }
+
+    @Test
+    public void testInterruptIsNotCompletion() {
+        // Too small for every step, so the lookahead has to wait for the server thread
+        final ChunkPreGenerateLookahead lookahead = new ChunkPreGenerateLookahead(null, Vector3i.ZERO, 1, 1);
+        Thread.currentThread().interrupt();
+        try {
+            lookahead.run();
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertFalse(lookahead.isFinished());
+        assertTrue(lookahead.getFailure() instanceof InterruptedException);
+    }
+
+}
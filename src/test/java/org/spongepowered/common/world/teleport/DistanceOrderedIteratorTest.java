@@ -0,0 +1,111 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.teleport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+public class DistanceOrderedIteratorTest {
+
+    // The fully sorted list the iterator replaced
+    private static List<Vector3i> sorted(Vector3i centre, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        final List<Vector3i> vectors = new ArrayList<>();
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    vectors.add(new Vector3i(x, y, z));
+                }
+            }
+        }
+        Comparator<Vector3i> c = Comparator.comparingInt(centre::distanceSquared);
+        c = c.thenComparing(x -> -Math.abs(centre.getY() - x.getY())).thenComparing(x -> -x.getY());
+        return vectors.stream().sorted(c).collect(Collectors.toList());
+    }
+
+    private static List<Vector3i> iterated(Vector3i centre, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        final List<Vector3i> vectors = new ArrayList<>();
+        final Iterator<Vector3i> iterator = new SpongeTeleportHelper.DistanceOrderedIterator(centre, minX, minY, minZ, maxX, maxY, maxZ);
+        iterator.forEachRemaining(vectors::add);
+        return vectors;
+    }
+
+    private static void assertSameOrder(Vector3i centre, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        assertEquals(sorted(centre, minX, minY, minZ, maxX, maxY, maxZ), iterated(centre, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    private static void assertSameOrder(Vector3i centre, int width, int height) {
+        assertSameOrder(centre, centre.getX() - width, centre.getY() - height, centre.getZ() - width,
+            centre.getX() + width, centre.getY() + height, centre.getZ() + width);
+    }
+
+    @Test
+    public void testMatchesSortedOrder() {
+        for (int width = 0; width <= 4; width++) {
+            for (int height = 0; height <= 4; height++) {
+                assertSameOrder(new Vector3i(0, 64, 0), width, height);
+                assertSameOrder(new Vector3i(-37, 12, 1029), width, height);
+                assertSameOrder(new Vector3i(30000, 200, -30000), width, height);
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesSortedOrderForWideRegions() {
+        // Wide and flat regions have many positions at the same distance
+        assertSameOrder(new Vector3i(5, 70, -5), 9, 1);
+        assertSameOrder(new Vector3i(5, 70, -5), 1, 9);
+    }
+
+    @Test
+    public void testMatchesSortedOrderForClampedRegions() {
+        final Vector3i centre = new Vector3i(10, 3, 10);
+        // Cut off by the bottom of the world
+        assertSameOrder(centre, 7, 0, 7, 13, 6, 13);
+        // Cut off by the world border on one side of the centre
+        assertSameOrder(centre, 7, 0, 10, 13, 6, 13);
+        assertSameOrder(centre, 7, 0, 7, 13, 6, 10);
+        // The centre outside of the region
+        assertSameOrder(centre, 12, 0, 12, 15, 2, 15);
+        assertSameOrder(centre, 0, 5, 0, 4, 8, 4);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testExhausted() {
+        final Iterator<Vector3i> iterator = new SpongeTeleportHelper.DistanceOrderedIterator(Vector3i.ZERO, 0, 0, 0, 0, 0, 0);
+        assertEquals(Vector3i.ZERO, iterator.next());
+        assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+}